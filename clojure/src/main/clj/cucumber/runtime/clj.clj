@@ -3,11 +3,13 @@
   (:import (cucumber.runtime CucumberException
                              JdkPatternArgumentMatcher
                              StepDefinition
-                             HookDefinition)
+                             HookDefinition
+                             Timeout
+                             Timeout$Callback)
            (cucumber.runtime.snippets Snippet
                                       SnippetGenerator)
            (gherkin TagExpression)
-           (clojure.lang RT))
+           (clojure.lang IFn RestFn RT))
   (:gen-class :name cucumber.runtime.clj.Backend
               :implements [cucumber.runtime.Backend]
               :constructors
@@ -65,29 +67,59 @@
 (defn- location-str [{:keys [file line]}]
   (str file ":" line))
 
+(defn- parameter-count
+  "The number of parameters taken by a step fn, or nil when it is variadic
+   and the arity can't be checked."
+  [fun]
+  (when-not (instance? RestFn fun)
+    (let [counts (->> fun class .getDeclaredMethods
+                      (filter #(= "invoke" (.getName ^java.lang.reflect.Method %)))
+                      (map #(count (.getParameterTypes ^java.lang.reflect.Method %)))
+                      distinct)]
+      (when (= 1 (count counts))
+        (Integer/valueOf (int (first counts)))))))
+
+(defn- invoke-step
+  "Calls fun with args, dispatching straight to the fixed arity invoke
+   methods of IFn for the common cases instead of going through apply."
+  [^IFn fun ^objects args]
+  (case (alength args)
+    0 (.invoke fun)
+    1 (.invoke fun (aget args 0))
+    2 (.invoke fun (aget args 0) (aget args 1))
+    3 (.invoke fun (aget args 0) (aget args 1) (aget args 2))
+    4 (.invoke fun (aget args 0) (aget args 1) (aget args 2) (aget args 3))
+    (.applyTo fun (seq args))))
+
 (defn add-step-definition [pattern fun location]
-  (.addStepDefinition
-   @glue
-   (reify
-     StepDefinition
-     (matchedArguments [_ step]
-       (.argumentsFrom (JdkPatternArgumentMatcher. pattern)
-                       (.getName step)))
-     (getLocation [_ detail]
-       (location-str location))
-     (getParameterCount [_]
-       nil)
-     (getParameterType [_ n argumentType]
-       nil)
-     (execute [_ locale args]
-       (apply fun args))
-     (isDefinedAt [_ stack-trace-element]
-       (and (= (.getLineNumber stack-trace-element)
-               (:line location))
-            (= (.getFileName stack-trace-element)
-               (:file location))))
-     (getPattern [_]
-       (str pattern)))))
+  (let [matcher (JdkPatternArgumentMatcher. pattern)
+        arity (parameter-count fun)
+        timeout (long (or (:timeout location) 0))]
+    (.addStepDefinition
+     @glue
+     (reify
+       StepDefinition
+       (matchedArguments [_ step]
+         (.argumentsFrom matcher (.getName step)))
+       (getLocation [_ detail]
+         (location-str location))
+       (getParameterCount [_]
+         arity)
+       (getParameterType [_ n argumentType]
+         nil)
+       (execute [_ locale args]
+         (if (zero? timeout)
+           (invoke-step fun args)
+           (Timeout/timeout (reify Timeout$Callback
+                              (call [_] (invoke-step fun args)))
+                            timeout)))
+       (isDefinedAt [_ stack-trace-element]
+         (and (= (.getLineNumber stack-trace-element)
+                 (:line location))
+              (= (.getFileName stack-trace-element)
+                 (:file location))))
+       (getPattern [_]
+         (str pattern))))))
 
 (defmulti add-hook-definition (fn [t & _] t))
 
@@ -134,7 +166,8 @@
              `(add-step-definition ~pattern#
                                    (fn ~binding-form# ~@body#)
                                    '~{:file *file*
-                                      :line (:line (meta ~'&form))})))))
+                                      :line (:line (meta ~'&form))
+                                      :timeout (:timeout (meta ~'&form))})))))
 (step-macros
  Given When Then And But)
 
@@ -0,0 +1,54 @@
+package cucumber.runtime.clojure;
+
+import clojure.lang.Atom;
+import clojure.lang.RT;
+import cucumber.runtime.Glue;
+import cucumber.runtime.RuntimeGlue;
+import cucumber.runtime.UndefinedStepsTracker;
+import cucumber.runtime.clj.Backend;
+import cucumber.runtime.io.ClasspathResourceLoader;
+import cucumber.runtime.xstream.LocalizedXStreams;
+import gherkin.I18n;
+import gherkin.formatter.model.Comment;
+import gherkin.formatter.model.Step;
+
+import java.util.Collections;
+
+/**
+ * Measures the cost of matching and running a Clojure step definition, including argument conversion.
+ * The Java backend has the same benchmark, so that the dispatch overhead of the backends can be compared.
+ * <p>
+ * Not run as part of the build. Run the main method to print the results.
+ */
+public class StepDispatchBenchmark {
+
+    private static final int WARMUP_STEPS = 200000;
+    private static final int MEASURED_STEPS = 1000000;
+    private static final I18n ENGLISH = new I18n("en");
+
+    public static void main(String[] args) throws Throwable {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Glue glue = new RuntimeGlue(new UndefinedStepsTracker(), new LocalizedXStreams(classLoader));
+        Backend backend = new Backend(new ClasspathResourceLoader(classLoader));
+        backend.loadGlue(glue, Collections.<String>emptyList());
+        Atom cukes = (Atom) RT.var("clojure.core", "load-string").invoke(
+                "(ns cucumber.runtime.clojure.benchmark (:use cucumber.runtime.clj))\n" +
+                        "(def cukes (atom 0))\n" +
+                        "(Given #\"^I have (\\d+) cukes in my belly$\" [n] (swap! cukes + (Long/parseLong n)))\n" +
+                        "cukes");
+        Step step = new Step(Collections.<Comment>emptyList(), "Given ", "I have 4 cukes in my belly", 1, null, null);
+
+        dispatch(glue, step, WARMUP_STEPS);
+
+        long start = System.nanoTime();
+        dispatch(glue, step, MEASURED_STEPS);
+        long elapsed = System.nanoTime() - start;
+        System.out.println(String.format("%-8s %6d ns/step (%s cukes)", "clojure", elapsed / MEASURED_STEPS, cukes.deref()));
+    }
+
+    private static void dispatch(Glue glue, Step step, int steps) throws Throwable {
+        for (int i = 0; i < steps; i++) {
+            glue.stepDefinitionMatch("benchmark.feature", step, ENGLISH).runStep(ENGLISH);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package cucumber.api.cli;
+
+import cucumber.runtime.ClassFinder;
+import cucumber.runtime.Runtime;
+import cucumber.runtime.RuntimeOptions;
+import cucumber.runtime.io.MultiLoader;
+import cucumber.runtime.io.ResourceLoader;
+import cucumber.runtime.io.ResourceLoaderClassFinder;
+import cucumber.runtime.io.ResourceWatcher;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs features for clients on the same machine, keeping the backends and the glue loaded between runs, so that a
+ * run doesn't have to start a JVM, scan the classpath and load the glue. The glue is loaded once for each distinct
+ * set of glue paths, and every scenario still gets fresh backend worlds. Runs happen one at a time.
+ * <p>
+ * A client sends a token, the directory it runs in and its arguments. The output of the run is sent back in chunks
+ * of a length followed by that many bytes, and ends with a length of {@value #END_OF_OUTPUT} followed by the exit
+ * status. Feature paths are resolved against the directory of the daemon, so a client must run in the same directory.
+ * <p>
+ * The daemon only listens on the loopback interface. A run can write files and run any glue as the user of the
+ * daemon, so the daemon writes a random token to a file in a directory only that user can access, and refuses
+ * clients that don't send it. The daemon doesn't start where it can't restrict the directory to its owner.
+ * <p>
+ * Glue in scripts is loaded again when its files change. Classes can't be loaded again into a running JVM, so the
+ * daemon must be restarted when Java glue changes.
+ */
+class Daemon {
+    static final int END_OF_OUTPUT = -1;
+    static final String[] LOCAL_OPTIONS = {"--help", "-h", "--version", "-v", "--i18n"};
+    static final File TOKEN_DIRECTORY = new File(System.getProperty("user.home"), ".cucumber");
+
+    private final ServerSocket serverSocket;
+    private final ClassLoader classLoader;
+    private final ResourceLoader resourceLoader;
+    private final ClassFinder classFinder;
+    private final File tokenFile;
+    private final String token;
+    private final Map<List<String>, LoadedGlue> loadedGlue = new HashMap<List<String>, LoadedGlue>();
+
+    /**
+     * @param port        the port to listen on, or 0 for any free port.
+     * @param classLoader classloader used to load the runtime.
+     */
+    Daemon(int port, ClassLoader classLoader) throws IOException {
+        this(port, classLoader, new MultiLoader(classLoader), TOKEN_DIRECTORY);
+    }
+
+    private Daemon(int port, ClassLoader classLoader, ResourceLoader resourceLoader, File tokenDirectory) throws IOException {
+        this(port, classLoader, resourceLoader, new ResourceLoaderClassFinder(resourceLoader, classLoader), tokenDirectory);
+    }
+
+    /**
+     * @param port           the port to listen on, or 0 for any free port.
+     * @param classLoader    classloader used to load the runtime.
+     * @param resourceLoader loads features and glue.
+     * @param classFinder    finds the backends.
+     * @param tokenDirectory the directory to write the token file to.
+     */
+    Daemon(int port, ClassLoader classLoader, ResourceLoader resourceLoader, ClassFinder classFinder, File tokenDirectory) throws IOException {
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getByName("127.0.0.1"));
+        this.classLoader = classLoader;
+        this.resourceLoader = resourceLoader;
+        this.classFinder = classFinder;
+        this.tokenFile = tokenFile(tokenDirectory, getPort());
+        this.token = new BigInteger(130, new SecureRandom()).toString(32);
+        try {
+            writeOwnerOnly(tokenFile, token);
+            tokenFile.deleteOnExit();
+        } catch (IOException e) {
+            serverSocket.close();
+            throw e;
+        }
+    }
+
+    static File tokenFile(File tokenDirectory, int port) {
+        return new File(tokenDirectory, "daemon-" + port + ".token");
+    }
+
+    private static void writeOwnerOnly(File file, String content) throws IOException {
+        // The directory is restricted before anything is written to it, so nobody else can open the token file
+        File directory = file.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Couldn't create " + directory);
+        }
+        if (!directory.setReadable(false, false) || !directory.setWritable(false, false) || !directory.setExecutable(false, false)
+                || !directory.setReadable(true, true) || !directory.setWritable(true, true) || !directory.setExecutable(true, true)) {
+            throw new IOException("Couldn't make " + directory + " accessible to its owner only");
+        }
+        File temporaryFile = File.createTempFile(file.getName(), ".tmp", directory);
+        try {
+            Writer writer = new OutputStreamWriter(new FileOutputStream(temporaryFile), "UTF-8");
+            try {
+                writer.write(content);
+            } finally {
+                writer.close();
+            }
+            file.delete();
+            if (!temporaryFile.renameTo(file)) {
+                throw new IOException("Couldn't rename " + temporaryFile + " to " + file);
+            }
+        } finally {
+            temporaryFile.delete();
+        }
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    File getTokenFile() {
+        return tokenFile;
+    }
+
+    /**
+     * Serves clients until the daemon is closed.
+     */
+    void serve() throws IOException {
+        while (true) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+                throw e;
+            }
+            try {
+                serve(socket);
+            } catch (IOException e) {
+                // The client went away. Carry on with the next one.
+            } finally {
+                socket.close();
+            }
+        }
+    }
+
+    void close() throws IOException {
+        serverSocket.close();
+        tokenFile.delete();
+    }
+
+    private void serve(Socket socket) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        PrintStream output = new PrintStream(new ChunkOutputStream(out), true, "UTF-8");
+        if (!MessageDigest.isEqual(token.getBytes("UTF-8"), in.readUTF().getBytes("UTF-8"))) {
+            // Nothing else the client sent is read, as it may be anyone
+            output.println("The daemon only runs for clients that send the token in " + tokenFile + ".");
+            exit(out, (byte) 1);
+            return;
+        }
+        String directory = in.readUTF();
+        int argc = in.readInt();
+        List<String> argv = new ArrayList<String>();
+        for (int i = 0; i < argc; i++) {
+            argv.add(in.readUTF());
+        }
+
+        PrintStream originalOut = System.out;
+        PrintStream originalErr = System.err;
+        // Plugins and summary printers write to System.out, which is taken when the runtime options are created
+        System.setOut(output);
+        System.setErr(output);
+        byte exitStatus;
+        try {
+            exitStatus = run(directory, argv);
+        } catch (Throwable t) {
+            t.printStackTrace(output);
+            exitStatus = 1;
+        } finally {
+            output.flush();
+            System.setOut(originalOut);
+            System.setErr(originalErr);
+        }
+        exit(out, exitStatus);
+    }
+
+    private static void exit(DataOutputStream out, byte exitStatus) throws IOException {
+        out.writeInt(END_OF_OUTPUT);
+        out.writeByte(exitStatus);
+        out.flush();
+    }
+
+    private byte run(String directory, List<String> argv) throws IOException {
+        File workingDirectory = new File("").getAbsoluteFile();
+        if (!new File(directory).getCanonicalFile().equals(workingDirectory.getCanonicalFile())) {
+            System.out.println("The daemon runs in " + workingDirectory + ". Start a daemon in " + directory + " to run from there.");
+            return 1;
+        }
+        for (String arg : argv) {
+            for (String localOption : LOCAL_OPTIONS) {
+                if (arg.equals(localOption)) {
+                    System.out.println(localOption + " isn't run by the daemon. Run it without --connect.");
+                    return 1;
+                }
+            }
+        }
+
+        RuntimeOptions runtimeOptions = new RuntimeOptions(new ArrayList<String>(argv));
+        List<String> gluePaths = new ArrayList<String>(runtimeOptions.getGlue());
+        LoadedGlue loaded = loadedGlue.get(gluePaths);
+        Runtime runtime;
+        if (loaded != null && loaded.changes.poll().isEmpty()) {
+            runtime = new Runtime(loaded.runtime, runtimeOptions);
+        } else {
+            loadedGlue.remove(gluePaths);
+            // Watch before loading, so that changes made while the glue loads are seen by the next run
+            ResourceWatcher changes = new ResourceWatcher(resourceLoader, Main.glueRoots(runtimeOptions), "");
+            changes.poll();
+            runtime = new Runtime(resourceLoader, classFinder, classLoader, runtimeOptions);
+            loaded = new LoadedGlue(changes);
+        }
+        loaded.runtime = runtime;
+        loadedGlue.put(gluePaths, loaded);
+        runtime.run();
+        return runtime.exitStatus();
+    }
+
+    private static class LoadedGlue {
+        private final ResourceWatcher changes;
+        private Runtime runtime;
+
+        LoadedGlue(ResourceWatcher changes) {
+            this.changes = changes;
+        }
+    }
+
+    private static class ChunkOutputStream extends OutputStream {
+        private final DataOutputStream out;
+
+        ChunkOutputStream(DataOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.writeInt(1);
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (length > 0) {
+                out.writeInt(length);
+                out.write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // The socket is closed once the exit status is sent
+            flush();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package cucumber.api.cli;
+
+import cucumber.runtime.CucumberException;
+import cucumber.runtime.RuntimeOptions;
+import gherkin.util.FixJava;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.List;
+
+/**
+ * Runs features in a {@link Daemon} and copies the output of the run.
+ */
+class DaemonClient {
+
+    /**
+     * @param port the port the daemon listens on.
+     * @param argv runtime options.
+     * @return the exit status of the run.
+     */
+    static byte run(int port, List<String> argv) throws IOException {
+        Byte exitStatus = runLocalOption(argv);
+        if (exitStatus != null) {
+            return exitStatus;
+        }
+        return run(port, Daemon.tokenFile(Daemon.TOKEN_DIRECTORY, port), new File("").getAbsolutePath(), argv, System.out);
+    }
+
+    /**
+     * Runs the first of the {@link Daemon#LOCAL_OPTIONS}, which only print something, without the daemon.
+     *
+     * @param argv runtime options.
+     * @return the exit status of the option, or null if there is none.
+     */
+    static Byte runLocalOption(List<String> argv) {
+        for (int i = 0; i < argv.size(); i++) {
+            String arg = argv.get(i);
+            if (arg.equals("--help") || arg.equals("-h")) {
+                RuntimeOptions.printUsage();
+                return 0;
+            } else if (arg.equals("--version") || arg.equals("-v")) {
+                System.out.println(RuntimeOptions.VERSION);
+                return 0;
+            } else if (arg.equals("--i18n")) {
+                if (i + 1 == argv.size()) {
+                    throw new CucumberException("--i18n must be followed by a language");
+                }
+                return (byte) RuntimeOptions.printI18n(argv.get(i + 1));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param port      the port the daemon listens on.
+     * @param tokenFile the file the daemon wrote its token to.
+     * @param directory the directory the client runs in.
+     * @param argv      runtime options.
+     * @param output    where to copy the output of the run to.
+     * @return the exit status of the run.
+     */
+    static byte run(int port, File tokenFile, String directory, List<String> argv, OutputStream output) throws IOException {
+        String token = readToken(port, tokenFile);
+        Socket socket = new Socket(InetAddress.getByName("127.0.0.1"), port);
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.writeUTF(token);
+            out.writeUTF(directory);
+            out.writeInt(argv.size());
+            for (String arg : argv) {
+                out.writeUTF(arg);
+            }
+            out.flush();
+
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            byte[] buffer = new byte[8192];
+            int length;
+            while ((length = in.readInt()) != Daemon.END_OF_OUTPUT) {
+                while (length > 0) {
+                    int chunk = Math.min(length, buffer.length);
+                    in.readFully(buffer, 0, chunk);
+                    output.write(buffer, 0, chunk);
+                    length -= chunk;
+                }
+                output.flush();
+            }
+            return in.readByte();
+        } finally {
+            socket.close();
+        }
+    }
+
+    private static String readToken(int port, File tokenFile) throws IOException {
+        if (!tokenFile.isFile()) {
+            throw new CucumberException("There is no daemon token in " + tokenFile + ". Is a daemon running on port " + port + "?");
+        }
+        Reader reader = new InputStreamReader(new FileInputStream(tokenFile), "UTF-8");
+        try {
+            return FixJava.readReader(reader);
+        } finally {
+            reader.close();
+        }
+    }
+}
@@ -1,18 +1,27 @@
 package cucumber.api.cli;
 
 import cucumber.runtime.ClassFinder;
+import cucumber.runtime.CucumberException;
 import cucumber.runtime.Runtime;
 import cucumber.runtime.RuntimeOptions;
 import cucumber.runtime.io.MultiLoader;
 import cucumber.runtime.io.ResourceLoader;
 import cucumber.runtime.io.ResourceLoaderClassFinder;
+import cucumber.runtime.io.ResourceWatcher;
+import cucumber.runtime.model.CucumberFeature;
+import cucumber.runtime.model.PathWithLines;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 
 import static java.util.Arrays.asList;
 
 public class Main {
+    private static final long WATCH_INTERVAL_MILLIS = 300;
 
     public static void main(String[] argv) throws Throwable {
         byte exitstatus = run(argv, Thread.currentThread().getContextClassLoader());
@@ -28,12 +37,112 @@ public class Main {
      * @throws IOException if resources couldn't be loaded during the run.
      */
     public static byte run(String[] argv, ClassLoader classLoader) throws IOException {
+        if (argv.length > 0 && argv[0].equals("--daemon")) {
+            Daemon daemon = new Daemon(port(argv), classLoader);
+            System.out.println("Cucumber daemon listening on port " + daemon.getPort());
+            daemon.serve();
+            return 0;
+        }
+        if (argv.length > 0 && argv[0].equals("--connect")) {
+            return DaemonClient.run(port(argv), asList(argv).subList(2, argv.length));
+        }
+
         RuntimeOptions runtimeOptions = new RuntimeOptions(new ArrayList<String>(asList(argv)));
 
         ResourceLoader resourceLoader = new MultiLoader(classLoader);
         ClassFinder classFinder = new ResourceLoaderClassFinder(resourceLoader, classLoader);
         Runtime runtime = new Runtime(resourceLoader, classFinder, classLoader, runtimeOptions);
+        if (runtimeOptions.isWatch()) {
+            return watch(argv, runtime, runtimeOptions, resourceLoader, classFinder, classLoader);
+        }
         runtime.run();
         return runtime.exitStatus();
     }
+
+    /**
+     * Runs the features, and then runs them again whenever they change, until the thread is interrupted. Changed
+     * features are run with the glue that is already loaded. When the glue changes, it is loaded again and all the
+     * features are run. That picks up changes to glue in scripts, but classes can't be loaded again into a running
+     * JVM, so changes to Java glue need a restart. A feature that doesn't parse, or glue that doesn't load, is
+     * reported and tried again on the next change.
+     */
+    private static byte watch(String[] argv, Runtime runtime, RuntimeOptions runtimeOptions, ResourceLoader resourceLoader,
+                              ClassFinder classFinder, ClassLoader classLoader) throws IOException {
+        ResourceWatcher features = new ResourceWatcher(resourceLoader, featureRoots(runtimeOptions), ".feature");
+        ResourceWatcher glue = new ResourceWatcher(resourceLoader, glueRoots(runtimeOptions), "");
+        features.poll();
+        glue.poll();
+        runtime.run();
+
+        boolean glueChanged = false;
+        while (true) {
+            try {
+                Thread.sleep(WATCH_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return runtime.exitStatus();
+            }
+            Set<String> changedFeatures = features.poll();
+            glueChanged |= !glue.poll().isEmpty();
+            if (changedFeatures.isEmpty() && !glueChanged) {
+                continue;
+            }
+
+            try {
+                RuntimeOptions rerunOptions = new RuntimeOptions(new ArrayList<String>(asList(argv)));
+                if (glueChanged) {
+                    runtime = new Runtime(resourceLoader, classFinder, classLoader, rerunOptions);
+                } else {
+                    runtime = new Runtime(runtime, rerunOptions);
+                }
+                List<CucumberFeature> cucumberFeatures = rerunOptions.cucumberFeatures(resourceLoader);
+                if (!glueChanged) {
+                    for (Iterator<CucumberFeature> iterator = cucumberFeatures.iterator(); iterator.hasNext(); ) {
+                        if (!changedFeatures.contains(iterator.next().getPath())) {
+                            iterator.remove();
+                        }
+                    }
+                }
+                glueChanged = false;
+                runtime.run(cucumberFeatures);
+            } catch (RuntimeException e) {
+                // Most often a file saved halfway through an edit. The glue is loaded again until that works.
+                System.err.println("Couldn't run the changes, waiting for the next ones: " + (e.getMessage() != null ? e.getMessage() : e));
+                if (e.getCause() != null) {
+                    System.err.println("Caused by: " + e.getCause());
+                }
+            }
+        }
+    }
+
+    private static int port(String[] argv) {
+        try {
+            return Integer.parseInt(argv[1]);
+        } catch (RuntimeException e) {
+            throw new CucumberException(argv[0] + " must be followed by a port");
+        }
+    }
+
+    private static List<String> featureRoots(RuntimeOptions runtimeOptions) {
+        List<String> roots = new ArrayList<String>();
+        for (String featurePath : runtimeOptions.getFeaturePaths()) {
+            // Rerun files list features that are also found elsewhere
+            if (!featurePath.startsWith("@")) {
+                roots.add(PathWithLines.stripLineFilters(featurePath));
+            }
+        }
+        return roots;
+    }
+
+    static List<String> glueRoots(RuntimeOptions runtimeOptions) {
+        List<String> roots = new ArrayList<String>();
+        for (String gluePath : runtimeOptions.getGlue()) {
+            if (gluePath.startsWith(MultiLoader.CLASSPATH_SCHEME) || new File(gluePath).exists()) {
+                roots.add(gluePath);
+            } else {
+                roots.add(MultiLoader.CLASSPATH_SCHEME + MultiLoader.packageName(gluePath).replace('.', '/'));
+            }
+        }
+        return roots;
+    }
 }
@@ -0,0 +1,121 @@
+package cucumber.runtime;
+
+import gherkin.formatter.Formatter;
+import gherkin.formatter.model.Background;
+import gherkin.formatter.model.Examples;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Scenario;
+import gherkin.formatter.model.ScenarioOutline;
+import gherkin.formatter.model.Step;
+
+import java.util.List;
+
+/**
+ * Passes formatter events on to all the plugins that are formatters.
+ */
+class CompositeFormatter implements Formatter {
+    private final PluginList<Formatter> formatters;
+
+    CompositeFormatter(RuntimeOptions runtimeOptions) {
+        this.formatters = new PluginList<Formatter>(runtimeOptions, Formatter.class);
+    }
+
+    @Override
+    public void syntaxError(String state, String event, List<String> legalEvents, String uri, Integer line) {
+        for (Formatter formatter : formatters.get()) {
+            formatter.syntaxError(state, event, legalEvents, uri, line);
+        }
+    }
+
+    @Override
+    public void uri(String uri) {
+        for (Formatter formatter : formatters.get()) {
+            formatter.uri(uri);
+        }
+    }
+
+    @Override
+    public void feature(Feature feature) {
+        for (Formatter formatter : formatters.get()) {
+            formatter.feature(feature);
+        }
+    }
+
+    @Override
+    public void scenarioOutline(ScenarioOutline scenarioOutline) {
+        for (Formatter formatter : formatters.get()) {
+            formatter.scenarioOutline(scenarioOutline);
+        }
+    }
+
+    @Override
+    public void examples(Examples examples) {
+        for (Formatter formatter : formatters.get()) {
+            formatter.examples(examples);
+        }
+    }
+
+    @Override
+    public void startOfScenarioLifeCycle(Scenario scenario) {
+        for (Formatter formatter : formatters.get()) {
+            try {
+                formatter.startOfScenarioLifeCycle(scenario);
+            } catch (Throwable ignore) {
+                // IntelliJ has its own formatter which doesn't yet implement these methods.
+            }
+        }
+    }
+
+    @Override
+    public void background(Background background) {
+        for (Formatter formatter : formatters.get()) {
+            formatter.background(background);
+        }
+    }
+
+    @Override
+    public void scenario(Scenario scenario) {
+        for (Formatter formatter : formatters.get()) {
+            formatter.scenario(scenario);
+        }
+    }
+
+    @Override
+    public void step(Step step) {
+        for (Formatter formatter : formatters.get()) {
+            formatter.step(step);
+        }
+    }
+
+    @Override
+    public void endOfScenarioLifeCycle(Scenario scenario) {
+        for (Formatter formatter : formatters.get()) {
+            try {
+                formatter.endOfScenarioLifeCycle(scenario);
+            } catch (Throwable ignore) {
+                // IntelliJ has its own formatter which doesn't yet implement these methods.
+            }
+        }
+    }
+
+    @Override
+    public void done() {
+        for (Formatter formatter : formatters.get()) {
+            formatter.done();
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Formatter formatter : formatters.get()) {
+            formatter.close();
+        }
+    }
+
+    @Override
+    public void eof() {
+        for (Formatter formatter : formatters.get()) {
+            formatter.eof();
+        }
+    }
+}
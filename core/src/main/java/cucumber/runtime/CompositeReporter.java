@@ -0,0 +1,58 @@
+package cucumber.runtime;
+
+import gherkin.formatter.Reporter;
+import gherkin.formatter.model.Match;
+import gherkin.formatter.model.Result;
+
+/**
+ * Passes reporter events on to all the plugins that are reporters.
+ */
+class CompositeReporter implements Reporter {
+    private final PluginList<Reporter> reporters;
+
+    CompositeReporter(RuntimeOptions runtimeOptions) {
+        this.reporters = new PluginList<Reporter>(runtimeOptions, Reporter.class);
+    }
+
+    @Override
+    public void before(Match match, Result result) {
+        for (Reporter reporter : reporters.get()) {
+            reporter.before(match, result);
+        }
+    }
+
+    @Override
+    public void result(Result result) {
+        for (Reporter reporter : reporters.get()) {
+            reporter.result(result);
+        }
+    }
+
+    @Override
+    public void after(Match match, Result result) {
+        for (Reporter reporter : reporters.get()) {
+            reporter.after(match, result);
+        }
+    }
+
+    @Override
+    public void match(Match match) {
+        for (Reporter reporter : reporters.get()) {
+            reporter.match(match);
+        }
+    }
+
+    @Override
+    public void embedding(String mimeType, byte[] data) {
+        for (Reporter reporter : reporters.get()) {
+            reporter.embedding(mimeType, data);
+        }
+    }
+
+    @Override
+    public void write(String text) {
+        for (Reporter reporter : reporters.get()) {
+            reporter.write(text);
+        }
+    }
+}
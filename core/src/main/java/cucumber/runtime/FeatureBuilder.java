@@ -2,6 +2,7 @@ package cucumber.runtime;
 
 import cucumber.runtime.io.Resource;
 import cucumber.runtime.model.CucumberFeature;
+import cucumber.runtime.model.ModelInterner;
 import gherkin.I18n;
 import gherkin.formatter.FilterFormatter;
 import gherkin.formatter.Formatter;
@@ -32,6 +33,7 @@ public class FeatureBuilder implements Formatter {
     private final char fileSeparatorChar;
     private final MessageDigest md5;
     private final Map<String, String> pathsByChecksum = new HashMap<String, String>();
+    private final ModelInterner interner = new ModelInterner();
     private CucumberFeature currentCucumberFeature;
     private String featurePath;
 
@@ -56,33 +58,33 @@ public class FeatureBuilder implements Formatter {
 
     @Override
     public void feature(Feature feature) {
-        currentCucumberFeature = new CucumberFeature(feature, featurePath);
+        currentCucumberFeature = new CucumberFeature(interner.feature(feature), featurePath);
         cucumberFeatures.add(currentCucumberFeature);
     }
 
     @Override
     public void background(Background background) {
-        currentCucumberFeature.background(background);
+        currentCucumberFeature.background(interner.background(background));
     }
 
     @Override
     public void scenario(Scenario scenario) {
-        currentCucumberFeature.scenario(scenario);
+        currentCucumberFeature.scenario(interner.scenario(scenario));
     }
 
     @Override
     public void scenarioOutline(ScenarioOutline scenarioOutline) {
-        currentCucumberFeature.scenarioOutline(scenarioOutline);
+        currentCucumberFeature.scenarioOutline(interner.scenarioOutline(scenarioOutline));
     }
 
     @Override
     public void examples(Examples examples) {
-        currentCucumberFeature.examples(examples);
+        currentCucumberFeature.examples(interner.examples(examples));
     }
 
     @Override
     public void step(Step step) {
-        currentCucumberFeature.step(step);
+        currentCucumberFeature.step(interner.step(step));
     }
 
     @Override
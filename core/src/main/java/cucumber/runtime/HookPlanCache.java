@@ -0,0 +1,65 @@
+package cucumber.runtime;
+
+import gherkin.formatter.model.Tag;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remembers which hooks apply to a set of tags. Tag names are interned to numbers so a scenario's tags can be
+ * represented as a bit set, and the hooks are only matched against the first scenario with a given set of tags.
+ * <p>
+ * Hooks match on tag names only, so scenarios with the same tag names get the same hooks. The plans are thrown
+ * away whenever the list of hooks changes.
+ */
+class HookPlanCache {
+    private final Map<String, Integer> tagIds = new HashMap<String, Integer>();
+    private final Map<BitSet, List<HookDefinition>> plans = new HashMap<BitSet, List<HookDefinition>>();
+    private List<HookDefinition> hooks;
+    private int hookCount;
+
+    /**
+     * @param hooks all the hooks, in the order they should run.
+     * @param tags  the tags of a scenario.
+     * @return the hooks that match the tags, in the same order.
+     */
+    synchronized List<HookDefinition> matching(List<HookDefinition> hooks, Collection<Tag> tags) {
+        if (hooks != this.hooks || hooks.size() != hookCount) {
+            this.hooks = hooks;
+            this.hookCount = hooks.size();
+            plans.clear();
+        }
+        if (hooks.isEmpty()) {
+            return hooks;
+        }
+        BitSet key = intern(tags);
+        List<HookDefinition> plan = plans.get(key);
+        if (plan == null) {
+            plan = new ArrayList<HookDefinition>();
+            for (HookDefinition hook : hooks) {
+                if (hook.matches(tags)) {
+                    plan.add(hook);
+                }
+            }
+            plans.put(key, plan);
+        }
+        return plan;
+    }
+
+    private BitSet intern(Collection<Tag> tags) {
+        BitSet bits = new BitSet(tagIds.size());
+        for (Tag tag : tags) {
+            Integer id = tagIds.get(tag.getName());
+            if (id == null) {
+                id = tagIds.size();
+                tagIds.put(tag.getName(), id);
+            }
+            bits.set(id);
+        }
+        return bits;
+    }
+}
@@ -9,14 +9,25 @@ import java.util.regex.Pattern;
 
 public class JdkPatternArgumentMatcher {
     private final Pattern pattern;
+    private final boolean unanchored;
 
     public JdkPatternArgumentMatcher(Pattern pattern) {
+        this(pattern, false);
+    }
+
+    /**
+     * @param pattern    the pattern to match step names against
+     * @param unanchored if true, the pattern may match anywhere in the step name, the way a regexp search works in
+     *                   JavaScript and Ruby. Otherwise the match must start at the beginning of the step name.
+     */
+    public JdkPatternArgumentMatcher(Pattern pattern, boolean unanchored) {
         this.pattern = pattern;
+        this.unanchored = unanchored;
     }
 
     public List<Argument> argumentsFrom(String stepName) {
         Matcher matcher = pattern.matcher(stepName);
-        if (matcher.lookingAt()) {
+        if (unanchored ? matcher.find() : matcher.lookingAt()) {
             List<Argument> arguments = new ArrayList<Argument>(matcher.groupCount());
             for (int i = 1; i <= matcher.groupCount(); i++) {
                 int startIndex = matcher.start(i);
@@ -0,0 +1,13 @@
+package cucumber.runtime;
+
+/**
+ * A step definition that can match steps with a {@link JdkPatternArgumentMatcher}. A JDK pattern can be used from
+ * any thread, so the steps of a run can be linked to such step definitions in parallel. Other step definitions, such
+ * as the ones that call into a script interpreter to match, are only matched on the thread that links the steps.
+ */
+public interface JdkPatternStepDefinition extends StepDefinition {
+    /**
+     * @return true if steps are matched with a JDK pattern alone.
+     */
+    boolean isMatchedByJdkPattern();
+}
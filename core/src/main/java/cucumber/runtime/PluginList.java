@@ -0,0 +1,48 @@
+package cucumber.runtime;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The plugins of one type, kept in an array so that passing an event on to them is a plain loop. The plugins are
+ * only looked up when the first event arrives, so that they are created after the features have been parsed, and
+ * they are looked up again when plugins have been added since.
+ */
+class PluginList<T> {
+    private final RuntimeOptions runtimeOptions;
+    private final Class<T> type;
+    private volatile Snapshot<T> snapshot;
+
+    PluginList(RuntimeOptions runtimeOptions, Class<T> type) {
+        this.runtimeOptions = runtimeOptions;
+        this.type = type;
+    }
+
+    T[] get() {
+        List<Object> plugins = runtimeOptions.getPlugins();
+        Snapshot<T> current = snapshot;
+        if (current == null || current.pluginCount != plugins.size()) {
+            current = new Snapshot<T>(plugins, type);
+            snapshot = current;
+        }
+        return current.plugins;
+    }
+
+    private static class Snapshot<T> {
+        private final int pluginCount;
+        private final T[] plugins;
+
+        @SuppressWarnings("unchecked")
+        Snapshot(List<Object> all, Class<T> type) {
+            List<T> plugins = new ArrayList<T>();
+            for (Object plugin : all) {
+                if (type.isInstance(plugin)) {
+                    plugins.add(type.cast(plugin));
+                }
+            }
+            this.pluginCount = all.size();
+            this.plugins = plugins.toArray((T[]) Array.newInstance(type, plugins.size()));
+        }
+    }
+}
@@ -4,7 +4,11 @@ import cucumber.api.Pending;
 import cucumber.api.StepDefinitionReporter;
 import cucumber.api.SummaryPrinter;
 import cucumber.runtime.io.ResourceLoader;
+import cucumber.runtime.model.CucumberBackground;
 import cucumber.runtime.model.CucumberFeature;
+import cucumber.runtime.model.CucumberScenario;
+import cucumber.runtime.model.CucumberScenarioOutline;
+import cucumber.runtime.model.CucumberTagStatement;
 import cucumber.runtime.xstream.LocalizedXStreams;
 import gherkin.I18n;
 import gherkin.formatter.Argument;
@@ -25,7 +29,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -46,7 +52,7 @@ public class Runtime implements UnreportedStepExecutor {
     private static final byte ERRORS = 0x1;
 
     private final Stats stats;
-    final UndefinedStepsTracker undefinedStepsTracker = new UndefinedStepsTracker();
+    final UndefinedStepsTracker undefinedStepsTracker;
 
     private final Glue glue;
     private final RuntimeOptions runtimeOptions;
@@ -56,6 +62,8 @@ public class Runtime implements UnreportedStepExecutor {
     private final ResourceLoader resourceLoader;
     private final ClassLoader classLoader;
     private final StopWatch stopWatch;
+    private final HookPlanCache beforeHookPlans;
+    private final HookPlanCache afterHookPlans;
 
     //TODO: These are really state machine variables, and I'm not sure the runtime is the best place for this state machine
     //They really should be created each time a scenario is run, not in here
@@ -85,8 +93,11 @@ public class Runtime implements UnreportedStepExecutor {
         this.backends = backends;
         this.runtimeOptions = runtimeOptions;
         this.stopWatch = stopWatch;
+        this.undefinedStepsTracker = new UndefinedStepsTracker();
         this.glue = optionalGlue != null ? optionalGlue : new RuntimeGlue(undefinedStepsTracker, new LocalizedXStreams(classLoader));
         this.stats = new Stats(runtimeOptions.isMonochrome());
+        this.beforeHookPlans = new HookPlanCache();
+        this.afterHookPlans = new HookPlanCache();
 
         for (Backend backend : backends) {
             backend.loadGlue(glue, runtimeOptions.getGlue());
@@ -94,6 +105,32 @@ public class Runtime implements UnreportedStepExecutor {
         }
     }
 
+    /**
+     * Creates a runtime for another run of the glue an earlier runtime loaded, so that the glue doesn't have to be
+     * loaded again. The hooks that apply to each set of tags are remembered from the earlier runtime too. The earlier
+     * runtime shouldn't be used any more.
+     *
+     * @param loaded         the runtime whose glue to run.
+     * @param runtimeOptions configuration, with the same glue as the earlier runtime.
+     */
+    public Runtime(Runtime loaded, RuntimeOptions runtimeOptions) {
+        this.resourceLoader = loaded.resourceLoader;
+        this.classLoader = loaded.classLoader;
+        this.backends = loaded.backends;
+        this.runtimeOptions = runtimeOptions;
+        this.stopWatch = loaded.stopWatch;
+        this.undefinedStepsTracker = loaded.undefinedStepsTracker;
+        this.glue = loaded.glue;
+        this.stats = new Stats(runtimeOptions.isMonochrome());
+        this.beforeHookPlans = loaded.beforeHookPlans;
+        this.afterHookPlans = loaded.afterHookPlans;
+
+        undefinedStepsTracker.clear();
+        for (Backend backend : backends) {
+            backend.setUnreportedStepExecutor(this);
+        }
+    }
+
     private static Collection<? extends Backend> loadBackends(ResourceLoader resourceLoader, ClassFinder classFinder) {
         Reflections reflections = new Reflections(classFinder);
         return reflections.instantiateSubclasses(Backend.class, "cucumber.runtime", new Class[]{ResourceLoader.class}, new Object[]{resourceLoader});
@@ -108,8 +145,15 @@ public class Runtime implements UnreportedStepExecutor {
      */
     public void run() throws IOException {
         // Make sure all features parse before initialising any reporters/formatters
-        List<CucumberFeature> features = runtimeOptions.cucumberFeatures(resourceLoader);
+        run(runtimeOptions.cucumberFeatures(resourceLoader));
+    }
 
+    /**
+     * Runs features that were already loaded.
+     *
+     * @param features the features to run.
+     */
+    public void run(List<CucumberFeature> features) {
         // TODO: This is duplicated in cucumber.api.android.CucumberInstrumentationCore - refactor or keep uptodate
 
         Formatter formatter = runtimeOptions.formatter(classLoader);
@@ -117,6 +161,7 @@ public class Runtime implements UnreportedStepExecutor {
         StepDefinitionReporter stepDefinitionReporter = runtimeOptions.stepDefinitionReporter(classLoader);
 
         glue.reportStepDefinitions(stepDefinitionReporter);
+        link(features);
 
         for (CucumberFeature cucumberFeature : features) {
             cucumberFeature.run(formatter, reporter, this);
@@ -127,6 +172,53 @@ public class Runtime implements UnreportedStepExecutor {
         printSummary();
     }
 
+    /**
+     * Matches the steps of the features against the glue before any of them run, on as many threads as there are
+     * processors, so that running a step only has to look up its match. Only the distinct texts are collected, and
+     * the examples of outlines aren't expanded to link them, so linking doesn't build the scenarios of the run; the
+     * outline steps without placeholders are linked, and the others are matched as their steps run.
+     *
+     * @param features the features that are about to run.
+     */
+    public void link(List<CucumberFeature> features) {
+        if (!(glue instanceof RuntimeGlue)) {
+            return;
+        }
+        Map<String, Step> stepsByText = new LinkedHashMap<String, Step>();
+        for (CucumberFeature feature : features) {
+            for (CucumberTagStatement statement : feature.getFeatureElements()) {
+                if (statement instanceof CucumberScenarioOutline) {
+                    addSteps(((CucumberScenarioOutline) statement).getCucumberBackground(), stepsByText);
+                    for (Step step : statement.getSteps()) {
+                        if (!step.getName().contains("<")) {
+                            addStep(step, stepsByText);
+                        }
+                    }
+                } else if (statement instanceof CucumberScenario) {
+                    addSteps(((CucumberScenario) statement).getCucumberBackground(), stepsByText);
+                    for (Step step : statement.getSteps()) {
+                        addStep(step, stepsByText);
+                    }
+                }
+            }
+        }
+        ((RuntimeGlue) glue).link(stepsByText.values(), java.lang.Runtime.getRuntime().availableProcessors());
+    }
+
+    private static void addSteps(CucumberBackground background, Map<String, Step> stepsByText) {
+        if (background != null) {
+            for (Step step : background.getSteps()) {
+                addStep(step, stepsByText);
+            }
+        }
+    }
+
+    private static void addStep(Step step, Map<String, Step> stepsByText) {
+        if (!stepsByText.containsKey(step.getName())) {
+            stepsByText.put(step.getName(), step);
+        }
+    }
+
     public void printSummary() {
         SummaryPrinter summaryPrinter = runtimeOptions.summaryPrinter(classLoader);
         summaryPrinter.print(this);
@@ -153,6 +245,18 @@ public class Runtime implements UnreportedStepExecutor {
         }
     }
 
+    /**
+     * Adds the results of a runtime that ran part of the features alongside this one, so that they are included in
+     * this runtime's summary and exit status.
+     *
+     * @param other the other runtime, which must have finished.
+     */
+    public void addResultsOf(Runtime other) {
+        errors.addAll(other.errors);
+        stats.addAll(other.stats);
+        undefinedStepsTracker.addUndefinedSteps(other.undefinedStepsTracker);
+    }
+
     public List<Throwable> getErrors() {
         return errors;
     }
@@ -208,34 +312,33 @@ public class Runtime implements UnreportedStepExecutor {
 
     private void runHooks(List<HookDefinition> hooks, Reporter reporter, Set<Tag> tags, boolean isBefore) {
         if (!runtimeOptions.isDryRun()) {
-            for (HookDefinition hook : hooks) {
-                runHookIfTagsMatch(hook, reporter, tags, isBefore);
+            HookPlanCache plans = isBefore ? beforeHookPlans : afterHookPlans;
+            for (HookDefinition hook : plans.matching(hooks, tags)) {
+                runHook(hook, reporter, isBefore);
             }
         }
     }
 
-    private void runHookIfTagsMatch(HookDefinition hook, Reporter reporter, Set<Tag> tags, boolean isBefore) {
-        if (hook.matches(tags)) {
-            String status = Result.PASSED;
-            Throwable error = null;
-            Match match = new Match(Collections.<Argument>emptyList(), hook.getLocation(false));
-            stopWatch.start();
-            try {
-                hook.execute(scenarioResult);
-            } catch (Throwable t) {
-                error = t;
-                status = isPending(t) ? "pending" : Result.FAILED;
-                addError(t);
-                skipNextStep = true;
-            } finally {
-                long duration = stopWatch.stop();
-                Result result = new Result(status, duration, error, DUMMY_ARG);
-                addHookToCounterAndResult(result);
-                if (isBefore) {
-                    reporter.before(match, result);
-                } else {
-                    reporter.after(match, result);
-                }
+    private void runHook(HookDefinition hook, Reporter reporter, boolean isBefore) {
+        String status = Result.PASSED;
+        Throwable error = null;
+        Match match = new Match(Collections.<Argument>emptyList(), hook.getLocation(false));
+        stopWatch.start();
+        try {
+            hook.execute(scenarioResult);
+        } catch (Throwable t) {
+            error = t;
+            status = isPending(t) ? "pending" : Result.FAILED;
+            addError(t);
+            skipNextStep = true;
+        } finally {
+            long duration = stopWatch.stop();
+            Result result = new Result(status, duration, error, DUMMY_ARG);
+            addHookToCounterAndResult(result);
+            if (isBefore) {
+                reporter.before(match, result);
+            } else {
+                reporter.after(match, result);
             }
         }
     }
@@ -7,16 +7,22 @@ import gherkin.formatter.Argument;
 import gherkin.formatter.model.Step;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Iterator;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
+/**
+ * The step definitions and hooks of a run. Scenario scoped glue is kept apart from the glue that lives for the whole
+ * run, so that it can be dropped after every scenario without walking the rest of the glue.
+ */
 public class RuntimeGlue implements Glue {
     final Map<String, StepDefinition> stepDefinitionsByPattern = new TreeMap<String, StepDefinition>();
-    final List<HookDefinition> beforeHooks = new ArrayList<HookDefinition>();
-    final List<HookDefinition> afterHooks = new ArrayList<HookDefinition>();
+    Map<String, StepDefinition> scenarioStepDefinitionsByPattern = new TreeMap<String, StepDefinition>();
+    final Hooks beforeHooks = new Hooks(new HookComparator(true));
+    final Hooks afterHooks = new Hooks(new HookComparator(false));
+
+    private final StepMatchTable stepMatchTable = new StepMatchTable();
 
     private final UndefinedStepsTracker tracker;
     private final LocalizedXStreams localizedXStreams;
@@ -29,32 +35,37 @@ public class RuntimeGlue implements Glue {
     @Override
     public void addStepDefinition(StepDefinition stepDefinition) {
         StepDefinition previous = stepDefinitionsByPattern.get(stepDefinition.getPattern());
+        if (previous == null) {
+            previous = scenarioStepDefinitionsByPattern.get(stepDefinition.getPattern());
+        }
         if (previous != null) {
             throw new DuplicateStepDefinitionException(previous, stepDefinition);
         }
-        stepDefinitionsByPattern.put(stepDefinition.getPattern(), stepDefinition);
+        if (stepDefinition.isScenarioScoped()) {
+            scenarioStepDefinitionsByPattern.put(stepDefinition.getPattern(), stepDefinition);
+        } else {
+            stepDefinitionsByPattern.put(stepDefinition.getPattern(), stepDefinition);
+        }
     }
 
     @Override
     public void addBeforeHook(HookDefinition hookDefinition) {
         beforeHooks.add(hookDefinition);
-        Collections.sort(beforeHooks, new HookComparator(true));
     }
 
     @Override
     public void addAfterHook(HookDefinition hookDefinition) {
         afterHooks.add(hookDefinition);
-        Collections.sort(afterHooks, new HookComparator(false));
     }
 
     @Override
     public List<HookDefinition> getBeforeHooks() {
-        return beforeHooks;
+        return beforeHooks.get();
     }
 
     @Override
     public List<HookDefinition> getAfterHooks() {
-        return afterHooks;
+        return afterHooks.get();
     }
 
     @Override
@@ -75,15 +86,33 @@ public class RuntimeGlue implements Glue {
         }
     }
 
+    /**
+     * Matches steps against the step definitions of the run before they run. Scenario scoped step definitions are
+     * only known while their scenario runs, so they are still matched as the steps run.
+     *
+     * @param steps   the steps to link.
+     * @param threads the number of threads to match on.
+     */
+    void link(Collection<Step> steps, int threads) {
+        stepMatchTable.link(stepDefinitionsByPattern, steps, threads);
+    }
+
     private List<StepDefinitionMatch> stepDefinitionMatches(String featurePath, Step step) {
         List<StepDefinitionMatch> result = new ArrayList<StepDefinitionMatch>();
-        for (StepDefinition stepDefinition : stepDefinitionsByPattern.values()) {
+        for (StepMatchTable.Matched matched : stepMatchTable.matching(stepDefinitionsByPattern, step)) {
+            result.add(new StepDefinitionMatch(matched.arguments, matched.stepDefinition, featurePath, step, localizedXStreams));
+        }
+        addStepDefinitionMatches(scenarioStepDefinitionsByPattern, featurePath, step, result);
+        return result;
+    }
+
+    private void addStepDefinitionMatches(Map<String, StepDefinition> stepDefinitions, String featurePath, Step step, List<StepDefinitionMatch> result) {
+        for (StepDefinition stepDefinition : stepDefinitions.values()) {
             List<Argument> arguments = stepDefinition.matchedArguments(step);
             if (arguments != null) {
                 result.add(new StepDefinitionMatch(arguments, stepDefinition, featurePath, step, localizedXStreams));
             }
         }
-        return result;
     }
 
     @Override
@@ -91,32 +120,89 @@ public class RuntimeGlue implements Glue {
         for (StepDefinition stepDefinition : stepDefinitionsByPattern.values()) {
             stepDefinitionReporter.stepDefinition(stepDefinition);
         }
+        for (StepDefinition stepDefinition : scenarioStepDefinitionsByPattern.values()) {
+            stepDefinitionReporter.stepDefinition(stepDefinition);
+        }
     }
 
     @Override
     public void removeScenarioScopedGlue() {
-        removeScenarioScopedHooks(beforeHooks);
-        removeScenarioScopedHooks(afterHooks);
-        removeScenarioScopedStepdefs();
+        beforeHooks.removeScenarioScoped();
+        afterHooks.removeScenarioScoped();
+        if (!scenarioStepDefinitionsByPattern.isEmpty()) {
+            scenarioStepDefinitionsByPattern = new TreeMap<String, StepDefinition>();
+        }
     }
 
-    private void removeScenarioScopedHooks(List<HookDefinition> beforeHooks1) {
-        Iterator<HookDefinition> hookIterator = beforeHooks1.iterator();
-        while(hookIterator.hasNext()) {
-            HookDefinition hook = hookIterator.next();
-            if(hook.isScenarioScoped()) {
-                hookIterator.remove();
+    /**
+     * Hooks sorted by order. Hooks are inserted at their position, after the hooks with the same order, and the
+     * scenario scoped ones are merged in only when there are any.
+     */
+    static class Hooks {
+        private final HookComparator comparator;
+        private final List<HookDefinition> runScoped = new ArrayList<HookDefinition>();
+        private List<HookDefinition> scenarioScoped = new ArrayList<HookDefinition>();
+        private List<HookDefinition> merged;
+
+        Hooks(HookComparator comparator) {
+            this.comparator = comparator;
+        }
+
+        void add(HookDefinition hookDefinition) {
+            insert(hookDefinition.isScenarioScoped() ? scenarioScoped : runScoped, hookDefinition);
+            merged = null;
+        }
+
+        private void insert(List<HookDefinition> hooks, HookDefinition hookDefinition) {
+            int low = 0;
+            int high = hooks.size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (comparator.compare(hooks.get(middle), hookDefinition) <= 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
             }
+            hooks.add(low, hookDefinition);
+        }
+
+        List<HookDefinition> get() {
+            if (scenarioScoped.isEmpty()) {
+                return runScoped;
+            }
+            if (merged == null) {
+                merged = merge();
+            }
+            return merged;
         }
-    }
 
-    private void removeScenarioScopedStepdefs() {
-        Iterator<Map.Entry<String, StepDefinition>> stepdefs = stepDefinitionsByPattern.entrySet().iterator();
-        while(stepdefs.hasNext()) {
-            StepDefinition stepDefinition = stepdefs.next().getValue();
-            if(stepDefinition.isScenarioScoped()) {
-                stepdefs.remove();
+        private List<HookDefinition> merge() {
+            List<HookDefinition> result = new ArrayList<HookDefinition>(runScoped.size() + scenarioScoped.size());
+            int run = 0;
+            int scenario = 0;
+            while (run < runScoped.size() && scenario < scenarioScoped.size()) {
+                // Scenario scoped hooks are added last, so they go after run scoped hooks with the same order
+                if (comparator.compare(scenarioScoped.get(scenario), runScoped.get(run)) < 0) {
+                    result.add(scenarioScoped.get(scenario++));
+                } else {
+                    result.add(runScoped.get(run++));
+                }
             }
+            result.addAll(runScoped.subList(run, runScoped.size()));
+            result.addAll(scenarioScoped.subList(scenario, scenarioScoped.size()));
+            return result;
+        }
+
+        void removeScenarioScoped() {
+            if (!scenarioScoped.isEmpty()) {
+                scenarioScoped = new ArrayList<HookDefinition>();
+                merged = null;
+            }
+        }
+
+        int size() {
+            return runScoped.size() + scenarioScoped.size();
         }
     }
 }
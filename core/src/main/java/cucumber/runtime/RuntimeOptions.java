@@ -8,12 +8,15 @@ import cucumber.runtime.formatter.PluginFactory;
 import cucumber.runtime.formatter.StrictAware;
 import cucumber.runtime.io.ResourceLoader;
 import cucumber.runtime.model.CucumberFeature;
+import cucumber.runtime.model.FeatureShard;
 import cucumber.runtime.model.PathWithLines;
+import cucumber.runtime.model.ScenarioTimings;
 import gherkin.I18n;
 import gherkin.formatter.Formatter;
 import gherkin.formatter.Reporter;
 import gherkin.util.FixJava;
 
+import java.io.File;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.lang.reflect.InvocationHandler;
@@ -46,6 +49,13 @@ public class RuntimeOptions {
     private boolean monochrome = false;
     private SnippetType snippetType = SnippetType.UNDERSCORE;
     private boolean pluginNamesInstantiated;
+    private FeatureShard shard;
+    private String shardSpec;
+    private final List<String> shardTimingsPaths = new ArrayList<String>();
+    private String orderByTimingsPath;
+    private boolean watch;
+    private final Formatter formatter = new CompositeFormatter(this);
+    private final Reporter reporter = new CompositeReporter(this);
 
     /**
      * Create a new instance from a string of options, for example:
@@ -100,6 +110,7 @@ public class RuntimeOptions {
         List<Object> parsedFilters = new ArrayList<Object>();
         List<String> parsedFeaturePaths = new ArrayList<String>();
         List<String> parsedGlue = new ArrayList<String>();
+        List<String> parsedShardTimingsPaths = new ArrayList<String>();
 
         while (!args.isEmpty()) {
             String arg = args.remove(0).trim();
@@ -136,6 +147,14 @@ public class RuntimeOptions {
                 String nextArg = args.remove(0);
                 Pattern patternFilter = Pattern.compile(nextArg);
                 parsedFilters.add(patternFilter);
+            } else if (arg.equals("--shard")) {
+                shardSpec = args.remove(0);
+            } else if (arg.equals("--shard-timings")) {
+                parsedShardTimingsPaths.add(args.remove(0));
+            } else if (arg.equals("--order-by-timings")) {
+                orderByTimingsPath = args.remove(0);
+            } else if (arg.equals("--watch")) {
+                watch = true;
             } else if (arg.startsWith("-")) {
                 printUsage();
                 throw new CucumberException("Unknown option: " + arg);
@@ -158,6 +177,13 @@ public class RuntimeOptions {
             glue.clear();
             glue.addAll(parsedGlue);
         }
+        if (!parsedShardTimingsPaths.isEmpty()) {
+            shardTimingsPaths.clear();
+            shardTimingsPaths.addAll(parsedShardTimingsPaths);
+        }
+        if (shardSpec != null) {
+            shard = FeatureShard.parse(shardSpec, shardTimingsPaths);
+        }
     }
 
     private void addPluginName(String name) {
@@ -190,7 +216,10 @@ public class RuntimeOptions {
         featurePaths.addAll(newPaths);
     }
 
-    private void printUsage() {
+    /**
+     * Prints the command line usage to <code>System.out</code>.
+     */
+    public static void printUsage() {
         loadUsageTextIfNeeded();
         System.out.println(usageText);
     }
@@ -206,7 +235,13 @@ public class RuntimeOptions {
         }
     }
 
-    private int printI18n(String language) {
+    /**
+     * Prints the keywords of a language, or the codes of all languages for <code>help</code>, to <code>System.out</code>.
+     *
+     * @param language an ISO language code, or <code>help</code>.
+     * @return 0, or 1 if there is no such language.
+     */
+    public static int printI18n(String language) {
         List<I18n> all = I18n.getAll();
 
         if (language.equalsIgnoreCase("help")) {
@@ -219,7 +254,7 @@ public class RuntimeOptions {
         }
     }
 
-    private int printKeywordsFor(String language, List<I18n> all) {
+    private static int printKeywordsFor(String language, List<I18n> all) {
         for (I18n i18n : all) {
             if (i18n.getIsoCode().equalsIgnoreCase(language)) {
                 System.out.println(i18n.getKeywordTable());
@@ -232,7 +267,11 @@ public class RuntimeOptions {
     }
 
     public List<CucumberFeature> cucumberFeatures(ResourceLoader resourceLoader) {
-        return load(resourceLoader, featurePaths, filters, System.out);
+        List<CucumberFeature> cucumberFeatures = load(resourceLoader, featurePaths, filters, shard, System.out);
+        if (orderByTimingsPath != null) {
+            ScenarioTimings.read(new File(orderByTimingsPath)).sortLongestFirst(cucumberFeatures);
+        }
+        return cucumberFeatures;
     }
 
     List<Object> getPlugins() {
@@ -256,12 +295,20 @@ public class RuntimeOptions {
         return plugins;
     }
 
+    /**
+     * @param classLoader not used, the formatter calls the plugins directly.
+     * @return a formatter that passes events on to all the formatter plugins. It is the same for every call.
+     */
     public Formatter formatter(ClassLoader classLoader) {
-        return pluginProxy(classLoader, Formatter.class);
+        return formatter;
     }
 
+    /**
+     * @param classLoader not used, the reporter calls the plugins directly.
+     * @return a reporter that passes events on to all the reporter plugins. It is the same for every call.
+     */
     public Reporter reporter(ClassLoader classLoader) {
-        return pluginProxy(classLoader, Reporter.class);
+        return reporter;
     }
 
     public StepDefinitionReporter stepDefinitionReporter(ClassLoader classLoader) {
@@ -340,10 +387,24 @@ public class RuntimeOptions {
         return filters;
     }
 
+    /**
+     * @return the shard to run, or null to run all the features.
+     */
+    public FeatureShard getShard() {
+        return shard;
+    }
+
     public boolean isMonochrome() {
         return monochrome;
     }
 
+    /**
+     * @return whether to keep running, and run the features again when they or the glue change.
+     */
+    public boolean isWatch() {
+        return watch;
+    }
+
     public SnippetType getSnippetType() {
         return snippetType;
     }
@@ -22,7 +22,12 @@ public class RuntimeOptionsFactory {
 
     public RuntimeOptions create() {
         List<String> args = buildArgsFromOptions();
-        return new RuntimeOptions(args);
+        RuntimeOptions runtimeOptions = new RuntimeOptions(args);
+        if (runtimeOptions.isWatch()) {
+            // Set through cucumber.options, which is shared with the command line
+            throw new CucumberException("--watch only applies to the command line runner");
+        }
+        return runtimeOptions;
     }
 
     private List<String> buildArgsFromOptions() {
@@ -166,6 +166,19 @@ class Stats {
         }
     }
 
+    /**
+     * Adds the counts, durations and scenarios of another run.
+     */
+    public void addAll(Stats other) {
+        scenarioSubCounts.addAll(other.scenarioSubCounts);
+        stepSubCounts.addAll(other.stepSubCounts);
+        totalDuration += other.totalDuration;
+        failedScenarios.addAll(other.failedScenarios);
+        pendingScenarios.addAll(other.pendingScenarios);
+        undefinedScenarios.addAll(other.undefinedScenarios);
+        passedScenarios.addAll(other.passedScenarios);
+    }
+
     class SubCounts {
         public int passed = 0;
         public int failed = 0;
@@ -176,5 +189,13 @@ class Stats {
         public int getTotal() {
             return passed + failed + skipped + pending + undefined;
         }
+
+        void addAll(SubCounts other) {
+            passed += other.passed;
+            failed += other.failed;
+            skipped += other.skipped;
+            pending += other.pending;
+            undefined += other.undefined;
+        }
     }
 }
@@ -0,0 +1,215 @@
+package cucumber.runtime;
+
+import gherkin.formatter.Argument;
+import gherkin.formatter.model.Step;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Remembers which step definitions match the text of a step, and with which arguments, so that a text that comes up
+ * again isn't matched against every step definition again. This makes the steps that are only matched to be
+ * reported, such as the steps skipped after a failure and the steps of a dry run, cheap when the same steps are used
+ * in many scenarios.
+ * <p>
+ * Step definitions match on the name of a step only, so steps with the same name get the same matches. The table
+ * only holds the most recently used texts, the ones linked ahead of time included. It is thrown away whenever the
+ * step definitions change.
+ */
+class StepMatchTable {
+    static final int MAX_TEXTS = 4096;
+    private static final int MIN_TEXTS_PER_THREAD = 64;
+
+    private final Map<String, Matched[]> table = new LinkedHashMap<String, Matched[]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Matched[]> eldest) {
+            return size() > MAX_TEXTS;
+        }
+    };
+    private Map<String, StepDefinition> stepDefinitions;
+    private int stepDefinitionCount;
+
+    /**
+     * @param stepDefinitions the step definitions, in the order they should be reported in.
+     * @param step            the step to match.
+     * @return the step definitions that match the step, with their arguments.
+     */
+    synchronized Matched[] matching(Map<String, StepDefinition> stepDefinitions, Step step) {
+        useStepDefinitions(stepDefinitions);
+        Matched[] matched = table.get(step.getName());
+        if (matched == null) {
+            matched = match(stepDefinitions.values(), step);
+            table.put(step.getName(), matched);
+        }
+        return matched;
+    }
+
+    /**
+     * Matches the texts of steps that are about to run up front, so that running them only has to look their
+     * matches up. Step definitions that match with a JDK pattern are matched on a number of threads, the others on
+     * the calling thread. No more texts are linked than the table holds. A text a step definition fails to match is
+     * left to be matched, and to fail, when its step runs.
+     *
+     * @param stepDefinitions the step definitions, in the order they should be reported in.
+     * @param steps           the steps to link.
+     * @param threads         the number of threads to match on.
+     */
+    void link(Map<String, StepDefinition> stepDefinitions, Collection<Step> steps, int threads) {
+        Map<String, Step> stepsByText = new LinkedHashMap<String, Step>();
+        for (Step step : steps) {
+            if (stepsByText.size() == MAX_TEXTS) {
+                break;
+            }
+            if (!stepsByText.containsKey(step.getName())) {
+                stepsByText.put(step.getName(), step);
+            }
+        }
+        final List<Step> texts = new ArrayList<Step>(stepsByText.values());
+        final List<StepDefinition> definitions = new ArrayList<StepDefinition>(stepDefinitions.values());
+        final List<StepDefinition> concurrent = new ArrayList<StepDefinition>();
+        for (StepDefinition stepDefinition : definitions) {
+            if (isMatchedConcurrently(stepDefinition)) {
+                concurrent.add(stepDefinition);
+            }
+        }
+        final Matched[][] matched = new Matched[texts.size()][];
+        final int slices = concurrent.isEmpty() ? 1 : Math.max(1, Math.min(threads, texts.size() / MIN_TEXTS_PER_THREAD));
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(slices);
+        for (int slice = 0; slice < slices; slice++) {
+            final int first = slice;
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    for (int i = first; i < matched.length; i += slices) {
+                        try {
+                            matched[i] = match(concurrent, texts.get(i));
+                        } catch (RuntimeException ignore) {
+                            // matched again when the step runs, which reports the failure
+                        }
+                    }
+                    return null;
+                }
+            });
+        }
+        run(tasks);
+        if (concurrent.size() < definitions.size()) {
+            for (int i = 0; i < matched.length; i++) {
+                if (matched[i] != null) {
+                    try {
+                        matched[i] = matchOnThisThread(definitions, matched[i], texts.get(i));
+                    } catch (RuntimeException ignore) {
+                        // matched again when the step runs, which reports the failure
+                        matched[i] = null;
+                    }
+                }
+            }
+        }
+
+        synchronized (this) {
+            useStepDefinitions(stepDefinitions);
+            for (int i = 0; i < matched.length; i++) {
+                if (matched[i] != null) {
+                    table.put(texts.get(i).getName(), matched[i]);
+                }
+            }
+        }
+    }
+
+    private static void run(List<Callable<Void>> tasks) {
+        if (tasks.size() == 1) {
+            try {
+                tasks.get(0).call();
+            } catch (Exception e) {
+                throw new CucumberException(e);
+            }
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "cucumber-link");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            for (Future<Void> task : executor.invokeAll(tasks)) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CucumberException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new CucumberException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void useStepDefinitions(Map<String, StepDefinition> stepDefinitions) {
+        if (stepDefinitions != this.stepDefinitions || stepDefinitions.size() != stepDefinitionCount) {
+            this.stepDefinitions = stepDefinitions;
+            this.stepDefinitionCount = stepDefinitions.size();
+            table.clear();
+        }
+    }
+
+    private static Matched[] match(Collection<StepDefinition> stepDefinitions, Step step) {
+        List<Matched> matches = new ArrayList<Matched>(1);
+        for (StepDefinition stepDefinition : stepDefinitions) {
+            List<Argument> arguments = stepDefinition.matchedArguments(step);
+            if (arguments != null) {
+                matches.add(new Matched(stepDefinition, arguments));
+            }
+        }
+        return matches.toArray(new Matched[matches.size()]);
+    }
+
+    /**
+     * Adds the matches of the step definitions that can't be matched on other threads, such as the ones that call
+     * into a script interpreter, to the matches found on the link threads, keeping the order of the step definitions.
+     */
+    private static Matched[] matchOnThisThread(List<StepDefinition> stepDefinitions, Matched[] concurrentlyMatched, Step step) {
+        List<Matched> matches = new ArrayList<Matched>(concurrentlyMatched.length + 1);
+        int next = 0;
+        for (StepDefinition stepDefinition : stepDefinitions) {
+            if (isMatchedConcurrently(stepDefinition)) {
+                if (next < concurrentlyMatched.length && concurrentlyMatched[next].stepDefinition == stepDefinition) {
+                    matches.add(concurrentlyMatched[next++]);
+                }
+            } else {
+                List<Argument> arguments = stepDefinition.matchedArguments(step);
+                if (arguments != null) {
+                    matches.add(new Matched(stepDefinition, arguments));
+                }
+            }
+        }
+        return matches.toArray(new Matched[matches.size()]);
+    }
+
+    private static boolean isMatchedConcurrently(StepDefinition stepDefinition) {
+        return stepDefinition instanceof JdkPatternStepDefinition && ((JdkPatternStepDefinition) stepDefinition).isMatchedByJdkPattern();
+    }
+
+    static class Matched {
+        final StepDefinition stepDefinition;
+        final List<Argument> arguments;
+
+        Matched(StepDefinition stepDefinition, List<Argument> arguments) {
+            this.stepDefinition = stepDefinition;
+            this.arguments = arguments;
+        }
+    }
+}
@@ -1,13 +1,28 @@
 package cucumber.runtime;
 
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class Timeout {
+    // A single daemon timer thread is shared by all timeouts, rather than starting a scheduler for every step.
+    private static final ScheduledThreadPoolExecutor SCHEDULER = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "cucumber-timeout");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    static {
+        SCHEDULER.setKeepAliveTime(1, TimeUnit.SECONDS);
+        SCHEDULER.allowCoreThreadTimeOut(true);
+    }
+
     public static <T> T timeout(Callback<T> callback, long timeoutMillis) throws Throwable {
         if (timeoutMillis == 0) {
             return callback.call();
@@ -15,8 +30,7 @@ public class Timeout {
             final Thread executionThread = Thread.currentThread();
             final AtomicBoolean done = new AtomicBoolean();
 
-            ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
-            ScheduledFuture<?> timer = executorService.schedule(new Runnable() {
+            ScheduledFuture<?> timer = SCHEDULER.schedule(new Runnable() {
                 @Override
                 public void run() {
                     if (!done.get()) {
@@ -31,7 +45,8 @@ public class Timeout {
             } finally {
                 done.set(true);
                 timer.cancel(true);
-                executorService.shutdownNow();
+                // Cancelled timers would otherwise stay queued until they expire.
+                SCHEDULER.remove((Runnable) timer);
             }
 
         }
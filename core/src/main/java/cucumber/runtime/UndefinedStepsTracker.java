@@ -18,6 +18,11 @@ public class UndefinedStepsTracker {
         lastGivenWhenThenStepKeyword = null;
     }
 
+    void clear() {
+        undefinedSteps.clear();
+        reset();
+    }
+
     /**
      * @param backends              what backends we want snippets for
      * @param functionNameGenerator responsible for generating method name
@@ -78,6 +83,13 @@ public class UndefinedStepsTracker {
         }
     }
 
+    /**
+     * Adds the undefined steps another tracker found.
+     */
+    public void addUndefinedSteps(UndefinedStepsTracker other) {
+        undefinedSteps.addAll(other.undefinedSteps);
+    }
+
     public boolean hasUndefinedSteps() {
         return !undefinedSteps.isEmpty();
     }
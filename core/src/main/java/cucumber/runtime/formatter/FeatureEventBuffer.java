@@ -0,0 +1,249 @@
+package cucumber.runtime.formatter;
+
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+import gherkin.formatter.model.Background;
+import gherkin.formatter.model.Examples;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Match;
+import gherkin.formatter.model.Result;
+import gherkin.formatter.model.Scenario;
+import gherkin.formatter.model.ScenarioOutline;
+import gherkin.formatter.model.Step;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds back the formatter and reporter events of a feature until the end of the feature, and then passes them on
+ * in one go, so that features that run at the same time don't mix up their output. Anything that ends with
+ * <code>eof</code>, such as a single scenario framed by <code>uri</code>, <code>feature</code> and <code>eof</code>,
+ * can be buffered the same way. Events that don't end with <code>eof</code> are passed on by {@link #flush()}.
+ */
+public class FeatureEventBuffer implements Formatter, Reporter {
+    private final Formatter formatter;
+    private final Reporter reporter;
+    private final Object lock;
+    private final List<Event> events = new ArrayList<Event>();
+
+    /**
+     * @param formatter the formatter to pass the events on to.
+     * @param reporter  the reporter to pass the events on to.
+     * @param lock      held while the events are passed on.
+     */
+    public FeatureEventBuffer(Formatter formatter, Reporter reporter, Object lock) {
+        this.formatter = formatter;
+        this.reporter = reporter;
+        this.lock = lock;
+    }
+
+    /**
+     * Passes on the events held back so far.
+     */
+    public void flush() {
+        try {
+            synchronized (lock) {
+                for (Event event : events) {
+                    event.replay(formatter, reporter);
+                }
+            }
+        } finally {
+            events.clear();
+        }
+    }
+
+    @Override
+    public void syntaxError(final String state, final String event, final List<String> legalEvents, final String uri, final Integer line) {
+        events.add(new Event() {
+            @Override
+            void replay(Formatter formatter, Reporter reporter) {
+                formatter.syntaxError(state, event, legalEvents, uri, line);
+            }
+        });
+    }
+
+    @Override
+    public void uri(final String uri) {
+        events.add(new Event() {
+            @Override
+            void replay(Formatter formatter, Reporter reporter) {
+                formatter.uri(uri);
+            }
+        });
+    }
+
+    @Override
+    public void feature(final Feature feature) {
+        events.add(new Event() {
+            @Override
+            void replay(Formatter formatter, Reporter reporter) {
+                formatter.feature(feature);
+            }
+        });
+    }
+
+    @Override
+    public void scenarioOutline(final ScenarioOutline scenarioOutline) {
+        events.add(new Event() {
+            @Override
+            void replay(Formatter formatter, Reporter reporter) {
+                formatter.scenarioOutline(scenarioOutline);
+            }
+        });
+    }
+
+    @Override
+    public void examples(final Examples examples) {
+        events.add(new Event() {
+            @Override
+            void replay(Formatter formatter, Reporter reporter) {
+                formatter.examples(examples);
+            }
+        });
+    }
+
+    @Override
+    public void startOfScenarioLifeCycle(final Scenario scenario) {
+        events.add(new Event() {
+            @Override
+            void replay(Formatter formatter, Reporter reporter) {
+                formatter.startOfScenarioLifeCycle(scenario);
+            }
+        });
+    }
+
+    @Override
+    public void background(final Background background) {
+        events.add(new Event() {
+            @Override
+            void replay(Formatter formatter, Reporter reporter) {
+                formatter.background(background);
+            }
+        });
+    }
+
+    @Override
+    public void scenario(final Scenario scenario) {
+        events.add(new Event() {
+            @Override
+            void replay(Formatter formatter, Reporter reporter) {
+                formatter.scenario(scenario);
+            }
+        });
+    }
+
+    @Override
+    public void step(final Step step) {
+        events.add(new Event() {
+            @Override
+            void replay(Formatter formatter, Reporter reporter) {
+                formatter.step(step);
+            }
+        });
+    }
+
+    @Override
+    public void endOfScenarioLifeCycle(final Scenario scenario) {
+        events.add(new Event() {
+            @Override
+            void replay(Formatter formatter, Reporter reporter) {
+                formatter.endOfScenarioLifeCycle(scenario);
+            }
+        });
+    }
+
+    @Override
+    public void done() {
+        events.add(new Event() {
+            @Override
+            void replay(Formatter formatter, Reporter reporter) {
+                formatter.done();
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        events.add(new Event() {
+            @Override
+            void replay(Formatter formatter, Reporter reporter) {
+                formatter.close();
+            }
+        });
+    }
+
+    @Override
+    public void eof() {
+        events.add(new Event() {
+            @Override
+            void replay(Formatter formatter, Reporter reporter) {
+                formatter.eof();
+            }
+        });
+        flush();
+    }
+
+    @Override
+    public void before(final Match match, final Result result) {
+        events.add(new Event() {
+            @Override
+            void replay(Formatter formatter, Reporter reporter) {
+                reporter.before(match, result);
+            }
+        });
+    }
+
+    @Override
+    public void result(final Result result) {
+        events.add(new Event() {
+            @Override
+            void replay(Formatter formatter, Reporter reporter) {
+                reporter.result(result);
+            }
+        });
+    }
+
+    @Override
+    public void after(final Match match, final Result result) {
+        events.add(new Event() {
+            @Override
+            void replay(Formatter formatter, Reporter reporter) {
+                reporter.after(match, result);
+            }
+        });
+    }
+
+    @Override
+    public void match(final Match match) {
+        events.add(new Event() {
+            @Override
+            void replay(Formatter formatter, Reporter reporter) {
+                reporter.match(match);
+            }
+        });
+    }
+
+    @Override
+    public void embedding(final String mimeType, final byte[] data) {
+        events.add(new Event() {
+            @Override
+            void replay(Formatter formatter, Reporter reporter) {
+                reporter.embedding(mimeType, data);
+            }
+        });
+    }
+
+    @Override
+    public void write(final String text) {
+        events.add(new Event() {
+            @Override
+            void replay(Formatter formatter, Reporter reporter) {
+                reporter.write(text);
+            }
+        });
+    }
+
+    private static abstract class Event {
+        abstract void replay(Formatter formatter, Reporter reporter);
+    }
+}
@@ -0,0 +1,128 @@
+package cucumber.runtime.formatter;
+
+import cucumber.runtime.model.ScenarioTimings;
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+import gherkin.formatter.model.Background;
+import gherkin.formatter.model.Examples;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Match;
+import gherkin.formatter.model.Result;
+import gherkin.formatter.model.Scenario;
+import gherkin.formatter.model.ScenarioOutline;
+import gherkin.formatter.model.Step;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Records how long each scenario took, including its hooks and background, in a {@link ScenarioTimings} file. The
+ * timings of the scenarios that didn't run are kept, so the file can be shared by runs that each run part of the
+ * features. The next run can use the file to run the slowest scenarios first.
+ */
+class TimingsFormatter implements Formatter, Reporter {
+    private static final long NANOS_PER_MILLI = 1000000L;
+
+    private final File file;
+    private final ScenarioTimings timings = new ScenarioTimings();
+    private String uri;
+    private long scenarioDuration;
+
+    public TimingsFormatter(File file) {
+        this.file = file;
+    }
+
+    @Override
+    public void uri(String uri) {
+        this.uri = uri;
+    }
+
+    @Override
+    public void startOfScenarioLifeCycle(Scenario scenario) {
+        scenarioDuration = 0;
+    }
+
+    @Override
+    public void endOfScenarioLifeCycle(Scenario scenario) {
+        timings.record(uri, scenario.getLine(), scenarioDuration / NANOS_PER_MILLI);
+    }
+
+    @Override
+    public void before(Match match, Result result) {
+        add(result);
+    }
+
+    @Override
+    public void result(Result result) {
+        add(result);
+    }
+
+    @Override
+    public void after(Match match, Result result) {
+        add(result);
+    }
+
+    private void add(Result result) {
+        if (result.getDuration() != null) {
+            scenarioDuration += result.getDuration();
+        }
+    }
+
+    @Override
+    public void done() {
+        if (!timings.isEmpty()) {
+            // Read again now, in case another run updated the file in the meantime
+            ScenarioTimings merged = ScenarioTimings.read(file);
+            merged.putAll(timings);
+            merged.write(file);
+        }
+    }
+
+    @Override
+    public void feature(Feature feature) {
+    }
+
+    @Override
+    public void background(Background background) {
+    }
+
+    @Override
+    public void scenario(Scenario scenario) {
+    }
+
+    @Override
+    public void scenarioOutline(ScenarioOutline scenarioOutline) {
+    }
+
+    @Override
+    public void examples(Examples examples) {
+    }
+
+    @Override
+    public void step(Step step) {
+    }
+
+    @Override
+    public void eof() {
+    }
+
+    @Override
+    public void syntaxError(String state, String event, List<String> legalEvents, String uri, Integer line) {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void match(Match match) {
+    }
+
+    @Override
+    public void embedding(String mimeType, byte[] data) {
+    }
+
+    @Override
+    public void write(String text) {
+    }
+}
@@ -0,0 +1,133 @@
+package cucumber.runtime.io;
+
+import cucumber.runtime.CucumberException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Polls the resources at a number of paths for the ones that were added, changed or removed since the last poll.
+ * Only resources that are files are watched; the ones in jars don't change while Cucumber runs.
+ * <p>
+ * A file whose modification time or length changed but whose content is the same, say because it was saved
+ * without changes, doesn't count as changed.
+ */
+public class ResourceWatcher {
+    private final ResourceLoader resourceLoader;
+    private final List<String> paths;
+    private final String suffix;
+    private final MessageDigest md5;
+    private Map<String, Stamp> stamps = new HashMap<String, Stamp>();
+
+    /**
+     * @param resourceLoader loads the resources.
+     * @param paths          the paths to watch.
+     * @param suffix         the suffix of the resources to watch, or an empty string to watch all of them.
+     */
+    public ResourceWatcher(ResourceLoader resourceLoader, List<String> paths, String suffix) {
+        this.resourceLoader = resourceLoader;
+        this.paths = paths;
+        this.suffix = suffix;
+        try {
+            this.md5 = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new CucumberException(e);
+        }
+    }
+
+    /**
+     * @return the paths of the resources that were added, changed or removed since the last poll, with
+     * <code>/</code> as the separator. The first poll returns all the resources.
+     */
+    public Set<String> poll() {
+        Map<String, Stamp> current = new HashMap<String, Stamp>();
+        Set<String> changed = new TreeSet<String>();
+        for (String path : paths) {
+            for (Resource resource : resources(path)) {
+                File file = new File(resource.getAbsolutePath());
+                if (!file.isFile()) {
+                    continue;
+                }
+                String resourcePath = resource.getPath().replace(File.separatorChar, '/');
+                Stamp previous = stamps.get(resourcePath);
+                Stamp stamp = new Stamp(file.lastModified(), file.length());
+                if (previous != null && previous.isSameFile(stamp) && !previous.checksum.isEmpty()) {
+                    stamp.checksum = previous.checksum;
+                } else {
+                    stamp.checksum = checksum(resource);
+                    if (previous == null || !previous.checksum.equals(stamp.checksum)) {
+                        changed.add(resourcePath);
+                    }
+                }
+                current.put(resourcePath, stamp);
+            }
+        }
+        for (String removed : stamps.keySet()) {
+            if (!current.containsKey(removed)) {
+                changed.add(removed);
+            }
+        }
+        stamps = current;
+        return changed;
+    }
+
+    private List<Resource> resources(String path) {
+        try {
+            // Iterate here, as a path that doesn't exist only fails once iterated over
+            List<Resource> resources = new ArrayList<Resource>();
+            for (Resource resource : resourceLoader.resources(path, suffix)) {
+                resources.add(resource);
+            }
+            return resources;
+        } catch (IllegalArgumentException e) {
+            // The path was removed, so its resources were too
+            return Collections.emptyList();
+        }
+    }
+
+    private String checksum(Resource resource) {
+        try {
+            InputStream input = resource.getInputStream();
+            try {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    md5.update(buffer, 0, read);
+                }
+            } finally {
+                input.close();
+            }
+            return new BigInteger(1, md5.digest()).toString(16);
+        } catch (IOException e) {
+            // Probably being written. Treated as changed, and read again on the next poll.
+            md5.reset();
+            return "";
+        }
+    }
+
+    private static class Stamp {
+        private final long lastModified;
+        private final long length;
+        private String checksum;
+
+        Stamp(long lastModified, long length) {
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        boolean isSameFile(Stamp other) {
+            return lastModified == other.lastModified && length == other.length;
+        }
+    }
+}
@@ -6,13 +6,17 @@ import gherkin.formatter.model.ExamplesTableRow;
 import gherkin.formatter.model.Tag;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 public class CucumberExamples {
     private final CucumberScenarioOutline cucumberScenarioOutline;
     private final Examples examples;
+    private CucumberScenarioOutline.ExampleTemplate template;
 
     public CucumberExamples(CucumberScenarioOutline cucumberScenarioOutline, Examples examples) {
         this.cucumberScenarioOutline = cucumberScenarioOutline;
@@ -21,15 +25,65 @@ public class CucumberExamples {
 
     public List<CucumberScenario> createExampleScenarios() {
         List<CucumberScenario> exampleScenarios = new ArrayList<CucumberScenario>();
-
-        List<ExamplesTableRow> rows = examples.getRows();
-        List<Tag> tags = new ArrayList<Tag>(tagsAndInheritedTags());
-        for (int i = 1; i < rows.size(); i++) {
-            exampleScenarios.add(cucumberScenarioOutline.createExampleScenario(rows.get(0), rows.get(i), tags, examples.getDescription()));
+        for (CucumberScenario exampleScenario : exampleScenarios()) {
+            exampleScenarios.add(exampleScenario);
         }
         return exampleScenarios;
     }
 
+    /**
+     * @return the scenarios of the example rows, created one at a time as they are iterated over.
+     */
+    public Iterable<CucumberScenario> exampleScenarios() {
+        return new Iterable<CucumberScenario>() {
+            @Override
+            public Iterator<CucumberScenario> iterator() {
+                final List<ExamplesTableRow> rows = examples.getRows();
+                if (rows.isEmpty()) {
+                    return Collections.<CucumberScenario>emptyList().iterator();
+                }
+                final CucumberScenarioOutline.ExampleTemplate template = template();
+                return new Iterator<CucumberScenario>() {
+                    private int row = 1;
+
+                    @Override
+                    public boolean hasNext() {
+                        return row < rows.size();
+                    }
+
+                    @Override
+                    public CucumberScenario next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return template.createExampleScenario(rows.get(row++));
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * @param example one of the example rows, not the header.
+     * @return the scenario of the example row.
+     */
+    public CucumberScenario createExampleScenario(ExamplesTableRow example) {
+        return template().createExampleScenario(example);
+    }
+
+    private CucumberScenarioOutline.ExampleTemplate template() {
+        if (template == null) {
+            template = cucumberScenarioOutline.createExampleTemplate(
+                    examples.getRows().get(0), tagsAndInheritedTags(), examples.getDescription());
+        }
+        return template;
+    }
+
     private Set<Tag> tagsAndInheritedTags() {
         Set<Tag> tags = new HashSet<Tag>();
         tags.addAll(cucumberScenarioOutline.tagsAndInheritedTags());
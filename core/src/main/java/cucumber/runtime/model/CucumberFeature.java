@@ -14,16 +14,20 @@ import gherkin.formatter.model.Feature;
 import gherkin.formatter.model.Scenario;
 import gherkin.formatter.model.ScenarioOutline;
 import gherkin.formatter.model.Step;
+import gherkin.formatter.model.Tag;
 
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class CucumberFeature {
     private final String path;
     private final Feature feature;
+    private final Set<Tag> tags;
     private CucumberBackground cucumberBackground;
     private StepContainer currentStepContainer;
     private final List<CucumberTagStatement> cucumberTagStatements = new ArrayList<CucumberTagStatement>();
@@ -31,7 +35,16 @@ public class CucumberFeature {
     private CucumberScenarioOutline currentScenarioOutline;
 
     public static List<CucumberFeature> load(ResourceLoader resourceLoader, List<String> featurePaths, final List<Object> filters, PrintStream out) {
-        final List<CucumberFeature> cucumberFeatures = load(resourceLoader, featurePaths, filters);
+        return load(resourceLoader, featurePaths, filters, null, out);
+    }
+
+    /**
+     * Loads the features, keeping only the scenarios of a shard.
+     *
+     * @param shard the shard to keep, or null to keep all the scenarios.
+     */
+    public static List<CucumberFeature> load(ResourceLoader resourceLoader, List<String> featurePaths, final List<Object> filters, FeatureShard shard, PrintStream out) {
+        List<CucumberFeature> cucumberFeatures = load(resourceLoader, featurePaths, filters);
         if (cucumberFeatures.isEmpty()) {
             if (featurePaths.isEmpty()) {
                 out.println(String.format("Got no path to feature directory or feature file"));
@@ -40,6 +53,11 @@ public class CucumberFeature {
             } else {
                 out.println(String.format("None of the features at %s matched the filters: %s", featurePaths, filters));
             }
+        } else if (shard != null) {
+            cucumberFeatures = shard.select(cucumberFeatures);
+            if (cucumberFeatures.isEmpty()) {
+                out.println(String.format("No scenarios at %s fall in shard %s", featurePaths, shard));
+            }
         }
         return cucumberFeatures;
     }
@@ -108,6 +126,7 @@ public class CucumberFeature {
     public CucumberFeature(Feature feature, String path) {
         this.feature = feature;
         this.path = path;
+        this.tags = Collections.unmodifiableSet(new HashSet<Tag>(feature.getTags()));
     }
 
     public void background(Background background) {
@@ -140,6 +159,13 @@ public class CucumberFeature {
         return feature;
     }
 
+    /**
+     * @return the tags of the feature, shared by the scenarios that have no tags of their own.
+     */
+    Set<Tag> getTags() {
+        return tags;
+    }
+
     public List<CucumberTagStatement> getFeatureElements() {
         return cucumberTagStatements;
     }
@@ -20,7 +20,11 @@ public class CucumberScenario extends CucumberTagStatement {
     }
 
     public CucumberScenario(CucumberFeature cucumberFeature, CucumberBackground cucumberBackground, Scenario exampleScenario, Row example) {
-        super(cucumberFeature, exampleScenario, example);
+        this(cucumberFeature, cucumberBackground, exampleScenario, example, null);
+    }
+
+    CucumberScenario(CucumberFeature cucumberFeature, CucumberBackground cucumberBackground, Scenario exampleScenario, Row example, Set<Tag> tagsAndInheritedTags) {
+        super(cucumberFeature, exampleScenario, example, tagsAndInheritedTags);
         this.cucumberBackground = cucumberBackground;
         this.scenario = exampleScenario;
     }
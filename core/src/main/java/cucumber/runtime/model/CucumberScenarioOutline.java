@@ -15,6 +15,7 @@ import gherkin.formatter.model.Step;
 import gherkin.formatter.model.Tag;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -36,13 +37,16 @@ public class CucumberScenarioOutline extends CucumberTagStatement {
         return cucumberExamplesList;
     }
 
+    public CucumberBackground getCucumberBackground() {
+        return cucumberBackground;
+    }
+
     @Override
     public void run(Formatter formatter, Reporter reporter, Runtime runtime) {
         formatOutlineScenario(formatter);
         for (CucumberExamples cucumberExamples : cucumberExamplesList) {
             cucumberExamples.format(formatter);
-            List<CucumberScenario> exampleScenarios = cucumberExamples.createExampleScenarios();
-            for (CucumberScenario exampleScenario : exampleScenarios) {
+            for (CucumberScenario exampleScenario : cucumberExamples.exampleScenarios()) {
                 exampleScenario.run(formatter, reporter, runtime);
             }
         }
@@ -52,88 +56,147 @@ public class CucumberScenarioOutline extends CucumberTagStatement {
         format(formatter);
     }
 
+    ExampleTemplate createExampleTemplate(ExamplesTableRow header, Set<Tag> examplesTags, String examplesDescription) {
+        return new ExampleTemplate(header, examplesTags, examplesDescription);
+    }
+
     CucumberScenario createExampleScenario(ExamplesTableRow header, ExamplesTableRow example, List<Tag> examplesTags, String examplesDescription) {
-        // Make sure we replace the tokens in the name of the scenario
-        String exampleScenarioName = replaceTokens(new HashSet<Integer>(), header.getCells(), example.getCells(), getGherkinModel().getName());
-        String exampleScenarioDescription = createExampleScenarioDescription(getGherkinModel().getDescription(), examplesDescription);
-
-        Scenario exampleScenario = new Scenario(example.getComments(), examplesTags, getGherkinModel().getKeyword(), exampleScenarioName, exampleScenarioDescription, example.getLine(), example.getId());
-        CucumberScenario cucumberScenario = new CucumberScenario(cucumberFeature, cucumberBackground, exampleScenario, example);
-        for (Step step : getSteps()) {
-            cucumberScenario.step(createExampleStep(step, header, example));
-        }
-        return cucumberScenario;
+        return createExampleTemplate(header, new HashSet<Tag>(examplesTags), examplesDescription).createExampleScenario(example);
     }
 
     static ExampleStep createExampleStep(Step step, ExamplesTableRow header, ExamplesTableRow example) {
-        Set<Integer> matchedColumns = new HashSet<Integer>();
-        List<String> headerCells = header.getCells();
-        List<String> exampleCells = example.getCells();
-
-        // Create a step with replaced tokens
-        String name = replaceTokens(matchedColumns, headerCells, exampleCells, step.getName());
-        if (name.isEmpty()) {
-            throw new CucumberException("Step generated from scenario outline '" + step.getName() + "' is empty");
-        }
-
-        return new ExampleStep(
-                step.getComments(),
-                step.getKeyword(),
-                name,
-                step.getLine(),
-                rowsWithTokensReplaced(step.getRows(), headerCells, exampleCells, matchedColumns),
-                docStringWithTokensReplaced(step.getDocString(), headerCells, exampleCells, matchedColumns),
-                matchedColumns);
+        return new StepTemplate(step, header.getCells()).createExampleStep(header.getCells(), example.getCells());
     }
 
-    private static List<DataTableRow> rowsWithTokensReplaced(List<DataTableRow> rows, List<String> headerCells, List<String> exampleCells, Set<Integer> matchedColumns) {
-        if (rows != null) {
-            List<DataTableRow> newRows = new ArrayList<DataTableRow>(rows.size());
-            for (Row row : rows) {
-                List<String> newCells = new ArrayList<String>(row.getCells().size());
-                for (String cell : row.getCells()) {
-                    newCells.add(replaceTokens(matchedColumns, headerCells, exampleCells, cell));
-                }
-                newRows.add(new DataTableRow(row.getComments(), newCells, row.getLine()));
+    private String createExampleScenarioDescription(String scenarioOutlineDescription, String examplesDescription) {
+        if (!examplesDescription.isEmpty()) {
+            if (!scenarioOutlineDescription.isEmpty()) {
+                return scenarioOutlineDescription + ", " + examplesDescription;
+            } else {
+                return examplesDescription;
             }
-            return newRows;
         } else {
-            return null;
+            return scenarioOutlineDescription;
         }
     }
 
-    private static DocString docStringWithTokensReplaced(DocString docString, List<String> headerCells, List<String> exampleCells, Set<Integer> matchedColumns) {
-        if (docString != null) {
-            String docStringValue = replaceTokens(matchedColumns, headerCells, exampleCells, docString.getValue());
-            return new DocString(docString.getContentType(), docStringValue, docString.getLine());
-        } else {
-            return null;
+    /**
+     * The scenario of this outline for the header of an examples table. The text of the steps is split into
+     * literals and placeholders once, so creating the scenario of an example row is a single pass over each step.
+     */
+    class ExampleTemplate {
+        private final List<String> headerCells;
+        private final List<Tag> examplesTags;
+        private final Set<Tag> tagsAndInheritedTags;
+        private final OutlineText name;
+        private final String description;
+        private final List<StepTemplate> steps;
+
+        private ExampleTemplate(ExamplesTableRow header, Set<Tag> examplesTags, String examplesDescription) {
+            this.headerCells = header.getCells();
+            this.examplesTags = new ArrayList<Tag>(examplesTags);
+            this.tagsAndInheritedTags = Collections.unmodifiableSet(examplesTags);
+            this.name = OutlineText.parse(getGherkinModel().getName(), headerCells);
+            this.description = createExampleScenarioDescription(getGherkinModel().getDescription(), examplesDescription);
+            this.steps = new ArrayList<StepTemplate>(getSteps().size());
+            for (Step step : getSteps()) {
+                steps.add(new StepTemplate(step, headerCells));
+            }
         }
-    }
 
-    private static String replaceTokens(Set<Integer> matchedColumns, List<String> headerCells, List<String> exampleCells, String text) {
-        for (int col = 0; col < headerCells.size(); col++) {
-            String headerCell = headerCells.get(col);
-            String value = exampleCells.get(col);
-            String token = "<" + headerCell + ">";
+        CucumberScenario createExampleScenario(ExamplesTableRow example) {
+            // Make sure we replace the tokens in the name of the scenario
+            String exampleScenarioName = name.expand(headerCells, example.getCells(), new HashSet<Integer>());
 
-            if (text.contains(token)) {
-                text = text.replace(token, value);
-                matchedColumns.add(col);
+            Scenario exampleScenario = new Scenario(example.getComments(), examplesTags, getGherkinModel().getKeyword(), exampleScenarioName, description, example.getLine(), example.getId());
+            CucumberScenario cucumberScenario = new CucumberScenario(cucumberFeature, cucumberBackground, exampleScenario, example, tagsAndInheritedTags);
+            for (StepTemplate step : steps) {
+                cucumberScenario.step(step.createExampleStep(headerCells, example.getCells()));
             }
+            return cucumberScenario;
         }
-        return text;
     }
 
-    private String createExampleScenarioDescription(String scenarioOutlineDescription, String examplesDescription) {
-        if (!examplesDescription.isEmpty()) {
-            if (!scenarioOutlineDescription.isEmpty()) {
-                return scenarioOutlineDescription + ", " + examplesDescription;
+    private static class StepTemplate {
+        private final Step step;
+        private final OutlineText name;
+        private final List<List<OutlineText>> rows;
+        private final boolean literalRows;
+        private final OutlineText docString;
+
+        StepTemplate(Step step, List<String> headerCells) {
+            this.step = step;
+            this.name = OutlineText.parse(step.getName(), headerCells);
+            boolean literal = true;
+            if (step.getRows() != null) {
+                rows = new ArrayList<List<OutlineText>>(step.getRows().size());
+                for (Row row : step.getRows()) {
+                    List<OutlineText> cells = new ArrayList<OutlineText>(row.getCells().size());
+                    for (String cell : row.getCells()) {
+                        OutlineText outlineText = OutlineText.parse(cell, headerCells);
+                        literal &= outlineText.isLiteral();
+                        cells.add(outlineText);
+                    }
+                    rows.add(cells);
+                }
             } else {
-                return examplesDescription;
+                rows = null;
+            }
+            literalRows = literal;
+            docString = step.getDocString() != null ? OutlineText.parse(step.getDocString().getValue(), headerCells) : null;
+        }
+
+        ExampleStep createExampleStep(List<String> headerCells, List<String> exampleCells) {
+            Set<Integer> matchedColumns = new HashSet<Integer>();
+
+            // Create a step with replaced tokens
+            String exampleName = name.expand(headerCells, exampleCells, matchedColumns);
+            if (exampleName.isEmpty()) {
+                throw new CucumberException("Step generated from scenario outline '" + step.getName() + "' is empty");
+            }
+
+            return new ExampleStep(
+                    step.getComments(),
+                    step.getKeyword(),
+                    exampleName,
+                    step.getLine(),
+                    rowsWithTokensReplaced(headerCells, exampleCells, matchedColumns),
+                    docStringWithTokensReplaced(headerCells, exampleCells, matchedColumns),
+                    matchedColumns);
+        }
+
+        private List<DataTableRow> rowsWithTokensReplaced(List<String> headerCells, List<String> exampleCells, Set<Integer> matchedColumns) {
+            if (literalRows) {
+                // Tables without placeholders are the same for every example, so they are shared
+                return step.getRows();
+            }
+            if (rows != null) {
+                List<DataTableRow> newRows = new ArrayList<DataTableRow>(rows.size());
+                for (int i = 0; i < rows.size(); i++) {
+                    Row row = step.getRows().get(i);
+                    List<OutlineText> cells = rows.get(i);
+                    List<String> newCells = new ArrayList<String>(cells.size());
+                    for (OutlineText cell : cells) {
+                        newCells.add(cell.expand(headerCells, exampleCells, matchedColumns));
+                    }
+                    newRows.add(new DataTableRow(row.getComments(), newCells, row.getLine()));
+                }
+                return newRows;
+            } else {
+                return null;
+            }
+        }
+
+        private DocString docStringWithTokensReplaced(List<String> headerCells, List<String> exampleCells, Set<Integer> matchedColumns) {
+            if (docString != null && docString.isLiteral()) {
+                return step.getDocString();
+            }
+            if (docString != null) {
+                String docStringValue = docString.expand(headerCells, exampleCells, matchedColumns);
+                return new DocString(step.getDocString().getContentType(), docStringValue, step.getDocString().getLine());
+            } else {
+                return null;
             }
-        } else {
-            return scenarioOutlineDescription;
         }
     }
 }
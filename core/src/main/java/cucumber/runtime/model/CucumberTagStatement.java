@@ -15,20 +15,33 @@ import static gherkin.util.FixJava.join;
 public abstract class CucumberTagStatement extends StepContainer {
     private final TagStatement gherkinModel;
     private final String visualName;
+    private final Set<Tag> sharedTags;
 
     CucumberTagStatement(CucumberFeature cucumberFeature, TagStatement gherkinModel) {
         super(cucumberFeature, gherkinModel);
         this.gherkinModel = gherkinModel;
         this.visualName = gherkinModel.getKeyword() + ": " + gherkinModel.getName();
+        this.sharedTags = null;
     }
 
-    CucumberTagStatement(CucumberFeature cucumberFeature, TagStatement gherkinModel, Row example) {
+    CucumberTagStatement(CucumberFeature cucumberFeature, TagStatement gherkinModel, Row example, Set<Tag> tagsAndInheritedTags) {
         super(cucumberFeature, gherkinModel);
         this.gherkinModel = gherkinModel;
         this.visualName = "| " + join(example.getCells(), " | ") + " |";
+        this.sharedTags = tagsAndInheritedTags;
     }
 
+    /**
+     * @return the tags of this statement and of its feature. Statements without tags of their own, and the
+     * scenarios of an examples table, share a single unmodifiable set.
+     */
     protected Set<Tag> tagsAndInheritedTags() {
+        if (sharedTags != null) {
+            return sharedTags;
+        }
+        if (gherkinModel.getTags().isEmpty()) {
+            return cucumberFeature.getTags();
+        }
         Set<Tag> tags = new HashSet<Tag>();
         tags.addAll(cucumberFeature.getGherkinFeature().getTags());
         tags.addAll(gherkinModel.getTags());
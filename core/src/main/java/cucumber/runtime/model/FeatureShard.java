@@ -0,0 +1,285 @@
+package cucumber.runtime.model;
+
+import cucumber.runtime.CucumberException;
+import gherkin.deps.com.google.gson.Gson;
+import gherkin.deps.com.google.gson.JsonParseException;
+import gherkin.formatter.model.Examples;
+import gherkin.formatter.model.ExamplesTableRow;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Selects the scenarios one of several runs executes, so that a suite can be split over a number of machines
+ * that all load the same features. Scenarios and the rows of scenario outlines are assigned to shards by a stable
+ * hash of their feature path and line, so every run makes the same choice without talking to the others.
+ * <p>
+ * When the JSON reports of a previous run are given, the scenarios are instead spread over the shards by their
+ * duration in that run, longest first, so the shards take about the same time. Scenarios that weren't in the
+ * reports count as long as the average scenario that was.
+ */
+public class FeatureShard {
+    private final int index;
+    private final int count;
+    private final List<String> timingsPaths;
+
+    FeatureShard(int index, int count, List<String> timingsPaths) {
+        if (count < 1 || index < 1 || index > count) {
+            throw new CucumberException("Shard must be i/N with 1 <= i <= N, got " + index + "/" + count);
+        }
+        this.index = index;
+        this.count = count;
+        this.timingsPaths = timingsPaths;
+    }
+
+    /**
+     * @param shard        the shard, as <code>i/N</code>, where i is from 1 to N.
+     * @param timingsPaths paths to JSON reports of a previous run, to balance the shards by duration. Reports
+     *                     that don't exist are ignored. May be empty.
+     * @return the shard.
+     */
+    public static FeatureShard parse(String shard, List<String> timingsPaths) {
+        String[] parts = shard.split("/");
+        try {
+            if (parts.length == 2) {
+                return new FeatureShard(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()), timingsPaths);
+            }
+        } catch (NumberFormatException ignore) {
+            // reported below
+        }
+        throw new CucumberException("Shard must be i/N with 1 <= i <= N, got " + shard);
+    }
+
+    /**
+     * Removes the scenarios, example rows, outlines and features that belong to other shards.
+     *
+     * @param cucumberFeatures all the features.
+     * @return the features of this shard.
+     */
+    public List<CucumberFeature> select(List<CucumberFeature> cucumberFeatures) {
+        List<Unit> units = units(cucumberFeatures);
+        if (timingsPaths.isEmpty()) {
+            for (Unit unit : units) {
+                unit.shard = (int) ((hash(unit.key) & Long.MAX_VALUE) % count);
+            }
+        } else {
+            assignByDuration(units, readDurations());
+        }
+        return retain(cucumberFeatures, units);
+    }
+
+    private List<Unit> units(List<CucumberFeature> cucumberFeatures) {
+        List<Unit> units = new ArrayList<Unit>();
+        for (CucumberFeature cucumberFeature : cucumberFeatures) {
+            for (CucumberTagStatement statement : cucumberFeature.getFeatureElements()) {
+                if (statement instanceof CucumberScenarioOutline) {
+                    for (CucumberExamples cucumberExamples : ((CucumberScenarioOutline) statement).getCucumberExamplesList()) {
+                        List<ExamplesTableRow> rows = cucumberExamples.getExamples().getRows();
+                        for (int i = 1; i < rows.size(); i++) {
+                            units.add(new Unit(cucumberFeature.getPath(), rows.get(i).getLine()));
+                        }
+                    }
+                } else {
+                    units.add(new Unit(cucumberFeature.getPath(), statement.getGherkinModel().getLine()));
+                }
+            }
+        }
+        return units;
+    }
+
+    private void assignByDuration(List<Unit> units, Map<String, Long> durations) {
+        long total = 0;
+        for (Long duration : durations.values()) {
+            total += duration;
+        }
+        long unknownDuration = durations.isEmpty() ? 1 : Math.max(1, total / durations.size());
+        for (Unit unit : units) {
+            Long duration = durations.get(unit.key);
+            unit.duration = duration != null ? duration : unknownDuration;
+        }
+
+        List<Unit> longestFirst = new ArrayList<Unit>(units);
+        Collections.sort(longestFirst, new Comparator<Unit>() {
+            @Override
+            public int compare(Unit a, Unit b) {
+                if (a.duration != b.duration) {
+                    return a.duration > b.duration ? -1 : 1;
+                }
+                return a.key.compareTo(b.key);
+            }
+        });
+        long[] loads = new long[count];
+        for (Unit unit : longestFirst) {
+            int lightest = 0;
+            for (int shard = 1; shard < count; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            unit.shard = lightest;
+            loads[lightest] += unit.duration;
+        }
+    }
+
+    private List<CucumberFeature> retain(List<CucumberFeature> cucumberFeatures, List<Unit> units) {
+        Iterator<Unit> assigned = units.iterator();
+        List<CucumberFeature> result = new ArrayList<CucumberFeature>();
+        for (CucumberFeature cucumberFeature : cucumberFeatures) {
+            Iterator<CucumberTagStatement> statements = cucumberFeature.getFeatureElements().iterator();
+            while (statements.hasNext()) {
+                CucumberTagStatement statement = statements.next();
+                if (statement instanceof CucumberScenarioOutline) {
+                    if (!retainRows((CucumberScenarioOutline) statement, assigned)) {
+                        statements.remove();
+                    }
+                } else if (!isMine(assigned.next())) {
+                    statements.remove();
+                }
+            }
+            if (!cucumberFeature.getFeatureElements().isEmpty()) {
+                result.add(cucumberFeature);
+            }
+        }
+        return result;
+    }
+
+    private boolean retainRows(CucumberScenarioOutline outline, Iterator<Unit> assigned) {
+        List<CucumberExamples> cucumberExamplesList = outline.getCucumberExamplesList();
+        for (int e = 0; e < cucumberExamplesList.size(); ) {
+            Examples examples = cucumberExamplesList.get(e).getExamples();
+            List<ExamplesTableRow> rows = examples.getRows();
+            List<ExamplesTableRow> retained = new ArrayList<ExamplesTableRow>(rows.size());
+            if (!rows.isEmpty()) {
+                retained.add(rows.get(0));
+            }
+            for (int i = 1; i < rows.size(); i++) {
+                if (isMine(assigned.next())) {
+                    retained.add(rows.get(i));
+                }
+            }
+            if (retained.size() == rows.size()) {
+                e++;
+            } else if (retained.size() > 1) {
+                Examples shardExamples = new Examples(examples.getComments(), examples.getTags(), examples.getKeyword(), examples.getName(), examples.getDescription(), examples.getLine(), examples.getId(), retained);
+                cucumberExamplesList.set(e++, new CucumberExamples(outline, shardExamples));
+            } else {
+                cucumberExamplesList.remove(e);
+            }
+        }
+        return !cucumberExamplesList.isEmpty();
+    }
+
+    private boolean isMine(Unit unit) {
+        return unit.shard == index - 1;
+    }
+
+    private Map<String, Long> readDurations() {
+        Map<String, Long> durations = new HashMap<String, Long>();
+        for (String timingsPath : timingsPaths) {
+            File report = new File(timingsPath);
+            if (report.isFile()) {
+                readDurations(report, durations);
+            }
+        }
+        return durations;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void readDurations(File report, Map<String, Long> durations) {
+        List<Map<String, Object>> features;
+        try {
+            Reader reader = new InputStreamReader(new FileInputStream(report), "UTF-8");
+            try {
+                features = new Gson().fromJson(reader, List.class);
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            throw new CucumberException("Failed to read timings from " + report, e);
+        } catch (JsonParseException e) {
+            throw new CucumberException("Failed to read timings from " + report, e);
+        }
+        if (features == null) {
+            return;
+        }
+        for (Map<String, Object> feature : features) {
+            List<Map<String, Object>> elements = (List<Map<String, Object>>) feature.get("elements");
+            if (elements == null) {
+                continue;
+            }
+            long background = 0;
+            for (Map<String, Object> element : elements) {
+                long duration = duration(element.get("before")) + duration(element.get("steps")) + duration(element.get("after"));
+                if ("background".equals(element.get("type"))) {
+                    // The background runs as part of the scenario that follows it
+                    background = duration;
+                } else if (element.get("line") instanceof Number) {
+                    String key = key((String) feature.get("uri"), ((Number) element.get("line")).intValue());
+                    Long previous = durations.get(key);
+                    durations.put(key, (previous == null ? 0 : previous) + background + duration);
+                    background = 0;
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long duration(Object results) {
+        long duration = 0;
+        if (results instanceof List) {
+            for (Map<String, Object> stepOrHook : (List<Map<String, Object>>) results) {
+                Map<String, Object> result = (Map<String, Object>) stepOrHook.get("result");
+                if (result != null && result.get("duration") instanceof Number) {
+                    duration += ((Number) result.get("duration")).longValue();
+                }
+            }
+        }
+        return duration;
+    }
+
+    private static String key(String path, int line) {
+        return path + ":" + line;
+    }
+
+    /**
+     * FNV-1a, so that the assignment doesn't depend on the JVM.
+     */
+    static long hash(String key) {
+        try {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : key.getBytes("UTF-8")) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        } catch (UnsupportedEncodingException e) {
+            throw new CucumberException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + count;
+    }
+
+    private static class Unit {
+        private final String key;
+        private long duration;
+        private int shard;
+
+        Unit(String path, int line) {
+            this.key = key(path, line);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package cucumber.runtime.model;
+
+import gherkin.formatter.model.Background;
+import gherkin.formatter.model.Comment;
+import gherkin.formatter.model.DataTableRow;
+import gherkin.formatter.model.Examples;
+import gherkin.formatter.model.ExamplesTableRow;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Scenario;
+import gherkin.formatter.model.ScenarioOutline;
+import gherkin.formatter.model.Step;
+import gherkin.formatter.model.Tag;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copies the parsed gherkin model so that the features of a run share their repeated text. Keywords, tag names,
+ * step names and table cells that occur more than once are kept once, lists are sized to fit, and empty lists
+ * are shared. Names of features and scenarios, descriptions and doc strings are rarely repeated and are kept as
+ * they are.
+ * <p>
+ * The strings are kept in a map of their own rather than in the JVM's string pool, so that they can be collected
+ * with the features.
+ */
+public class ModelInterner {
+    private final Map<String, String> strings = new HashMap<String, String>();
+
+    public Feature feature(Feature feature) {
+        return new Feature(comments(feature.getComments()), tags(feature.getTags()), intern(feature.getKeyword()),
+                feature.getName(), feature.getDescription(), feature.getLine(), feature.getId());
+    }
+
+    public Background background(Background background) {
+        return new Background(comments(background.getComments()), intern(background.getKeyword()),
+                intern(background.getName()), background.getDescription(), background.getLine());
+    }
+
+    public Scenario scenario(Scenario scenario) {
+        return new Scenario(comments(scenario.getComments()), tags(scenario.getTags()), intern(scenario.getKeyword()),
+                scenario.getName(), scenario.getDescription(), scenario.getLine(), scenario.getId());
+    }
+
+    public ScenarioOutline scenarioOutline(ScenarioOutline scenarioOutline) {
+        return new ScenarioOutline(comments(scenarioOutline.getComments()), tags(scenarioOutline.getTags()),
+                intern(scenarioOutline.getKeyword()), scenarioOutline.getName(), scenarioOutline.getDescription(),
+                scenarioOutline.getLine(), scenarioOutline.getId());
+    }
+
+    public Examples examples(Examples examples) {
+        List<ExamplesTableRow> rows = new ArrayList<ExamplesTableRow>(examples.getRows().size());
+        for (ExamplesTableRow row : examples.getRows()) {
+            rows.add(new ExamplesTableRow(comments(row.getComments()), cells(row.getCells()), row.getLine(), row.getId()));
+        }
+        return new Examples(comments(examples.getComments()), tags(examples.getTags()), intern(examples.getKeyword()),
+                intern(examples.getName()), examples.getDescription(), examples.getLine(), examples.getId(), rows);
+    }
+
+    public Step step(Step step) {
+        List<DataTableRow> rows = null;
+        if (step.getRows() != null) {
+            rows = new ArrayList<DataTableRow>(step.getRows().size());
+            for (DataTableRow row : step.getRows()) {
+                rows.add(new DataTableRow(comments(row.getComments()), cells(row.getCells()), row.getLine()));
+            }
+        }
+        return new Step(comments(step.getComments()), intern(step.getKeyword()), intern(step.getName()),
+                step.getLine(), rows, step.getDocString());
+    }
+
+    private List<Comment> comments(List<Comment> comments) {
+        if (comments.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<Comment>(comments);
+    }
+
+    private List<Tag> tags(List<Tag> tags) {
+        if (tags.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Tag> interned = new ArrayList<Tag>(tags.size());
+        for (Tag tag : tags) {
+            interned.add(new Tag(intern(tag.getName()), tag.getLine()));
+        }
+        return interned;
+    }
+
+    private List<String> cells(List<String> cells) {
+        List<String> interned = new ArrayList<String>(cells.size());
+        for (String cell : cells) {
+            interned.add(intern(cell));
+        }
+        return interned;
+    }
+
+    private String intern(String string) {
+        if (string == null) {
+            return null;
+        }
+        String interned = strings.get(string);
+        if (interned == null) {
+            strings.put(string, string);
+            return string;
+        }
+        return interned;
+    }
+}
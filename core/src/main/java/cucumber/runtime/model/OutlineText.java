@@ -0,0 +1,112 @@
+package cucumber.runtime.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Text from a scenario outline, split into literal text and the <code>&lt;placeholders&gt;</code> for the columns
+ * of an examples table header, so that it can be expanded for an example row in a single pass.
+ */
+class OutlineText {
+    private final String text;
+    private final String[] literals;
+    private final int[] columns;
+
+    private OutlineText(String text, String[] literals, int[] columns) {
+        this.text = text;
+        this.literals = literals;
+        this.columns = columns;
+    }
+
+    static OutlineText parse(String text, List<String> headerCells) {
+        String[] tokens = new String[headerCells.size()];
+        for (int col = 0; col < tokens.length; col++) {
+            tokens[col] = "<" + headerCells.get(col) + ">";
+        }
+
+        List<String> literals = new ArrayList<String>();
+        List<Integer> columns = new ArrayList<Integer>();
+        int literalStart = 0;
+        int i = text.indexOf('<');
+        while (i != -1) {
+            int column = columnAt(text, i, tokens);
+            if (column == -1) {
+                i = text.indexOf('<', i + 1);
+            } else {
+                literals.add(text.substring(literalStart, i));
+                columns.add(column);
+                literalStart = i + tokens[column].length();
+                i = text.indexOf('<', literalStart);
+            }
+        }
+        literals.add(text.substring(literalStart));
+
+        int[] columnArray = new int[columns.size()];
+        for (int c = 0; c < columnArray.length; c++) {
+            columnArray[c] = columns.get(c);
+        }
+        return new OutlineText(text, literals.toArray(new String[literals.size()]), columnArray);
+    }
+
+    private static int columnAt(String text, int index, String[] tokens) {
+        for (int col = 0; col < tokens.length; col++) {
+            if (text.startsWith(tokens[col], index)) {
+                return col;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return whether the text has no placeholders, so it expands to itself for every example row.
+     */
+    boolean isLiteral() {
+        return columns.length == 0;
+    }
+
+    /**
+     * @param headerCells    the header of the examples table.
+     * @param exampleCells   the cells of an example row.
+     * @param matchedColumns receives the columns that were used.
+     * @return the text with the placeholders replaced by the cells of the example row.
+     */
+    String expand(List<String> headerCells, List<String> exampleCells, Set<Integer> matchedColumns) {
+        if (columns.length == 0) {
+            return text;
+        }
+        if (containsPlaceholderStart(exampleCells)) {
+            // Values can contain placeholders for the columns that follow them
+            return replaceTokens(matchedColumns, headerCells, exampleCells, text);
+        }
+        StringBuilder expanded = new StringBuilder(text.length() + 16 * columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            expanded.append(literals[i]).append(exampleCells.get(columns[i]));
+            matchedColumns.add(columns[i]);
+        }
+        return expanded.append(literals[columns.length]).toString();
+    }
+
+    private static boolean containsPlaceholderStart(List<String> cells) {
+        for (String cell : cells) {
+            if (cell.indexOf('<') != -1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String replaceTokens(Set<Integer> matchedColumns, List<String> headerCells, List<String> exampleCells, String text) {
+        for (int col = 0; col < headerCells.size(); col++) {
+            String headerCell = headerCells.get(col);
+            String value = exampleCells.get(col);
+            String token = "<" + headerCell + ">";
+
+            if (text.contains(token)) {
+                text = text.replace(token, value);
+                matchedColumns.add(col);
+            }
+        }
+        return text;
+    }
+}
@@ -0,0 +1,196 @@
+package cucumber.runtime.model;
+
+import cucumber.runtime.CucumberException;
+import gherkin.formatter.model.ExamplesTableRow;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * How long scenarios took in earlier runs, in milliseconds, keyed by feature path and line. Outline example rows
+ * are kept by the line of the row.
+ * <p>
+ * The file has one scenario per line, as the duration followed by <code>path:line</code>, and lines starting with
+ * <code>#</code> are comments. It is written by the <code>timings</code> plugin.
+ */
+public class ScenarioTimings {
+    private static final String HEADER = "# Scenario durations in milliseconds, written by the Cucumber timings plugin";
+
+    private final Map<String, Long> durations;
+
+    public ScenarioTimings() {
+        this(new TreeMap<String, Long>());
+    }
+
+    private ScenarioTimings(Map<String, Long> durations) {
+        this.durations = durations;
+    }
+
+    /**
+     * @param file the timings file.
+     * @return the timings in the file, or no timings if the file doesn't exist.
+     */
+    public static ScenarioTimings read(File file) {
+        Map<String, Long> durations = new TreeMap<String, Long>();
+        if (!file.isFile()) {
+            return new ScenarioTimings(durations);
+        }
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    int space = line.indexOf(' ');
+                    if (space == -1) {
+                        throw new CucumberException("Malformed line in timings file " + file + ": " + line);
+                    }
+                    durations.put(line.substring(space + 1), Long.parseLong(line.substring(0, space)));
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            throw new CucumberException("Failed to read timings file " + file, e);
+        } catch (NumberFormatException e) {
+            throw new CucumberException("Malformed timings file " + file, e);
+        }
+        return new ScenarioTimings(durations);
+    }
+
+    /**
+     * Writes the timings, replacing the file in one go so that a run reading it never sees half a file.
+     *
+     * @param file the timings file.
+     */
+    public void write(File file) {
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new CucumberException("Failed to create directory " + directory);
+        }
+        File temporary = new File(directory, file.getName() + "." + System.nanoTime() + ".tmp");
+        try {
+            Writer writer = new OutputStreamWriter(new FileOutputStream(temporary), "UTF-8");
+            try {
+                writer.write(HEADER);
+                writer.write('\n');
+                for (Map.Entry<String, Long> entry : durations.entrySet()) {
+                    writer.write(entry.getValue().toString());
+                    writer.write(' ');
+                    writer.write(entry.getKey());
+                    writer.write('\n');
+                }
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            temporary.delete();
+            throw new CucumberException("Failed to write timings file " + file, e);
+        }
+        // File.renameTo won't replace an existing file on every platform
+        if (!temporary.renameTo(file) && !(file.delete() && temporary.renameTo(file))) {
+            temporary.delete();
+            throw new CucumberException("Failed to write timings file " + file);
+        }
+    }
+
+    public void record(String path, int line, long durationMillis) {
+        durations.put(key(path, line), durationMillis);
+    }
+
+    /**
+     * Adds the timings of another run, replacing the ones of the same scenarios.
+     */
+    public void putAll(ScenarioTimings timings) {
+        durations.putAll(timings.durations);
+    }
+
+    /**
+     * @return the duration of a scenario in milliseconds, or null if it isn't known.
+     */
+    public Long get(String path, int line) {
+        return durations.get(key(path, line));
+    }
+
+    public boolean isEmpty() {
+        return durations.isEmpty();
+    }
+
+    /**
+     * Orders the features and the scenarios in each feature longest first, so that the slow ones don't start last
+     * when the scenarios are run in parallel. Scenarios stay grouped by feature, and scenarios without a timing count
+     * as long as the average scenario with one.
+     *
+     * @param cucumberFeatures the features, which are sorted in place.
+     */
+    public void sortLongestFirst(List<CucumberFeature> cucumberFeatures) {
+        long average = 0;
+        for (Long duration : durations.values()) {
+            average += duration;
+        }
+        average = durations.isEmpty() ? 0 : average / durations.size();
+
+        final Map<Object, Long> expected = new IdentityHashMap<Object, Long>();
+        for (CucumberFeature cucumberFeature : cucumberFeatures) {
+            long featureDuration = 0;
+            for (CucumberTagStatement statement : cucumberFeature.getFeatureElements()) {
+                long statementDuration = 0;
+                for (Integer line : lines(statement)) {
+                    Long duration = get(cucumberFeature.getPath(), line);
+                    statementDuration += duration != null ? duration : average;
+                }
+                expected.put(statement, statementDuration);
+                featureDuration += statementDuration;
+            }
+            expected.put(cucumberFeature, featureDuration);
+            Collections.sort(cucumberFeature.getFeatureElements(), new LongestFirst<CucumberTagStatement>(expected));
+        }
+        Collections.sort(cucumberFeatures, new LongestFirst<CucumberFeature>(expected));
+    }
+
+    private static List<Integer> lines(CucumberTagStatement statement) {
+        if (!(statement instanceof CucumberScenarioOutline)) {
+            return Collections.singletonList(statement.getGherkinModel().getLine());
+        }
+        List<Integer> lines = new ArrayList<Integer>();
+        for (CucumberExamples cucumberExamples : ((CucumberScenarioOutline) statement).getCucumberExamplesList()) {
+            List<ExamplesTableRow> rows = cucumberExamples.getExamples().getRows();
+            for (int i = 1; i < rows.size(); i++) {
+                lines.add(rows.get(i).getLine());
+            }
+        }
+        return lines;
+    }
+
+    private static String key(String path, int line) {
+        return path + ":" + line;
+    }
+
+    private static class LongestFirst<T> implements Comparator<T> {
+        private final Map<Object, Long> expected;
+
+        LongestFirst(Map<Object, Long> expected) {
+            this.expected = expected;
+        }
+
+        @Override
+        public int compare(T a, T b) {
+            return expected.get(b).compareTo(expected.get(a));
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package cucumber.api.cli;
+
+import cucumber.runtime.Backend;
+import cucumber.runtime.ClassFinder;
+import cucumber.runtime.Glue;
+import cucumber.runtime.RuntimeOptions;
+import cucumber.runtime.StepDefinition;
+import cucumber.runtime.UnreportedStepExecutor;
+import cucumber.runtime.io.MultiLoader;
+import cucumber.runtime.io.ResourceLoader;
+import cucumber.runtime.snippets.FunctionNameGenerator;
+import gherkin.formatter.Argument;
+import gherkin.formatter.model.Step;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DaemonTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Daemon daemon;
+    private Thread serving;
+    private File features;
+    private File glue;
+    private ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @Before
+    public void startDaemon() throws IOException {
+        CountingBackend.loads.set(0);
+        features = temporaryFolder.newFolder("features");
+        glue = temporaryFolder.newFolder("glue");
+        write(new File(features, "cukes.feature"), "" +
+                "Feature: Cukes\n" +
+                "  Scenario: Eat them\n" +
+                "    Given I have 4 cukes\n");
+        write(new File(glue, "steps.js"), "Given(/^I have (\\\\d+) cukes$/, function(n) {});\n");
+
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        daemon = new Daemon(0, classLoader, new MultiLoader(classLoader), new BackendFinder(), temporaryFolder.newFolder("tokens"));
+        serving = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    daemon.serve();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        serving.start();
+    }
+
+    @After
+    public void stopDaemon() throws Exception {
+        daemon.close();
+        serving.join();
+    }
+
+    @Test
+    public void runs_features_with_the_glue_it_loaded_for_an_earlier_run() throws IOException {
+        assertEquals(0, run("--monochrome", "-g", glue.getPath(), features.getPath()));
+        assertTrue(output.toString(), output.toString().contains("1 Scenarios (1 passed)"));
+
+        output.reset();
+        assertEquals(0, run("--monochrome", "-g", glue.getPath(), features.getPath()));
+        assertTrue(output.toString(), output.toString().contains("1 Scenarios (1 passed)"));
+        assertEquals(1, CountingBackend.loads.get());
+    }
+
+    @Test
+    public void loads_the_glue_again_when_it_changes() throws IOException {
+        run("-g", glue.getPath(), features.getPath());
+        write(new File(glue, "steps.js"), "Given(/^I have (\\\\d+) big cukes$/, function(n) {});\n");
+        run("-g", glue.getPath(), features.getPath());
+
+        assertEquals(2, CountingBackend.loads.get());
+    }
+
+    @Test
+    public void refuses_clients_without_the_token() throws IOException {
+        File wrongToken = temporaryFolder.newFile("wrong.token");
+        write(wrongToken, "guessed");
+
+        byte exitStatus = DaemonClient.run(daemon.getPort(), wrongToken, here(), asList("-g", glue.getPath(), features.getPath()), output);
+
+        assertEquals(1, exitStatus);
+        assertTrue(output.toString(), output.toString().contains("only runs for clients that send the token"));
+        assertEquals(0, CountingBackend.loads.get());
+    }
+
+    @Test
+    public void refuses_clients_in_another_directory() throws IOException {
+        String elsewhere = new File("").getAbsoluteFile().getParent();
+
+        byte exitStatus = DaemonClient.run(daemon.getPort(), daemon.getTokenFile(), elsewhere, asList(features.getPath()), output);
+
+        assertEquals(1, exitStatus);
+        assertTrue(output.toString(), output.toString().contains("Start a daemon in " + elsewhere));
+    }
+
+    @Test
+    public void moves_the_token_file_into_place_once_it_is_written() throws IOException {
+        File tokenDirectory = daemon.getTokenFile().getParentFile();
+
+        assertEquals(asList(daemon.getTokenFile().getName()), asList(tokenDirectory.list()));
+        assertTrue(tokenDirectory.canExecute());
+    }
+
+    @Test
+    public void leaves_options_that_exit_to_the_client() throws IOException {
+        assertEquals(1, run("--version"));
+        assertTrue(output.toString(), output.toString().contains("--version isn't run by the daemon"));
+    }
+
+    @Test
+    public void runs_options_that_only_print_something_in_the_client() throws IOException {
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(output, true, "UTF-8"));
+        try {
+            assertEquals(0, DaemonClient.run(daemon.getPort(), asList("-g", glue.getPath(), "--version")));
+            assertEquals(1, DaemonClient.run(daemon.getPort(), asList("--i18n", "no-such-language")));
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        assertTrue(output.toString(), output.toString().startsWith(RuntimeOptions.VERSION));
+        assertEquals(0, CountingBackend.loads.get());
+    }
+
+    @Test
+    public void sends_failures_to_the_client_and_serves_the_next_one() throws IOException {
+        write(new File(features, "broken.feature"), "Scenario: Outside a feature\n");
+
+        assertEquals(1, run("-g", glue.getPath(), features.getPath()));
+        assertTrue(output.toString(), output.toString().contains("Error parsing feature file"));
+
+        output.reset();
+        assertEquals(1, run("--version"));
+        assertTrue(output.toString(), output.toString().contains("--version isn't run by the daemon"));
+    }
+
+    private byte run(String... argv) throws IOException {
+        return DaemonClient.run(daemon.getPort(), daemon.getTokenFile(), here(), asList(argv), output);
+    }
+
+    private String here() {
+        return new File("").getAbsolutePath();
+    }
+
+    private void write(File file, String content) throws IOException {
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+    }
+
+    private static class BackendFinder implements ClassFinder {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Collection<Class<? extends T>> getDescendants(Class<T> parentType, String packageName) {
+            List<Class<? extends T>> descendants = new ArrayList<Class<? extends T>>();
+            if (parentType == Backend.class) {
+                descendants.add((Class<? extends T>) CountingBackend.class);
+            }
+            return descendants;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Class<? extends T> loadClass(String className) throws ClassNotFoundException {
+            return (Class<? extends T>) Class.forName(className);
+        }
+    }
+
+    public static class CountingBackend implements Backend {
+        static final AtomicInteger loads = new AtomicInteger();
+
+        public CountingBackend(ResourceLoader resourceLoader) {
+        }
+
+        @Override
+        public void loadGlue(Glue glue, List<String> gluePaths) {
+            loads.incrementAndGet();
+            StepDefinition anyStep = mock(StepDefinition.class);
+            when(anyStep.matchedArguments(any(Step.class))).thenReturn(Collections.<Argument>emptyList());
+            when(anyStep.getParameterCount()).thenReturn(0);
+            when(anyStep.getPattern()).thenReturn("^.*$");
+            when(anyStep.getLocation(any(Boolean.class))).thenReturn("CountingBackend");
+            glue.addStepDefinition(anyStep);
+        }
+
+        @Override
+        public void setUnreportedStepExecutor(UnreportedStepExecutor executor) {
+        }
+
+        @Override
+        public void buildWorld() {
+        }
+
+        @Override
+        public void disposeWorld() {
+        }
+
+        @Override
+        public String getSnippet(Step step, FunctionNameGenerator functionNameGenerator) {
+            return null;
+        }
+    }
+}
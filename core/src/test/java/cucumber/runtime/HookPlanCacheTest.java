@@ -0,0 +1,80 @@
+package cucumber.runtime;
+
+import gherkin.formatter.model.Tag;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class HookPlanCacheTest {
+    private final HookPlanCache cache = new HookPlanCache();
+
+    @Test
+    public void selects_the_matching_hooks_in_order() {
+        HookDefinition first = hook("@foo");
+        HookDefinition second = hook("@bar");
+        HookDefinition third = hook("@foo");
+
+        assertEquals(asList(first, third), cache.matching(asList(first, second, third), tags("@foo")));
+    }
+
+    @Test
+    public void matches_hooks_once_per_distinct_set_of_tag_names() {
+        HookDefinition hook = hook("@foo");
+        List<HookDefinition> hooks = asList(hook);
+
+        cache.matching(hooks, tags("@foo", "@bar"));
+        cache.matching(hooks, tags("@bar", "@foo"));
+        cache.matching(hooks, tags("@bar"));
+        cache.matching(hooks, tags("@bar"));
+
+        verify(hook, times(2)).matches(anyCollectionOf(Tag.class));
+    }
+
+    @Test
+    public void forgets_the_plans_when_the_hooks_change() {
+        HookDefinition first = hook("@foo");
+        List<HookDefinition> hooks = new ArrayList<HookDefinition>(asList(first));
+        cache.matching(hooks, tags("@foo"));
+
+        HookDefinition second = hook("@foo");
+        hooks.add(second);
+
+        assertEquals(asList(first, second), cache.matching(hooks, tags("@foo")));
+    }
+
+    private HookDefinition hook(final String tagName) {
+        HookDefinition hook = mock(HookDefinition.class);
+        when(hook.matches(anyCollectionOf(Tag.class))).thenAnswer(new Answer<Boolean>() {
+            @Override
+            public Boolean answer(InvocationOnMock invocation) {
+                for (Tag tag : (Collection<Tag>) invocation.getArguments()[0]) {
+                    if (tag.getName().equals(tagName)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        });
+        return hook;
+    }
+
+    private List<Tag> tags(String... names) {
+        List<Tag> tags = new ArrayList<Tag>();
+        for (int i = 0; i < names.length; i++) {
+            tags.add(new Tag(names[i], i));
+        }
+        return tags;
+    }
+}
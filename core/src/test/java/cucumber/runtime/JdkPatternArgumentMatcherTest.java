@@ -47,6 +47,17 @@ public class JdkPatternArgumentMatcherTest {
         assertEquals(1, matcher.argumentsFrom("I wait for 30 seconds").size());
     }
 
+    @Test
+    public void unanchoredMatcherFindsMatchAnywhereInStepName() {
+        JdkPatternArgumentMatcher matcher = new JdkPatternArgumentMatcher(Pattern.compile("wait for (.+) seconds"), true);
+
+        List<Argument> arguments = matcher.argumentsFrom("I wait for 30 seconds");
+        assertEquals(1, arguments.size());
+        assertEquals("30", arguments.get(0).getVal());
+        assertEquals(Integer.valueOf(11), arguments.get(0).getOffset());
+        assertNull(new JdkPatternArgumentMatcher(Pattern.compile("wait for (.+) seconds")).argumentsFrom("I wait for 30 seconds"));
+    }
+
     @Test
     public void canHandleVariableNumberOfArguments() {
         JdkPatternArgumentMatcher matcher = new JdkPatternArgumentMatcher(Pattern.compile("I wait for (.+) seconds|I wait for some time"));
@@ -0,0 +1,61 @@
+package cucumber.runtime;
+
+import cucumber.runtime.formatter.StubFormatter;
+import gherkin.formatter.Formatter;
+import gherkin.formatter.model.Comment;
+import gherkin.formatter.model.Step;
+
+import java.util.Collections;
+
+/**
+ * Measures the cost of passing a formatter event on to the plugins, through the formatter returned by
+ * {@link RuntimeOptions#formatter(ClassLoader)} and through a {@link RuntimeOptions#pluginProxy(ClassLoader, Class)}.
+ * <p>
+ * Not run as part of the build. Run the main method to print the results.
+ */
+public class PluginDispatchBenchmark {
+
+    private static final int WARMUP_EVENTS = 2000000;
+    private static final int MEASURED_EVENTS = 10000000;
+
+    public static void main(String[] args) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Step step = new Step(Collections.<Comment>emptyList(), "Given ", "I have 4 cukes in my belly", 1, null, null);
+
+        for (int pluginCount : new int[]{1, 3}) {
+            RuntimeOptions runtimeOptions = new RuntimeOptions("");
+            CountingFormatter[] plugins = new CountingFormatter[pluginCount];
+            for (int i = 0; i < pluginCount; i++) {
+                plugins[i] = new CountingFormatter();
+                runtimeOptions.addPlugin(plugins[i]);
+            }
+
+            measure("composite", pluginCount, runtimeOptions.formatter(classLoader), step);
+            measure("proxy", pluginCount, runtimeOptions.pluginProxy(classLoader, Formatter.class), step);
+        }
+    }
+
+    private static void measure(String name, int pluginCount, Formatter formatter, Step step) {
+        dispatch(formatter, step, WARMUP_EVENTS);
+
+        long start = System.nanoTime();
+        dispatch(formatter, step, MEASURED_EVENTS);
+        long elapsed = System.nanoTime() - start;
+        System.out.println(String.format("%-10s %d plugin(s) %6.1f ns/event", name, pluginCount, (double) elapsed / MEASURED_EVENTS));
+    }
+
+    private static void dispatch(Formatter formatter, Step step, int events) {
+        for (int i = 0; i < events; i++) {
+            formatter.step(step);
+        }
+    }
+
+    private static class CountingFormatter extends StubFormatter {
+        private int steps;
+
+        @Override
+        public void step(Step step) {
+            steps++;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package cucumber.runtime;
 import cucumber.runtime.xstream.LocalizedXStreams;
 import org.junit.Test;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
@@ -50,14 +51,82 @@ public class RuntimeGlueTest {
         when(ah.isScenarioScoped()).thenReturn(true);
         glue.addAfterHook(ah);
 
-        assertEquals(1, glue.stepDefinitionsByPattern.size());
+        assertEquals(1, glue.scenarioStepDefinitionsByPattern.size());
         assertEquals(1, glue.beforeHooks.size());
         assertEquals(1, glue.afterHooks.size());
 
         glue.removeScenarioScopedGlue();
 
-        assertEquals(0, glue.stepDefinitionsByPattern.size());
+        assertEquals(0, glue.scenarioStepDefinitionsByPattern.size());
         assertEquals(0, glue.beforeHooks.size());
         assertEquals(0, glue.afterHooks.size());
     }
+
+    @Test
+    public void keeps_glue_that_is_not_scenario_scoped() {
+        RuntimeGlue glue = new RuntimeGlue(new UndefinedStepsTracker(), new LocalizedXStreams(Thread.currentThread().getContextClassLoader()));
+
+        StepDefinition sd = mock(StepDefinition.class);
+        when(sd.getPattern()).thenReturn("pattern");
+        glue.addStepDefinition(sd);
+        HookDefinition bh = mock(HookDefinition.class);
+        glue.addBeforeHook(bh);
+        HookDefinition scoped = mock(HookDefinition.class);
+        when(scoped.isScenarioScoped()).thenReturn(true);
+        glue.addBeforeHook(scoped);
+
+        glue.removeScenarioScopedGlue();
+
+        assertEquals(1, glue.stepDefinitionsByPattern.size());
+        assertEquals(asList(bh), glue.getBeforeHooks());
+    }
+
+    @Test
+    public void detects_duplicates_across_scenario_scoped_and_run_scoped_glue() {
+        RuntimeGlue glue = new RuntimeGlue(new UndefinedStepsTracker(), new LocalizedXStreams(Thread.currentThread().getContextClassLoader()));
+
+        StepDefinition a = mock(StepDefinition.class);
+        when(a.getPattern()).thenReturn("hello");
+        glue.addStepDefinition(a);
+
+        StepDefinition b = mock(StepDefinition.class);
+        when(b.getPattern()).thenReturn("hello");
+        when(b.isScenarioScoped()).thenReturn(true);
+        try {
+            glue.addStepDefinition(b);
+            fail("should have failed");
+        } catch (DuplicateStepDefinitionException expected) {
+        }
+    }
+
+    @Test
+    public void inserts_hooks_in_order_after_hooks_with_the_same_order() {
+        RuntimeGlue glue = new RuntimeGlue(new UndefinedStepsTracker(), new LocalizedXStreams(Thread.currentThread().getContextClassLoader()));
+
+        HookDefinition first = hook(10, false);
+        HookDefinition second = hook(10, false);
+        HookDefinition early = hook(1, false);
+        HookDefinition scoped = hook(10, true);
+        HookDefinition late = hook(20, true);
+        glue.addBeforeHook(first);
+        glue.addBeforeHook(late);
+        glue.addBeforeHook(second);
+        glue.addBeforeHook(scoped);
+        glue.addBeforeHook(early);
+        glue.addAfterHook(first);
+        glue.addAfterHook(late);
+        glue.addAfterHook(second);
+        glue.addAfterHook(scoped);
+        glue.addAfterHook(early);
+
+        assertEquals(asList(early, first, second, scoped, late), glue.getBeforeHooks());
+        assertEquals(asList(late, first, second, scoped, early), glue.getAfterHooks());
+    }
+
+    private HookDefinition hook(int order, boolean scenarioScoped) {
+        HookDefinition hook = mock(HookDefinition.class);
+        when(hook.getOrder()).thenReturn(order);
+        when(hook.isScenarioScoped()).thenReturn(scenarioScoped);
+        return hook;
+    }
 }
@@ -32,10 +32,12 @@ import java.util.regex.Pattern;
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
 
@@ -253,6 +255,24 @@ public class RuntimeOptionsTest {
         assertFalse(runtimeOptions.isStrict());
     }
 
+    @Test
+    public void assigns_shard() {
+        RuntimeOptions options = new RuntimeOptions(asList("--shard", "2/24", "--shard-timings", "previous.json"));
+        assertEquals("2/24", options.getShard().toString());
+    }
+
+    @Test
+    public void assigns_watch() {
+        assertTrue(new RuntimeOptions(asList("--watch")).isWatch());
+        assertFalse(new RuntimeOptions(Collections.<String>emptyList()).isWatch());
+    }
+
+    @Test
+    public void runs_all_features_without_a_shard() {
+        RuntimeOptions options = new RuntimeOptions(Collections.<String>emptyList());
+        assertNull(options.getShard());
+    }
+
     @Test
     public void fail_on_unsupported_options() {
         try {
@@ -359,6 +379,32 @@ public class RuntimeOptionsTest {
                 "close\n", formatterSpy.toString());
     }
 
+    @Test
+    public void passes_events_to_the_plugins_of_each_type_in_the_order_they_were_added() {
+        RuntimeOptions runtimeOptions = new RuntimeOptions("");
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Formatter formatter = runtimeOptions.formatter(classLoader);
+        Reporter reporter = runtimeOptions.reporter(classLoader);
+        Formatter formatterPlugin = mock(Formatter.class);
+        Reporter reporterPlugin = mock(Reporter.class);
+        runtimeOptions.addPlugin(formatterPlugin);
+        runtimeOptions.addPlugin(reporterPlugin);
+
+        formatter.uri("path/test.feature");
+        reporter.write("text");
+        Formatter lateFormatterPlugin = mock(Formatter.class);
+        runtimeOptions.addPlugin(lateFormatterPlugin);
+        formatter.eof();
+
+        assertTrue(formatter == runtimeOptions.formatter(classLoader));
+        assertTrue(reporter == runtimeOptions.reporter(classLoader));
+        verify(formatterPlugin).uri("path/test.feature");
+        verify(formatterPlugin).eof();
+        verify(reporterPlugin).write("text");
+        verify(lateFormatterPlugin).eof();
+        verifyNoMoreInteractions(formatterPlugin, reporterPlugin, lateFormatterPlugin);
+    }
+
     private void assertOnlyScenarioName(CucumberFeature feature, String scenarioName) {
         assertEquals("Wrong number of scenarios loaded for feature", 1, feature.getFeatureElements().size());
         assertEquals("Scenario: " + scenarioName, feature.getFeatureElements().get(0).getVisualName());
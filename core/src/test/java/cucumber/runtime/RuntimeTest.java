@@ -47,6 +47,7 @@ import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -336,6 +337,69 @@ public class RuntimeTest {
                 "1 Steps (1 undefined)%n")));
     }
 
+    @Test
+    public void runs_the_glue_of_an_earlier_runtime_again_without_loading_it() {
+        ResourceLoader resourceLoader = mock(ResourceLoader.class);
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Backend backend = mock(Backend.class);
+        Runtime first = new Runtime(resourceLoader, classLoader, asList(backend), new RuntimeOptions(asList("-g", "anything")));
+
+        Runtime second = new Runtime(first, new RuntimeOptions(asList("-g", "anything")));
+
+        assertSame(first.getGlue(), second.getGlue());
+        verify(backend, times(1)).loadGlue(any(Glue.class), eq(asList("anything")));
+        verify(backend).setUnreportedStepExecutor(second);
+    }
+
+    @Test
+    public void keeps_the_hook_plans_of_an_earlier_runtime() throws Throwable {
+        CucumberFeature feature = feature("test.feature", "" +
+                "Feature: feature name\n" +
+                "  Scenario: scenario name\n" +
+                "    Given a step\n");
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Runtime first = new Runtime(mock(ResourceLoader.class), classLoader, asList(mock(Backend.class)), new RuntimeOptions(""));
+        HookDefinition hook = mock(HookDefinition.class);
+        when(hook.matches(anyCollectionOf(Tag.class))).thenReturn(true);
+        first.getGlue().addBeforeHook(hook);
+        feature.run(mock(Formatter.class), mock(Reporter.class), first);
+
+        Runtime second = new Runtime(first, new RuntimeOptions(""));
+        feature.run(mock(Formatter.class), mock(Reporter.class), second);
+
+        verify(hook, times(1)).matches(anyCollectionOf(Tag.class));
+        verify(hook, times(2)).execute(any(Scenario.class));
+    }
+
+    @Test
+    public void links_each_step_text_once_without_expanding_the_outline_examples() throws IOException {
+        CucumberFeature feature = feature("test.feature", "" +
+                "Feature: feature name\n" +
+                "  Background: background name\n" +
+                "    Given I have a basket\n" +
+                "  Scenario: scenario name\n" +
+                "    When I put 4 cukes in it\n" +
+                "  Scenario Outline: outline name\n" +
+                "    When I put <n> cukes in it\n" +
+                "    Then I have a basket\n" +
+                "  Examples:\n" +
+                "    | n |\n" +
+                "    | 1 |\n" +
+                "    | 2 |\n");
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Runtime runtime = new Runtime(mock(ResourceLoader.class), classLoader, asList(mock(Backend.class)), new RuntimeOptions(""));
+        StepDefinition stepDefinition = mock(StepDefinition.class);
+        when(stepDefinition.getPattern()).thenReturn("^.*$");
+        runtime.getGlue().addStepDefinition(stepDefinition);
+
+        runtime.link(asList(feature));
+
+        ArgumentCaptor<Step> linked = ArgumentCaptor.forClass(Step.class);
+        verify(stepDefinition, times(2)).matchedArguments(linked.capture());
+        assertEquals("I have a basket", linked.getAllValues().get(0).getName());
+        assertEquals("I put 4 cukes in it", linked.getAllValues().get(1).getName());
+    }
+
     @Test
     public void should_fail_the_scenario_if_before_fails() throws Throwable {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
@@ -0,0 +1,160 @@
+package cucumber.runtime;
+
+import gherkin.formatter.Argument;
+import gherkin.formatter.model.Comment;
+import gherkin.formatter.model.Step;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class StepMatchTableTest {
+    private final StepMatchTable table = new StepMatchTable();
+
+    @Test
+    public void finds_the_matching_step_definitions_with_their_arguments() {
+        StepDefinition cukes = stepDefinition("^I have (\\d+) cukes$");
+        StepDefinition other = stepDefinition("^something else$");
+        Map<String, StepDefinition> stepDefinitions = stepDefinitions(cukes, other);
+
+        StepMatchTable.Matched[] matched = table.matching(stepDefinitions, step("I have 4 cukes"));
+
+        assertEquals(1, matched.length);
+        assertSame(cukes, matched[0].stepDefinition);
+        assertEquals("4", matched[0].arguments.get(0).getVal());
+    }
+
+    @Test
+    public void matches_each_step_text_once() {
+        StepDefinition cukes = stepDefinition("^I have (\\d+) cukes$");
+        Map<String, StepDefinition> stepDefinitions = stepDefinitions(cukes);
+
+        table.matching(stepDefinitions, step("I have 4 cukes"));
+        table.matching(stepDefinitions, step("I have 4 cukes"));
+        table.matching(stepDefinitions, step("I have 5 cukes"));
+
+        verify(cukes, times(2)).matchedArguments(any(Step.class));
+    }
+
+    @Test
+    public void forgets_the_matches_when_the_step_definitions_change() {
+        StepDefinition cukes = stepDefinition("^I have (\\d+) cukes$");
+        Map<String, StepDefinition> stepDefinitions = stepDefinitions(cukes);
+        table.matching(stepDefinitions, step("I have 4 cukes"));
+
+        StepDefinition another = stepDefinition("^I have 4 (.*)$");
+        stepDefinitions.put(another.getPattern(), another);
+
+        assertEquals(2, table.matching(stepDefinitions, step("I have 4 cukes")).length);
+    }
+
+    @Test
+    public void looks_up_the_texts_that_were_linked_ahead_of_time() {
+        StepDefinition cukes = stepDefinition("^I have (\\d+) cukes$");
+        Map<String, StepDefinition> stepDefinitions = stepDefinitions(cukes);
+        List<Step> steps = new ArrayList<Step>();
+        for (int i = 0; i < 500; i++) {
+            steps.add(step("I have " + i % 250 + " cukes"));
+        }
+
+        table.link(stepDefinitions, steps, 4);
+        for (Step step : steps) {
+            assertEquals(1, table.matching(stepDefinitions, step).length);
+        }
+
+        verify(cukes, times(250)).matchedArguments(any(Step.class));
+    }
+
+    @Test
+    public void links_no_more_texts_than_it_remembers() {
+        StepDefinition cukes = stepDefinition("^I have (\\d+) cukes$");
+        Map<String, StepDefinition> stepDefinitions = stepDefinitions(cukes);
+        List<Step> steps = new ArrayList<Step>();
+        for (int i = 0; i < StepMatchTable.MAX_TEXTS + 10; i++) {
+            steps.add(step("I have " + i + " cukes"));
+        }
+
+        table.link(stepDefinitions, steps, 4);
+
+        verify(cukes, times(StepMatchTable.MAX_TEXTS)).matchedArguments(any(Step.class));
+    }
+
+    @Test
+    public void matches_step_definitions_without_a_jdk_pattern_on_the_linking_thread() {
+        JdkPatternStepDefinition cukes = jdkPatternStepDefinition("^I have (\\d+) cukes$");
+        StepDefinition script = mock(StepDefinition.class);
+        when(script.getPattern()).thenReturn("^I have (\\d+) .*$");
+        final List<Thread> scriptThreads = Collections.synchronizedList(new ArrayList<Thread>());
+        when(script.matchedArguments(any(Step.class))).thenAnswer(new Answer<List<Argument>>() {
+            @Override
+            public List<Argument> answer(InvocationOnMock invocation) {
+                scriptThreads.add(Thread.currentThread());
+                return Collections.emptyList();
+            }
+        });
+        Map<String, StepDefinition> stepDefinitions = stepDefinitions(cukes, script);
+        List<Step> steps = new ArrayList<Step>();
+        for (int i = 0; i < 500; i++) {
+            steps.add(step("I have " + i + " cukes"));
+        }
+
+        table.link(stepDefinitions, steps, 4);
+
+        assertEquals(500, scriptThreads.size());
+        assertEquals(Collections.singleton(Thread.currentThread()), new HashSet<Thread>(scriptThreads));
+        StepMatchTable.Matched[] matched = table.matching(stepDefinitions, step("I have 7 cukes"));
+        assertEquals(2, matched.length);
+        assertSame(script, matched[0].stepDefinition);
+        assertSame(cukes, matched[1].stepDefinition);
+        verify(cukes, times(500)).matchedArguments(any(Step.class));
+    }
+
+    private Map<String, StepDefinition> stepDefinitions(StepDefinition... stepDefinitions) {
+        Map<String, StepDefinition> byPattern = new TreeMap<String, StepDefinition>();
+        for (StepDefinition stepDefinition : stepDefinitions) {
+            byPattern.put(stepDefinition.getPattern(), stepDefinition);
+        }
+        return byPattern;
+    }
+
+    private StepDefinition stepDefinition(String pattern) {
+        return stub(mock(StepDefinition.class), pattern);
+    }
+
+    private JdkPatternStepDefinition jdkPatternStepDefinition(String pattern) {
+        JdkPatternStepDefinition stepDefinition = stub(mock(JdkPatternStepDefinition.class), pattern);
+        when(stepDefinition.isMatchedByJdkPattern()).thenReturn(true);
+        return stepDefinition;
+    }
+
+    private <T extends StepDefinition> T stub(T stepDefinition, String pattern) {
+        final JdkPatternArgumentMatcher matcher = new JdkPatternArgumentMatcher(Pattern.compile(pattern));
+        when(stepDefinition.getPattern()).thenReturn(pattern);
+        when(stepDefinition.matchedArguments(any(Step.class))).thenAnswer(new Answer<List<Argument>>() {
+            @Override
+            public List<Argument> answer(InvocationOnMock invocation) {
+                return matcher.argumentsFrom(((Step) invocation.getArguments()[0]).getName());
+            }
+        });
+        return stepDefinition;
+    }
+
+    private Step step(String name) {
+        return new Step(Collections.<Comment>emptyList(), "Given ", name, 1, null, null);
+    }
+}
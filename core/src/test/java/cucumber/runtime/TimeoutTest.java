@@ -63,6 +63,13 @@ public class TimeoutTest {
 
     @Test
     public void doesnt_leak_threads() throws Throwable {
+        // The shared timer thread is started by the first timeout
+        Timeout.timeout(new Timeout.Callback<String>() {
+            @Override
+            public String call() throws Throwable {
+                return null;
+            }
+        }, 10);
 
         long initialNumberOfThreads = Thread.getAllStackTraces().size();
         long currentNumberOfThreads = Long.MAX_VALUE;
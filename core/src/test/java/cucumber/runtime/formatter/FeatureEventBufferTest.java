@@ -0,0 +1,69 @@
+package cucumber.runtime.formatter;
+
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Match;
+import gherkin.formatter.model.Result;
+import gherkin.formatter.model.Step;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class FeatureEventBufferTest {
+    private final Formatter formatter = mock(Formatter.class);
+    private final Reporter reporter = mock(Reporter.class);
+    private final FeatureEventBuffer buffer = new FeatureEventBuffer(formatter, reporter, new Object());
+
+    @Test
+    public void holds_back_the_events_until_the_end_of_the_feature() {
+        buffer.uri("cukes.feature");
+        buffer.feature(mock(Feature.class));
+        buffer.step(mock(Step.class));
+        buffer.result(mock(Result.class));
+
+        verifyZeroInteractions(formatter, reporter);
+    }
+
+    @Test
+    public void passes_on_formatter_and_reporter_events_in_order() {
+        Feature feature = mock(Feature.class);
+        Step step = mock(Step.class);
+        Match match = mock(Match.class);
+        Result result = mock(Result.class);
+
+        buffer.uri("cukes.feature");
+        buffer.feature(feature);
+        buffer.step(step);
+        buffer.match(match);
+        buffer.result(result);
+        buffer.write("text");
+        buffer.eof();
+
+        InOrder inOrder = inOrder(formatter, reporter);
+        inOrder.verify(formatter).uri("cukes.feature");
+        inOrder.verify(formatter).feature(feature);
+        inOrder.verify(formatter).step(step);
+        inOrder.verify(reporter).match(match);
+        inOrder.verify(reporter).result(result);
+        inOrder.verify(reporter).write("text");
+        inOrder.verify(formatter).eof();
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void passes_on_events_that_dont_end_with_eof_when_flushed() {
+        Step step = mock(Step.class);
+        buffer.step(step);
+
+        buffer.flush();
+        buffer.flush();
+
+        InOrder inOrder = inOrder(formatter, reporter);
+        inOrder.verify(formatter).step(step);
+        inOrder.verifyNoMoreInteractions();
+    }
+}
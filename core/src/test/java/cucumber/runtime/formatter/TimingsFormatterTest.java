@@ -0,0 +1,55 @@
+package cucumber.runtime.formatter;
+
+import cucumber.runtime.TestHelper;
+import cucumber.runtime.model.CucumberFeature;
+import cucumber.runtime.model.ScenarioTimings;
+import gherkin.formatter.model.Result;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+public class TimingsFormatterTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void records_the_duration_of_each_scenario_and_keeps_the_others() throws Throwable {
+        File file = new File(temporaryFolder.getRoot(), "timings/cucumber.timings");
+        ScenarioTimings previous = new ScenarioTimings();
+        previous.record("path/other.feature", 2, 42);
+        previous.record("path/test.feature", 4, 1000);
+        previous.write(file);
+
+        CucumberFeature feature = TestHelper.feature("path/test.feature", "" +
+                "Feature: feature name\n" +
+                "  Background: background\n" +
+                "    Given background step\n" +
+                "  Scenario: first\n" +
+                "    Given first step\n" +
+                "    And second step\n" +
+                "  Scenario Outline: outline\n" +
+                "    Given <step>\n" +
+                "    Examples:\n" +
+                "      | step        |\n" +
+                "      | first step  |\n");
+        Map<String, Result> stepsToResult = new HashMap<String, Result>();
+        stepsToResult.put("background step", TestHelper.result("passed"));
+        stepsToResult.put("first step", TestHelper.result("passed"));
+        stepsToResult.put("second step", TestHelper.result("passed"));
+        TimingsFormatter formatter = new TimingsFormatter(file);
+        TestHelper.runFeatureWithFormatter(feature, stepsToResult, asList(TestHelper.hookEntry("before", TestHelper.result("passed"))), 2000000L, formatter, formatter);
+
+        ScenarioTimings timings = ScenarioTimings.read(file);
+        assertEquals(Long.valueOf(42), timings.get("path/other.feature", 2));
+        // A hook, a background step and two steps of 2ms each
+        assertEquals(Long.valueOf(8), timings.get("path/test.feature", 4));
+        assertEquals(Long.valueOf(6), timings.get("path/test.feature", 11));
+    }
+}
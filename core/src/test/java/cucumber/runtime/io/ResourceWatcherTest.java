@@ -0,0 +1,82 @@
+package cucumber.runtime.io;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.TreeSet;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+public class ResourceWatcherTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File features;
+    private ResourceWatcher watcher;
+
+    @Before
+    public void createFeatures() throws IOException {
+        features = temporaryFolder.newFolder("features");
+        write("a.feature", "Feature: a");
+        write("b.feature", "Feature: b");
+        write("notes.txt", "not a feature");
+        watcher = new ResourceWatcher(new FileResourceLoader(), asList(features.getPath()), ".feature");
+    }
+
+    @Test
+    public void finds_all_the_resources_on_the_first_poll() {
+        assertEquals(new TreeSet<String>(asList("a.feature", "b.feature")), watcher.poll());
+        assertEquals(Collections.<String>emptySet(), watcher.poll());
+    }
+
+    @Test
+    public void finds_the_resources_that_were_added_changed_or_removed() throws IOException {
+        watcher.poll();
+
+        write("a.feature", "Feature: a changed");
+        new File(features, "b.feature").delete();
+        write("c.feature", "Feature: c");
+
+        assertEquals(new TreeSet<String>(asList("a.feature", "b.feature", "c.feature")), watcher.poll());
+    }
+
+    @Test
+    public void ignores_resources_that_were_saved_without_changes() throws IOException {
+        watcher.poll();
+
+        File a = write("a.feature", "Feature: a");
+        a.setLastModified(a.lastModified() + 10000);
+
+        assertEquals(Collections.<String>emptySet(), watcher.poll());
+    }
+
+    @Test
+    public void finds_no_resources_once_the_path_is_removed() {
+        watcher.poll();
+
+        for (File file : features.listFiles()) {
+            file.delete();
+        }
+        features.delete();
+
+        assertEquals(new TreeSet<String>(asList("a.feature", "b.feature")), watcher.poll());
+    }
+
+    private File write(String name, String content) throws IOException {
+        File file = new File(features, name);
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+}
@@ -2,6 +2,7 @@ package cucumber.runtime.model;
 
 import cucumber.runtime.TestHelper;
 import gherkin.formatter.model.Comment;
+import gherkin.formatter.model.DataTableRow;
 import gherkin.formatter.model.Examples;
 import gherkin.formatter.model.ExamplesTableRow;
 import gherkin.formatter.model.Feature;
@@ -12,12 +13,15 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 
 public class CucumberExamplesTest {
     private static final List<Comment> COMMENTS = emptyList();
@@ -51,6 +55,60 @@ public class CucumberExamplesTest {
         assertEquals("I have 5 cukes in my belly", step.getName());
     }
 
+    @Test
+    public void creates_example_scenarios_as_they_are_iterated_over() {
+        CucumberFeature cucumberFeature = new CucumberFeature(new Feature(COMMENTS, FEATURE_TAGS, "Feature", "", "", 2, "fid"), "f.feature");
+        ScenarioOutline so = new ScenarioOutline(COMMENTS, SO_TAGS, "Scenario Outline", "", "", 4, "");
+        CucumberScenarioOutline cso = new CucumberScenarioOutline(cucumberFeature, null, so);
+        cso.step(new Step(COMMENTS, "Given ", "I have <n> cukes", 5, null, null));
+        Examples examples = new Examples(COMMENTS, E_TAGS, "Examples", "", "", 6, "", asList(
+                new ExamplesTableRow(COMMENTS, asList("n"), 7, ""),
+                new ExamplesTableRow(COMMENTS, asList("1"), 8, ""),
+                new ExamplesTableRow(COMMENTS, asList(""), 9, "")
+        ));
+
+        Iterator<CucumberScenario> exampleScenarios = new CucumberExamples(cso, examples).exampleScenarios().iterator();
+        assertEquals("I have 1 cukes", exampleScenarios.next().getSteps().get(0).getName());
+        assertEquals("I have  cukes", exampleScenarios.next().getSteps().get(0).getName());
+        assertFalse(exampleScenarios.hasNext());
+    }
+
+    @Test
+    public void creates_the_example_scenario_of_a_single_row() {
+        CucumberFeature cucumberFeature = new CucumberFeature(new Feature(COMMENTS, FEATURE_TAGS, "Feature", "", "", 2, "fid"), "f.feature");
+        ScenarioOutline so = new ScenarioOutline(COMMENTS, SO_TAGS, "Scenario Outline", "", "", 4, "");
+        CucumberScenarioOutline cso = new CucumberScenarioOutline(cucumberFeature, null, so);
+        cso.step(new Step(COMMENTS, "Given ", "I have <n> cukes", 5, null, null));
+        ExamplesTableRow second = new ExamplesTableRow(COMMENTS, asList("2"), 9, "");
+        Examples examples = new Examples(COMMENTS, E_TAGS, "Examples", "", "", 6, "", asList(
+                new ExamplesTableRow(COMMENTS, asList("n"), 7, ""),
+                new ExamplesTableRow(COMMENTS, asList("1"), 8, ""),
+                second
+        ));
+
+        CucumberScenario exampleScenario = new CucumberExamples(cso, examples).createExampleScenario(second);
+        assertEquals("I have 2 cukes", exampleScenario.getSteps().get(0).getName());
+        assertEquals(Integer.valueOf(9), exampleScenario.getGherkinModel().getLine());
+    }
+
+    @Test
+    public void shares_the_tags_and_the_tables_without_placeholders_between_example_scenarios() {
+        CucumberFeature cucumberFeature = new CucumberFeature(new Feature(COMMENTS, FEATURE_TAGS, "Feature", "", "", 2, "fid"), "f.feature");
+        ScenarioOutline so = new ScenarioOutline(COMMENTS, SO_TAGS, "Scenario Outline", "", "", 4, "");
+        CucumberScenarioOutline cso = new CucumberScenarioOutline(cucumberFeature, null, so);
+        cso.step(new Step(COMMENTS, "Given ", "I have <n> cukes", 5, asList(new DataTableRow(COMMENTS, asList("cukes"), 6)), null));
+        Examples examples = new Examples(COMMENTS, E_TAGS, "Examples", "", "", 7, "", asList(
+                new ExamplesTableRow(COMMENTS, asList("n"), 8, ""),
+                new ExamplesTableRow(COMMENTS, asList("1"), 9, ""),
+                new ExamplesTableRow(COMMENTS, asList("2"), 10, "")
+        ));
+
+        List<CucumberScenario> exampleScenarios = new CucumberExamples(cso, examples).createExampleScenarios();
+
+        assertSame(exampleScenarios.get(0).tagsAndInheritedTags(), exampleScenarios.get(1).tagsAndInheritedTags());
+        assertSame(exampleScenarios.get(0).getSteps().get(0).getRows(), exampleScenarios.get(1).getSteps().get(0).getRows());
+    }
+
     @Test
     public void should_concatenate_outline_description_and_examples_description() throws IOException {
         CucumberFeature feature = TestHelper.feature("path/test.feature", "" +
@@ -45,6 +45,22 @@ public class CucumberScenarioOutlineTest {
         assertEquals(asList("I", "have 10 cukes"), exampleStep.getRows().get(0).getCells());
     }  
 
+    @Test
+    public void replaces_repeated_and_adjacent_tokens() {
+        Step outlineStep = new Step(C, null, "<a><b> and <a> but not <c> or <a", 0, null, null);
+
+        Step exampleStep = CucumberScenarioOutline.createExampleStep(outlineStep, new ExamplesTableRow(C, asList("a", "b"), 1, ""), new ExamplesTableRow(C, asList("1", "2"), 1, ""));
+        assertEquals("12 and 1 but not <c> or <a", exampleStep.getName());
+    }
+
+    @Test
+    public void replaces_tokens_in_values_with_the_columns_that_follow() {
+        Step outlineStep = new Step(C, null, "I have <a>", 0, null, null);
+
+        Step exampleStep = CucumberScenarioOutline.createExampleStep(outlineStep, new ExamplesTableRow(C, asList("a", "b"), 1, ""), new ExamplesTableRow(C, asList("<b> cukes", "10"), 1, ""));
+        assertEquals("I have 10 cukes", exampleStep.getName());
+    }
+
     @Test(expected=CucumberException.class)
     public void does_not_allow_the_step_to_be_empty_after_replacement() {
         Step outlineStep = new Step(C, null, "<step>", 0, null, null);
@@ -0,0 +1,141 @@
+package cucumber.runtime.model;
+
+import cucumber.runtime.FeatureBuilder;
+import cucumber.runtime.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Measures the heap taken by the feature model of a suite of 10000 scenarios, half of them rows of scenario
+ * outlines, with the outlines expanded into example scenarios the way the JUnit runner does.
+ * <p>
+ * Not run as part of the build. Run the main method to print the results.
+ */
+public class FeatureModelBenchmark {
+
+    private static final int FEATURES = 200;
+    private static final int SCENARIOS_PER_FEATURE = 25;
+    private static final int ROWS_PER_FEATURE = 25;
+
+    public static void main(String[] args) throws Exception {
+        long before = usedHeap();
+        List<Object> model = load();
+        long after = usedHeap();
+        System.out.println(String.format("%d scenarios: %.1f MB", count(model), (after - before) / (1024.0 * 1024.0)));
+    }
+
+    private static List<Object> load() throws UnsupportedEncodingException {
+        List<CucumberFeature> cucumberFeatures = new ArrayList<CucumberFeature>();
+        FeatureBuilder builder = new FeatureBuilder(cucumberFeatures);
+        for (int f = 0; f < FEATURES; f++) {
+            builder.parse(new FeatureResource("features/feature" + f + ".feature", feature(f)), Collections.emptyList());
+        }
+
+        List<Object> model = new ArrayList<Object>();
+        for (CucumberFeature cucumberFeature : cucumberFeatures) {
+            model.add(cucumberFeature);
+            for (CucumberTagStatement statement : cucumberFeature.getFeatureElements()) {
+                if (statement instanceof CucumberScenarioOutline) {
+                    for (CucumberExamples cucumberExamples : ((CucumberScenarioOutline) statement).getCucumberExamplesList()) {
+                        model.addAll(cucumberExamples.createExampleScenarios());
+                    }
+                }
+            }
+        }
+        return model;
+    }
+
+    private static int count(List<Object> model) {
+        int scenarios = 0;
+        for (Object element : model) {
+            if (element instanceof CucumberFeature) {
+                for (CucumberTagStatement statement : ((CucumberFeature) element).getFeatureElements()) {
+                    if (statement instanceof CucumberScenario) {
+                        scenarios++;
+                    }
+                }
+            } else {
+                scenarios++;
+            }
+        }
+        return scenarios;
+    }
+
+    private static String feature(int f) {
+        StringBuilder gherkin = new StringBuilder();
+        gherkin.append("@regression @feature").append(f % 10).append("\n");
+        gherkin.append("Feature: Shopping cart ").append(f).append("\n\n");
+        gherkin.append("  Background:\n");
+        gherkin.append("    Given I am logged in as a customer\n");
+        gherkin.append("    And my cart is empty\n\n");
+        for (int s = 0; s < SCENARIOS_PER_FEATURE; s++) {
+            gherkin.append("  @smoke @wip\n");
+            gherkin.append("  Scenario: Add items ").append(s).append("\n");
+            gherkin.append("    Given the shop has the following items:\n");
+            gherkin.append("      | name     | price |\n");
+            gherkin.append("      | cucumber | 1     |\n");
+            gherkin.append("      | gherkin  | 2     |\n");
+            gherkin.append("    When I add ").append(s % 5).append(" cucumbers to my cart\n");
+            gherkin.append("    And I go to the checkout\n");
+            gherkin.append("    Then I should see ").append(s % 5).append(" items in my cart\n\n");
+        }
+        gherkin.append("  @outline\n");
+        gherkin.append("  Scenario Outline: Pay for items\n");
+        gherkin.append("    Given the shop has the following items:\n");
+        gherkin.append("      | name     | price |\n");
+        gherkin.append("      | cucumber | 1     |\n");
+        gherkin.append("    When I add <count> cucumbers to my cart\n");
+        gherkin.append("    And I go to the checkout\n");
+        gherkin.append("    Then I should pay <price> euros\n\n");
+        gherkin.append("    Examples:\n");
+        gherkin.append("      | count | price |\n");
+        for (int r = 0; r < ROWS_PER_FEATURE; r++) {
+            gherkin.append("      | ").append(r % 5).append(" | ").append(r % 5).append(" |\n");
+        }
+        return gherkin.toString();
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        java.lang.Runtime runtime = java.lang.Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static class FeatureResource implements Resource {
+        private final String path;
+        private final byte[] source;
+
+        FeatureResource(String path, String source) throws UnsupportedEncodingException {
+            this.path = path;
+            this.source = source.getBytes("UTF-8");
+        }
+
+        @Override
+        public String getPath() {
+            return path;
+        }
+
+        @Override
+        public String getAbsolutePath() {
+            return path;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(source);
+        }
+
+        @Override
+        public String getClassName(String extension) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package cucumber.runtime.model;
+
+import cucumber.runtime.CucumberException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static cucumber.runtime.TestHelper.feature;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FeatureShardTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void every_scenario_and_example_row_runs_in_exactly_one_shard() throws IOException {
+        List<String> all = new ArrayList<String>();
+        for (int i = 1; i <= 3; i++) {
+            all.addAll(lines(FeatureShard.parse(i + "/3", Collections.<String>emptyList()).select(features())));
+        }
+
+        List<String> expected = lines(features());
+        Collections.sort(all);
+        Collections.sort(expected);
+        assertEquals(expected, all);
+    }
+
+    @Test
+    public void selects_the_same_scenarios_every_time() throws IOException {
+        FeatureShard shard = FeatureShard.parse("2/3", Collections.<String>emptyList());
+
+        assertEquals(lines(shard.select(features())), lines(shard.select(features())));
+    }
+
+    @Test
+    public void balances_shards_by_the_durations_of_a_previous_run() throws IOException {
+        File report = temporaryFolder.newFile("cucumber.json");
+        write(report, "" +
+                "[{\"uri\": \"a.feature\", \"elements\": [\n" +
+                "  {\"type\": \"background\", \"line\": 2, \"steps\": [{\"result\": {\"duration\": 5}}]},\n" +
+                "  {\"type\": \"scenario\", \"line\": 4, \"steps\": [{\"result\": {\"duration\": 100}}]},\n" +
+                "  {\"type\": \"background\", \"line\": 2, \"steps\": [{\"result\": {\"duration\": 5}}]},\n" +
+                "  {\"type\": \"scenario\", \"line\": 6, \"steps\": [{\"result\": {\"duration\": 10}}]},\n" +
+                "  {\"type\": \"background\", \"line\": 2, \"steps\": [{\"result\": {\"duration\": 5}}]},\n" +
+                "  {\"type\": \"scenario\", \"line\": 13, \"before\": [{\"result\": {\"duration\": 40}}], \"steps\": [{\"result\": {\"duration\": 40}}]},\n" +
+                "  {\"type\": \"background\", \"line\": 2, \"steps\": [{\"result\": {\"duration\": 5}}]},\n" +
+                "  {\"type\": \"scenario\", \"line\": 14, \"steps\": [{\"result\": {\"duration\": 10}}]}\n" +
+                "]}]");
+        List<String> timings = asList(report.getPath(), new File(temporaryFolder.getRoot(), "missing.json").getPath());
+
+        // Row 12 and b.feature weren't run before, so they count as the average of 55
+        assertEquals(asList("a.feature:4", "b.feature:2"), lines(FeatureShard.parse("1/2", timings).select(features())));
+        assertEquals(asList("a.feature:6", "a.feature:12", "a.feature:13", "a.feature:14"), lines(FeatureShard.parse("2/2", timings).select(features())));
+    }
+
+    @Test
+    public void drops_features_without_scenarios_in_the_shard() throws IOException {
+        Set<String> paths = new HashSet<String>();
+        for (CucumberFeature cucumberFeature : FeatureShard.parse("1/1", Collections.<String>emptyList()).select(features())) {
+            paths.add(cucumberFeature.getPath());
+        }
+        assertEquals(2, paths.size());
+        for (int i = 1; i <= 20; i++) {
+            for (CucumberFeature cucumberFeature : FeatureShard.parse(i + "/20", Collections.<String>emptyList()).select(features())) {
+                assertTrue(!lines(asList(cucumberFeature)).isEmpty());
+            }
+        }
+    }
+
+    @Test(expected = CucumberException.class)
+    public void rejects_shards_out_of_range() {
+        FeatureShard.parse("0/3", Collections.<String>emptyList());
+    }
+
+    @Test(expected = CucumberException.class)
+    public void rejects_malformed_shards() {
+        FeatureShard.parse("three", Collections.<String>emptyList());
+    }
+
+    private List<CucumberFeature> features() throws IOException {
+        return new ArrayList<CucumberFeature>(asList(
+                feature("a.feature", "" +
+                        "Feature: a\n" +
+                        "  Background:\n" +
+                        "    Given a background step\n" +
+                        "  Scenario: first\n" +
+                        "    Given a step\n" +
+                        "  Scenario: second\n" +
+                        "    Given a step\n" +
+                        "  Scenario Outline: outline\n" +
+                        "    Given <thing>\n" +
+                        "    Examples:\n" +
+                        "      | thing |\n" +
+                        "      | one   |\n" +
+                        "      | two   |\n" +
+                        "      | three |\n"),
+                feature("b.feature", "" +
+                        "Feature: b\n" +
+                        "  Scenario: third\n" +
+                        "    Given a step\n")));
+    }
+
+    private List<String> lines(List<CucumberFeature> cucumberFeatures) {
+        List<String> lines = new ArrayList<String>();
+        for (CucumberFeature cucumberFeature : cucumberFeatures) {
+            for (CucumberTagStatement statement : cucumberFeature.getFeatureElements()) {
+                if (statement instanceof CucumberScenarioOutline) {
+                    for (CucumberExamples cucumberExamples : ((CucumberScenarioOutline) statement).getCucumberExamplesList()) {
+                        for (CucumberScenario scenario : cucumberExamples.exampleScenarios()) {
+                            lines.add(cucumberFeature.getPath() + ":" + scenario.getGherkinModel().getLine());
+                        }
+                    }
+                } else {
+                    lines.add(cucumberFeature.getPath() + ":" + statement.getGherkinModel().getLine());
+                }
+            }
+        }
+        return lines;
+    }
+
+    private void write(File file, String content) throws IOException {
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write(content);
+        } finally {
+            writer.close();
+        }
+    }
+}
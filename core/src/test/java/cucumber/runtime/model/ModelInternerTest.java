@@ -0,0 +1,55 @@
+package cucumber.runtime.model;
+
+import gherkin.formatter.model.Comment;
+import gherkin.formatter.model.DataTableRow;
+import gherkin.formatter.model.Scenario;
+import gherkin.formatter.model.Step;
+import gherkin.formatter.model.Tag;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class ModelInternerTest {
+    private static final List<Comment> C = Collections.emptyList();
+
+    private final ModelInterner interner = new ModelInterner();
+
+    @Test
+    public void shares_the_text_of_steps_with_the_same_text() {
+        Step first = interner.step(new Step(C, new String("Given "), new String("I have 4 cukes"), 3, rows("a", "b"), null));
+        Step second = interner.step(new Step(C, new String("Given "), new String("I have 4 cukes"), 7, rows("a", "c"), null));
+
+        assertEquals("I have 4 cukes", second.getName());
+        assertEquals(7, (int) second.getLine());
+        assertSame(first.getKeyword(), second.getKeyword());
+        assertSame(first.getName(), second.getName());
+        assertSame(first.getRows().get(0).getCells().get(0), second.getRows().get(0).getCells().get(0));
+        assertEquals(asList("a", "c"), second.getRows().get(0).getCells());
+    }
+
+    @Test
+    public void shares_the_names_of_tags() {
+        Scenario first = interner.scenario(new Scenario(C, asList(new Tag(new String("@wip"), 1)), "Scenario", "a", "", 2, "f;a"));
+        Scenario second = interner.scenario(new Scenario(C, asList(new Tag(new String("@wip"), 5)), "Scenario", "b", "", 6, "f;b"));
+
+        assertSame(first.getTags().get(0).getName(), second.getTags().get(0).getName());
+        assertEquals(5, (int) second.getTags().get(0).getLine());
+    }
+
+    private List<DataTableRow> rows(String... cells) {
+        return asList(new DataTableRow(C, asList(copies(cells)), 4));
+    }
+
+    private String[] copies(String... strings) {
+        String[] copies = new String[strings.length];
+        for (int i = 0; i < strings.length; i++) {
+            copies[i] = new String(strings[i]);
+        }
+        return copies;
+    }
+}
@@ -0,0 +1,96 @@
+package cucumber.runtime.model;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static cucumber.runtime.TestHelper.feature;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ScenarioTimingsTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void reads_what_it_wrote() {
+        File file = new File(temporaryFolder.getRoot(), "cucumber.timings");
+        ScenarioTimings timings = new ScenarioTimings();
+        timings.record("path with spaces/a.feature", 3, 1500);
+        timings.write(file);
+        timings.record("path with spaces/a.feature", 3, 20);
+        timings.write(file);
+
+        ScenarioTimings read = ScenarioTimings.read(file);
+        assertEquals(Long.valueOf(20), read.get("path with spaces/a.feature", 3));
+        assertNull(read.get("path with spaces/a.feature", 4));
+    }
+
+    @Test
+    public void has_no_timings_without_a_file() {
+        assertTrue(ScenarioTimings.read(new File(temporaryFolder.getRoot(), "missing")).isEmpty());
+    }
+
+    @Test
+    public void sorts_features_and_their_scenarios_longest_first() throws IOException {
+        ScenarioTimings timings = new ScenarioTimings();
+        timings.record("a.feature", 2, 10);
+        timings.record("a.feature", 4, 300);
+        timings.record("a.feature", 10, 100);
+        timings.record("a.feature", 11, 100);
+        timings.record("b.feature", 2, 1000);
+        timings.record("c.feature", 2, 10);
+        List<CucumberFeature> features = new ArrayList<CucumberFeature>(asList(
+                feature("a.feature", "" +
+                        "Feature: a\n" +
+                        "  Scenario: fast\n" +
+                        "    Given a step\n" +
+                        "  Scenario: slow\n" +
+                        "    Given a step\n" +
+                        "  Scenario Outline: outline\n" +
+                        "    Given <thing>\n" +
+                        "    Examples:\n" +
+                        "      | thing |\n" +
+                        "      | one   |\n" +
+                        "      | two   |\n" +
+                        "  Scenario: new\n" +
+                        "    Given a step\n"),
+                feature("b.feature", "" +
+                        "Feature: b\n" +
+                        "  Scenario: slowest\n" +
+                        "    Given a step\n"),
+                feature("c.feature", "" +
+                        "Feature: c\n" +
+                        "  Scenario: fastest\n" +
+                        "    Given a step\n")));
+
+        timings.sortLongestFirst(features);
+
+        // The new scenario counts as the average of the known ones, 253ms
+        assertEquals(asList("b.feature", "a.feature", "c.feature"), paths(features));
+        assertEquals(asList("slow", "new", "outline", "fast"), names(features.get(1)));
+    }
+
+    private List<String> paths(List<CucumberFeature> features) {
+        List<String> paths = new ArrayList<String>();
+        for (CucumberFeature feature : features) {
+            paths.add(feature.getPath());
+        }
+        return paths;
+    }
+
+    private List<String> names(CucumberFeature feature) {
+        List<String> names = new ArrayList<String>();
+        for (CucumberTagStatement statement : feature.getFeatureElements()) {
+            names.add(statement.getGherkinModel().getName());
+        }
+        return names;
+    }
+}
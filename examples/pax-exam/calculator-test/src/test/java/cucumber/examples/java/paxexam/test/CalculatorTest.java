@@ -25,7 +25,6 @@ import cucumber.api.CucumberOptions;
 import cucumber.java.runtime.osgi.OsgiClassFinder;
 import cucumber.java.runtime.osgi.PaxExamObjectFactory;
 import cucumber.runtime.Backend;
-import cucumber.runtime.ClassFinder;
 import cucumber.runtime.CucumberException;
 import cucumber.runtime.Runtime;
 import cucumber.runtime.RuntimeOptions;
@@ -73,15 +72,20 @@ public class CalculatorTest {
         final ResourceLoader resourceLoader = new FileResourceLoader();
         final ClassLoader classLoader = Runtime.class.getClassLoader();
         final ObjectFactory objectFactory = new PaxExamObjectFactory(injector);
-        final ClassFinder classFinder = new OsgiClassFinder(bundleContext);
-        final Backend backend = new JavaBackend(objectFactory, classFinder);
+        final OsgiClassFinder classFinder = new OsgiClassFinder(bundleContext);
+        final Runtime runtime;
+        try {
+            final Backend backend = new JavaBackend(objectFactory, classFinder);
 
-        final RuntimeOptionsFactory runtimeOptionsFactory = new RuntimeOptionsFactory(getClass());
-        final RuntimeOptions runtimeOptions = runtimeOptionsFactory.create();
+            final RuntimeOptionsFactory runtimeOptionsFactory = new RuntimeOptionsFactory(getClass());
+            final RuntimeOptions runtimeOptions = runtimeOptionsFactory.create();
 
-        final Runtime runtime = new Runtime(resourceLoader, classLoader, Collections.singleton(backend), runtimeOptions);
+            runtime = new Runtime(resourceLoader, classLoader, Collections.singleton(backend), runtimeOptions);
 
-        runtime.run();
+            runtime.run();
+        } finally {
+            classFinder.close();
+        }
 
         if (!runtime.getErrors().isEmpty()) {
             throw new CucumberException(runtime.getErrors().get(0));
@@ -1,8 +1,8 @@
 package cucumber.runtime.gosu;
 
 import cucumber.runtime.JdkPatternArgumentMatcher;
+import cucumber.runtime.JdkPatternStepDefinition;
 import cucumber.runtime.ParameterInfo;
-import cucumber.runtime.StepDefinition;
 import gherkin.I18n;
 import gherkin.formatter.Argument;
 import gherkin.formatter.model.Step;
@@ -14,7 +14,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
 
-public class GosuStepDefinition implements StepDefinition {
+public class GosuStepDefinition implements JdkPatternStepDefinition {
     private final Pattern pattern;
     private final StackTraceElement location;
     private final AbstractBlock block;
@@ -45,6 +45,11 @@ public class GosuStepDefinition implements StepDefinition {
         return argumentMatcher.argumentsFrom(step.getName());
     }
 
+    @Override
+    public boolean isMatchedByJdkPattern() {
+        return true;
+    }
+
     @Override
     public String getLocation(boolean detail) {
         return location.getFileName() + ":" + location.getLineNumber();
@@ -3,6 +3,7 @@ package cucumber.runtime.groovy;
 import cucumber.runtime.Backend;
 import cucumber.runtime.ClassFinder;
 import cucumber.runtime.CucumberException;
+import cucumber.runtime.Env;
 import cucumber.runtime.Glue;
 import cucumber.runtime.UnreportedStepExecutor;
 import cucumber.runtime.io.Resource;
@@ -18,12 +19,16 @@ import groovy.lang.GroovyShell;
 import groovy.lang.Script;
 import org.codehaus.groovy.control.CompilerConfiguration;
 import org.codehaus.groovy.runtime.DefaultGroovyMethods;
+import org.codehaus.groovy.runtime.InvokerHelper;
 import org.codehaus.groovy.runtime.InvokerInvocationException;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
@@ -32,12 +37,20 @@ import java.util.regex.Pattern;
 import static cucumber.runtime.io.MultiLoader.packageName;
 
 public class GroovyBackend implements Backend {
+    /**
+     * Directory in which compiled glue scripts are kept between runs. Scripts are compiled on every run when it isn't set,
+     * or when the backend is given a shell without the compiler configuration the shell was created with.
+     */
+    public static final String GLUE_CACHE_KEY = "groovy.glue.cache";
+    private static final Env ENV = Env.INSTANCE;
+
     public static ThreadLocal<GroovyBackend> instanceThreadLocal = new ThreadLocal<GroovyBackend>();
     private final Set<Class> scripts = new HashSet<Class>();
     private final SnippetGenerator snippetGenerator = new SnippetGenerator(new GroovySnippet());
     private final ResourceLoader resourceLoader;
     private final GroovyShell shell;
     private final ClassFinder classFinder;
+    private final GroovyScriptCache scriptCache;
 
     private Collection<Closure> worldClosures = new LinkedList<Closure>();
     private GroovyWorld world;
@@ -47,22 +60,40 @@ public class GroovyBackend implements Backend {
         return instanceThreadLocal.get();
     }
 
-    private static GroovyShell createShell() {
+    private static CompilerConfiguration createCompilerConfiguration() {
         CompilerConfiguration compilerConfig = new CompilerConfiguration();
         // Probably not needed:
         // compilerConfig.addCompilationCustomizers(new ASTTransformationCustomizer(ThreadInterrupt.class));
-        return new GroovyShell(Thread.currentThread().getContextClassLoader(), new Binding(), compilerConfig);
+        return compilerConfig;
     }
 
     public GroovyBackend(ResourceLoader resourceLoader) {
-        this(createShell(), resourceLoader);
+        this(createCompilerConfiguration(), resourceLoader);
+    }
+
+    private GroovyBackend(CompilerConfiguration compilerConfiguration, ResourceLoader resourceLoader) {
+        this(new GroovyShell(Thread.currentThread().getContextClassLoader(), new Binding(), compilerConfiguration), compilerConfiguration, resourceLoader);
     }
 
     public GroovyBackend(GroovyShell shell, ResourceLoader resourceLoader) {
+        this(shell, null, resourceLoader);
+    }
+
+    /**
+     * @param shell                 the shell that runs the glue scripts.
+     * @param compilerConfiguration the configuration the shell was created with, used to compile cached glue scripts.
+     *                              Glue scripts aren't cached when it's null.
+     * @param resourceLoader        the resource loader.
+     */
+    public GroovyBackend(GroovyShell shell, CompilerConfiguration compilerConfiguration, ResourceLoader resourceLoader) {
         this.shell = shell;
         this.resourceLoader = resourceLoader;
         instanceThreadLocal.set(this);
         classFinder = new ResourceLoaderClassFinder(resourceLoader, shell.getClassLoader());
+        String cacheDirectory = ENV.get(GLUE_CACHE_KEY);
+        scriptCache = cacheDirectory == null || compilerConfiguration == null
+                ? null
+                : new GroovyScriptCache(new File(cacheDirectory), shell.getClassLoader(), compilerConfiguration);
     }
 
     @Override
@@ -70,10 +101,30 @@ public class GroovyBackend implements Backend {
         this.glue = glue;
         final Binding context = shell.getContext();
 
+        // The scripts of all glue paths are cached together, as they may use each other's classes
+        List<List<Resource>> resourcesOfGluePaths = new ArrayList<List<Resource>>();
+        List<Resource> allResources = new ArrayList<Resource>();
         for (String gluePath : gluePaths) {
-            // Load sources
+            List<Resource> resources = new ArrayList<Resource>();
             for (Resource resource : resourceLoader.resources(gluePath, ".groovy")) {
-                Script script = parse(resource);
+                resources.add(resource);
+            }
+            resourcesOfGluePaths.add(resources);
+            allResources.addAll(resources);
+        }
+        Iterator<Class<?>> cachedScripts = null;
+        if (scriptCache != null) {
+            List<Class<?>> scriptClasses = scriptCache.load(allResources);
+            cachedScripts = scriptClasses == null ? null : scriptClasses.iterator();
+        }
+
+        for (int i = 0; i < gluePaths.size(); i++) {
+            String gluePath = gluePaths.get(i);
+            // Load sources
+            for (Resource resource : resourcesOfGluePaths.get(i)) {
+                Script script = cachedScripts != null
+                        ? InvokerHelper.createScript(cachedScripts.next(), context)
+                        : parse(resource);
                 runIfScript(context, script);
             }
             // Load compiled scripts
@@ -0,0 +1,554 @@
+package cucumber.runtime.groovy;
+
+import cucumber.runtime.CucumberException;
+import cucumber.runtime.io.Resource;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovySystem;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.groovy.tools.GroovyClass;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the compiled classes of glue scripts in a directory, so that unchanged scripts don't have to be compiled
+ * again by the next run (or by another fork). Entries are stored under the running Groovy version, in a directory
+ * per script path that holds the entry of the script's current content. Editing a script or upgrading Groovy
+ * recompiles it, and the entries of earlier versions and of deleted scripts are removed.
+ * <p>
+ * The scripts that need compiling are compiled together, against the classes of the cached scripts, so that a script
+ * can use the classes another script declares. Each entry records the scripts whose classes it uses, and is compiled
+ * again when one of those is. All the scripts are loaded by one class loader.
+ */
+class GroovyScriptCache {
+    private static final String SCRIPT_FILE = "script";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final File directory;
+    private final ClassLoader parent;
+    private final CompilerConfiguration compilerConfiguration;
+
+    GroovyScriptCache(File directory, ClassLoader parent, CompilerConfiguration compilerConfiguration) {
+        this.directory = new File(directory, GroovySystem.getVersion());
+        this.parent = parent;
+        this.compilerConfiguration = compilerConfiguration;
+    }
+
+    /**
+     * Loads the glue scripts from the cache, compiling the ones that aren't cached yet first.
+     *
+     * @param resources the glue scripts.
+     * @return the class compiled from each resource (a {@link groovy.lang.Script}, unless the resource only declares a class), in
+     * the same order, or null if the scripts can't share a class loader because two of them declare a class with the
+     * same name, or if they don't compile.
+     */
+    List<Class<?>> load(List<Resource> resources) {
+        Map<String, ScriptSource> sources = new LinkedHashMap<String, ScriptSource>();
+        Set<String> fileNames = new HashSet<String>();
+        for (Resource resource : resources) {
+            ScriptSource source = read(resource);
+            // A script's class is named after its file
+            if (!fileNames.add(new File(source.name).getName())) {
+                return null;
+            }
+            sources.put(source.name, source);
+        }
+
+        Map<String, CachedScript> cached = new HashMap<String, CachedScript>();
+        for (ScriptSource source : sources.values()) {
+            CachedScript script = CachedScript.read(entry(source));
+            if (script != null) {
+                cached.put(source.name, script);
+            }
+        }
+        Set<String> missing = missing(sources, cached);
+
+        CachedClassLoader classLoader = new CachedClassLoader(parent);
+        Map<String, ScriptSource> scriptOfClass = new HashMap<String, ScriptSource>();
+        for (ScriptSource source : sources.values()) {
+            if (!missing.contains(source.name) && !add(classLoader, entry(source), source, scriptOfClass)) {
+                return null;
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<ScriptSource> compiled = new ArrayList<ScriptSource>();
+            for (String name : missing) {
+                compiled.add(sources.get(name));
+            }
+            try {
+                compile(compiled, classLoader, scriptOfClass);
+            } catch (CompilationFailedException e) {
+                // Compiled again, and reported, without the cache
+                return null;
+            }
+            for (ScriptSource source : compiled) {
+                if (!add(classLoader, entry(source), source, scriptOfClass)) {
+                    return null;
+                }
+                cached.put(source.name, CachedScript.read(entry(source)));
+            }
+            removeDeletedScripts();
+        }
+
+        List<Class<?>> scriptClasses = new ArrayList<Class<?>>();
+        for (ScriptSource source : sources.values()) {
+            CachedScript script = cached.get(source.name);
+            if (script == null) {
+                throw new CucumberException("Failed to read Groovy glue cache entry " + entry(source));
+            }
+            try {
+                scriptClasses.add(classLoader.loadClass(script.mainClass));
+            } catch (ClassNotFoundException e) {
+                throw new CucumberException("Corrupt Groovy glue cache entry " + entry(source), e);
+            }
+        }
+        return scriptClasses;
+    }
+
+    /**
+     * @return the scripts that aren't cached, and the cached scripts that use classes of those, or of scripts that
+     * changed since they were compiled.
+     */
+    private static Set<String> missing(Map<String, ScriptSource> sources, Map<String, CachedScript> cached) {
+        Set<String> missing = new LinkedHashSet<String>();
+        for (ScriptSource source : sources.values()) {
+            if (!cached.containsKey(source.name)) {
+                missing.add(source.name);
+            }
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (ScriptSource source : sources.values()) {
+                if (!missing.contains(source.name) && !cached.get(source.name).isUpToDate(sources, missing)) {
+                    missing.add(source.name);
+                    changed = true;
+                }
+            }
+        }
+        return missing;
+    }
+
+    private static boolean add(CachedClassLoader classLoader, File entry, ScriptSource source, Map<String, ScriptSource> scriptOfClass) {
+        try {
+            Collection<String> classNames = classLoader.add(entry);
+            if (classNames == null) {
+                return false;
+            }
+            for (String className : classNames) {
+                scriptOfClass.put(className, source);
+            }
+            return true;
+        } catch (IOException e) {
+            throw new CucumberException("Corrupt Groovy glue cache entry " + entry, e);
+        }
+    }
+
+    private File entry(ScriptSource source) {
+        return new File(new File(directory, source.pathHash), source.contentHash);
+    }
+
+    private void compile(List<ScriptSource> sources, ClassLoader classLoader, Map<String, ScriptSource> scriptOfCachedClass) {
+        CompilationUnit unit = new CompilationUnit(compilerConfiguration, null, new GroovyClassLoader(classLoader, compilerConfiguration));
+        Map<ScriptSource, SourceUnit> sourceUnits = new LinkedHashMap<ScriptSource, SourceUnit>();
+        for (ScriptSource source : sources) {
+            sourceUnits.put(source, unit.addSource(source.name, source.text));
+        }
+        unit.compile(Phases.CLASS_GENERATION);
+
+        Map<String, ScriptSource> scriptOfClass = new HashMap<String, ScriptSource>(scriptOfCachedClass);
+        Map<String, ScriptSource> scriptOfTopLevelClass = new HashMap<String, ScriptSource>();
+        for (Map.Entry<ScriptSource, SourceUnit> sourceUnit : sourceUnits.entrySet()) {
+            for (ClassNode classNode : sourceUnit.getValue().getAST().getClasses()) {
+                scriptOfTopLevelClass.put(classNode.getName(), sourceUnit.getKey());
+            }
+        }
+        Map<ScriptSource, List<GroovyClass>> classesOfScript = new HashMap<ScriptSource, List<GroovyClass>>();
+        for (Object compiled : unit.getClasses()) {
+            GroovyClass groovyClass = (GroovyClass) compiled;
+            ScriptSource source = scriptOf(groovyClass.getName(), scriptOfTopLevelClass);
+            List<GroovyClass> classes = classesOfScript.get(source);
+            if (classes == null) {
+                classes = new ArrayList<GroovyClass>();
+                classesOfScript.put(source, classes);
+            }
+            classes.add(groovyClass);
+            scriptOfClass.put(groovyClass.getName(), source);
+        }
+
+        for (Map.Entry<ScriptSource, SourceUnit> sourceUnit : sourceUnits.entrySet()) {
+            ScriptSource source = sourceUnit.getKey();
+            List<GroovyClass> classes = classesOfScript.get(source);
+            Set<ScriptSource> dependencies = new LinkedHashSet<ScriptSource>();
+            for (GroovyClass groovyClass : classes) {
+                for (String className : referencedClassNames(groovyClass.getBytes())) {
+                    ScriptSource dependency = scriptOfClass.get(className);
+                    if (dependency != null && dependency != source) {
+                        dependencies.add(dependency);
+                    }
+                }
+            }
+            String mainClass = sourceUnit.getValue().getAST().getClasses().get(0).getName();
+            write(source, classes, new CachedScript(mainClass, source.name, dependencies));
+        }
+    }
+
+    private static ScriptSource scriptOf(String className, Map<String, ScriptSource> scriptOfTopLevelClass) {
+        // Closures and inner classes are named after the class they are declared in
+        String name = className;
+        while (!scriptOfTopLevelClass.containsKey(name) && name.lastIndexOf('$') != -1) {
+            name = name.substring(0, name.lastIndexOf('$'));
+        }
+        ScriptSource source = scriptOfTopLevelClass.get(name);
+        if (source == null) {
+            throw new CucumberException("Couldn't tell which Groovy glue script declares " + className);
+        }
+        return source;
+    }
+
+    private File write(ScriptSource source, List<GroovyClass> classes, CachedScript script) {
+        // Written to a private directory first and then renamed, so that concurrent runs never see half an entry.
+        File entry = entry(source);
+        File staging = new File(entry.getParentFile(), source.contentHash + "." + Thread.currentThread().getId() + "." + System.nanoTime());
+        try {
+            for (GroovyClass groovyClass : classes) {
+                write(new File(staging, groovyClass.getName().replace('.', File.separatorChar) + ".class"), groovyClass.getBytes());
+            }
+            write(new File(staging, SCRIPT_FILE), script.toString().getBytes("UTF-8"));
+        } catch (IOException e) {
+            delete(staging);
+            throw new CucumberException("Failed to write Groovy glue cache entry " + entry, e);
+        }
+        // The entry of the same content is out of date when a script it uses changed
+        delete(entry);
+        if (!staging.renameTo(entry)) {
+            // Another run cached the same script in the meantime
+            delete(staging);
+            if (!entry.isDirectory()) {
+                throw new CucumberException("Failed to create Groovy glue cache entry " + entry);
+            }
+        }
+        removeEarlierVersions(entry);
+        return entry;
+    }
+
+    private static void removeEarlierVersions(File entry) {
+        File[] versions = entry.getParentFile().listFiles();
+        if (versions == null) {
+            return;
+        }
+        for (File version : versions) {
+            // Names with a dot are entries that another run is still writing
+            if (!version.equals(entry) && version.getName().indexOf('.') == -1) {
+                delete(version);
+            }
+        }
+    }
+
+    /**
+     * Removes the entries of scripts that were read from a directory that still exists, but are no longer in it.
+     */
+    private void removeDeletedScripts() {
+        File[] scripts = directory.listFiles();
+        if (scripts == null) {
+            return;
+        }
+        for (File script : scripts) {
+            File[] versions = script.listFiles();
+            if (versions == null) {
+                continue;
+            }
+            for (File version : versions) {
+                CachedScript cachedScript = CachedScript.read(version);
+                if (cachedScript == null) {
+                    continue;
+                }
+                File source = new File(cachedScript.sourceName);
+                if (!source.exists() && source.getParentFile() != null && source.getParentFile().isDirectory()) {
+                    delete(script);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the names of the classes a class file refers to, and some other names from its constant pool.
+     */
+    static Set<String> referencedClassNames(byte[] classFile) {
+        Set<String> names = new HashSet<String>();
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(classFile));
+            in.skipBytes(8);
+            int constantPoolCount = in.readUnsignedShort();
+            for (int i = 1; i < constantPoolCount; i++) {
+                int tag = in.readUnsignedByte();
+                switch (tag) {
+                    case 1: // Utf8, which holds class names and the descriptors that mention classes
+                        addClassNames(in.readUTF(), names);
+                        break;
+                    case 7: // Class
+                    case 8: // String
+                    case 16: // MethodType
+                    case 19: // Module
+                    case 20: // Package
+                        in.skipBytes(2);
+                        break;
+                    case 15: // MethodHandle
+                        in.skipBytes(3);
+                        break;
+                    case 3: // Integer
+                    case 4: // Float
+                    case 9: // Fieldref
+                    case 10: // Methodref
+                    case 11: // InterfaceMethodref
+                    case 12: // NameAndType
+                    case 17: // Dynamic
+                    case 18: // InvokeDynamic
+                        in.skipBytes(4);
+                        break;
+                    case 5: // Long
+                    case 6: // Double
+                        in.skipBytes(8);
+                        i++;
+                        break;
+                    default:
+                        throw new CucumberException("Unknown constant pool tag " + tag + " in a compiled Groovy glue class");
+                }
+            }
+        } catch (IOException e) {
+            throw new CucumberException(e);
+        }
+        return names;
+    }
+
+    private static void addClassNames(String constant, Set<String> names) {
+        names.add(constant.replace('/', '.'));
+        int start = constant.indexOf('L');
+        while (start != -1) {
+            int end = constant.indexOf(';', start);
+            if (end == -1) {
+                return;
+            }
+            names.add(constant.substring(start + 1, end).replace('/', '.'));
+            start = constant.indexOf('L', start + 1);
+        }
+    }
+
+    private static ScriptSource read(Resource resource) {
+        try {
+            byte[] content = readFully(resource.getInputStream());
+            String pathHash = hex(MessageDigest.getInstance("SHA-1").digest(resource.getAbsolutePath().getBytes("UTF-8")));
+            String contentHash = hex(MessageDigest.getInstance("SHA-1").digest(content));
+            return new ScriptSource(resource.getAbsolutePath(), new String(content, "UTF-8"), pathHash, contentHash);
+        } catch (IOException e) {
+            throw new CucumberException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new CucumberException(e);
+        }
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    private static void write(File file, byte[] bytes) throws IOException {
+        File parentDirectory = file.getParentFile();
+        if (!parentDirectory.isDirectory() && !parentDirectory.mkdirs()) {
+            throw new IOException("Failed to create directory " + parentDirectory);
+        }
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(bytes);
+        } finally {
+            out.close();
+        }
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private static String hex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    private static class ScriptSource {
+        private final String name;
+        private final String text;
+        private final String pathHash;
+        private final String contentHash;
+
+        ScriptSource(String name, String text, String pathHash, String contentHash) {
+            this.name = name;
+            this.text = text;
+            this.pathHash = pathHash;
+            this.contentHash = contentHash;
+        }
+    }
+
+    /**
+     * What an entry records about its script: the script class, the script's path, and the content hash and path of
+     * each script whose classes it uses, one per line.
+     */
+    private static class CachedScript {
+        private final String mainClass;
+        private final String sourceName;
+        private final List<String> dependencies;
+
+        CachedScript(String mainClass, String sourceName, Collection<ScriptSource> dependencies) {
+            this.mainClass = mainClass;
+            this.sourceName = sourceName;
+            this.dependencies = new ArrayList<String>();
+            for (ScriptSource dependency : dependencies) {
+                this.dependencies.add(dependency.contentHash + " " + dependency.name);
+            }
+        }
+
+        private CachedScript(List<String> lines) {
+            this.mainClass = lines.get(0);
+            this.sourceName = lines.get(1);
+            this.dependencies = lines.subList(2, lines.size());
+        }
+
+        /**
+         * @return the script recorded in the entry, or null if there is no such entry.
+         */
+        static CachedScript read(File entry) {
+            File scriptFile = new File(entry, SCRIPT_FILE);
+            if (!scriptFile.isFile()) {
+                return null;
+            }
+            try {
+                List<String> lines = Arrays.asList(new String(readFully(new FileInputStream(scriptFile)), "UTF-8").split("\n"));
+                return lines.size() < 2 ? null : new CachedScript(lines);
+            } catch (IOException e) {
+                // Removed by another run in the meantime
+                return null;
+            }
+        }
+
+        boolean isUpToDate(Map<String, ScriptSource> sources, Set<String> missing) {
+            for (String dependency : dependencies) {
+                int separator = dependency.indexOf(' ');
+                String contentHash = dependency.substring(0, separator);
+                String name = dependency.substring(separator + 1);
+                ScriptSource source = sources.get(name);
+                if (source == null || !source.contentHash.equals(contentHash) || missing.contains(name)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder lines = new StringBuilder(mainClass).append('\n').append(sourceName);
+            for (String dependency : dependencies) {
+                lines.append('\n').append(dependency);
+            }
+            return lines.toString();
+        }
+    }
+
+    /**
+     * Loads the classes of the cache entries added to it. The class files are read when the entry is added, so
+     * that removing the entry later doesn't break classes that haven't been loaded yet.
+     */
+    private static class CachedClassLoader extends ClassLoader {
+        private final Map<String, byte[]> classes = new HashMap<String, byte[]>();
+        private final Set<String> classNames = new HashSet<String>();
+
+        CachedClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        /**
+         * @param entry a cache entry.
+         * @return the names of the classes of the entry, or null if another entry already added one of them.
+         */
+        synchronized Collection<String> add(File entry) throws IOException {
+            Map<String, File> classFiles = new HashMap<String, File>();
+            collectClassFiles(entry, "", classFiles);
+            for (String name : classFiles.keySet()) {
+                if (classNames.contains(name)) {
+                    return null;
+                }
+            }
+            for (Map.Entry<String, File> classFile : classFiles.entrySet()) {
+                classes.put(classFile.getKey(), readFully(new FileInputStream(classFile.getValue())));
+                classNames.add(classFile.getKey());
+            }
+            return classFiles.keySet();
+        }
+
+        private static void collectClassFiles(File directory, String packagePrefix, Map<String, File> classFiles) {
+            File[] files = directory.listFiles();
+            if (files == null) {
+                return;
+            }
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    collectClassFiles(file, packagePrefix + file.getName() + ".", classFiles);
+                } else if (file.getName().endsWith(".class")) {
+                    String name = file.getName();
+                    classFiles.put(packagePrefix + name.substring(0, name.length() - ".class".length()), file);
+                }
+            }
+        }
+
+        @Override
+        protected synchronized Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classes.remove(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
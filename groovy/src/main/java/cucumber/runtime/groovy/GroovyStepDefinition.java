@@ -1,8 +1,8 @@
 package cucumber.runtime.groovy;
 
 import cucumber.runtime.JdkPatternArgumentMatcher;
+import cucumber.runtime.JdkPatternStepDefinition;
 import cucumber.runtime.ParameterInfo;
-import cucumber.runtime.StepDefinition;
 import cucumber.runtime.Timeout;
 import gherkin.I18n;
 import gherkin.formatter.Argument;
@@ -15,7 +15,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
 
-public class GroovyStepDefinition implements StepDefinition {
+public class GroovyStepDefinition implements JdkPatternStepDefinition {
     private final Pattern pattern;
     private final long timeoutMillis;
     private final Closure body;
@@ -40,6 +40,10 @@ public class GroovyStepDefinition implements StepDefinition {
         return argumentMatcher.argumentsFrom(step.getName());
     }
 
+    public boolean isMatchedByJdkPattern() {
+        return true;
+    }
+
     public String getLocation(boolean detail) {
         return location.getFileName() + ":" + location.getLineNumber();
     }
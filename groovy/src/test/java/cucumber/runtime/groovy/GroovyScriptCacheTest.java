@@ -0,0 +1,204 @@
+package cucumber.runtime.groovy;
+
+import cucumber.runtime.io.Resource;
+import groovy.lang.GroovySystem;
+import groovy.lang.Script;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GroovyScriptCacheTest {
+    private static final String HELPER = "class Helper { static int answer() { 42 } }";
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void loads_compiled_script_from_cache() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        Resource resource = new ScriptResource("/glue/stepdefs.groovy", "answer = 42");
+
+        Class<?> compiled = load(newCache(directory), resource).get(0);
+        Class<?> cached = load(newCache(directory), resource).get(0);
+
+        assertEquals(compiled.getName(), cached.getName());
+        assertEquals(42, run(cached));
+        assertEquals(1, new File(directory, GroovySystem.getVersion()).list().length);
+    }
+
+    @Test
+    public void recompiles_changed_script() throws Exception {
+        File directory = temporaryFolder.newFolder();
+
+        assertEquals(1, run(load(newCache(directory), new ScriptResource("/glue/stepdefs.groovy", "answer = 1")).get(0)));
+        assertEquals(2, run(load(newCache(directory), new ScriptResource("/glue/stepdefs.groovy", "answer = 2")).get(0)));
+        assertEquals(2, run(load(newCache(directory), new ScriptResource("/glue/stepdefs.groovy", "answer = 2")).get(0)));
+    }
+
+    @Test
+    public void removes_the_entry_of_the_earlier_version_of_a_changed_script() throws Exception {
+        File directory = temporaryFolder.newFolder();
+
+        load(newCache(directory), new ScriptResource("/glue/stepdefs.groovy", "answer = 1"));
+        load(newCache(directory), new ScriptResource("/glue/stepdefs.groovy", "answer = 2"));
+
+        File[] scripts = new File(directory, GroovySystem.getVersion()).listFiles();
+        assertEquals(1, scripts.length);
+        assertEquals(1, scripts[0].list().length);
+    }
+
+    @Test
+    public void removes_the_entries_of_deleted_scripts() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        File glue = temporaryFolder.newFolder("glue");
+        File kept = new File(glue, "kept.groovy");
+        File deleted = new File(glue, "deleted.groovy");
+        load(newCache(directory),
+                new ScriptResource(kept.getAbsolutePath(), "answer = 1"),
+                new ScriptResource(deleted.getAbsolutePath(), "answer = 2"));
+        assertTrue(kept.createNewFile());
+
+        load(newCache(directory), new ScriptResource(kept.getAbsolutePath(), "answer = 3"));
+
+        assertEquals(1, new File(directory, GroovySystem.getVersion()).list().length);
+    }
+
+    @Test
+    public void loads_scripts_with_one_class_loader() throws Exception {
+        List<Class<?>> scripts = load(newCache(temporaryFolder.newFolder()),
+                new ScriptResource("/glue/first.groovy", "answer = 1"),
+                new ScriptResource("/glue/second.groovy", "answer = 2"));
+
+        assertSame(scripts.get(0).getClassLoader(), scripts.get(1).getClassLoader());
+        assertEquals(1, run(scripts.get(0)));
+        assertEquals(2, run(scripts.get(1)));
+    }
+
+    @Test
+    public void leaves_scripts_with_the_same_name_to_the_shell() throws Exception {
+        List<Class<?>> scripts = load(newCache(temporaryFolder.newFolder()),
+                new ScriptResource("/one/stepdefs.groovy", "answer = 1"),
+                new ScriptResource("/two/stepdefs.groovy", "answer = 2"));
+
+        assertNull(scripts);
+    }
+
+    @Test
+    public void compiles_scripts_that_use_classes_of_other_scripts() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        Resource stepdefs = new ScriptResource("/glue/stepdefs.groovy", "answer = Helper.answer()");
+        Resource helper = new ScriptResource("/glue/helper.groovy", HELPER);
+
+        assertEquals(42, run(load(newCache(directory), stepdefs, helper).get(0)));
+        assertEquals(42, run(load(newCache(directory), stepdefs, helper).get(0)));
+    }
+
+    @Test
+    public void compiles_scripts_that_use_classes_of_cached_scripts() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        Resource helper = new ScriptResource("/glue/helper.groovy", HELPER);
+        load(newCache(directory), helper);
+
+        List<Class<?>> scripts = load(newCache(directory), helper, new ScriptResource("/glue/stepdefs.groovy", "answer = Helper.answer()"));
+
+        assertEquals(42, run(scripts.get(1)));
+    }
+
+    @Test
+    public void recompiles_scripts_that_use_classes_of_a_changed_script() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        Resource stepdefs = new ScriptResource("/glue/stepdefs.groovy", "answer = Helper.answer()");
+        Resource unrelated = new ScriptResource("/glue/unrelated.groovy", "answer = 1");
+        load(newCache(directory), stepdefs, unrelated, new ScriptResource("/glue/helper.groovy", HELPER));
+        File stepdefsMarker = new File(entryOf(directory, "/glue/stepdefs.groovy"), "marker");
+        File unrelatedMarker = new File(entryOf(directory, "/glue/unrelated.groovy"), "marker");
+        assertTrue(stepdefsMarker.createNewFile());
+        assertTrue(unrelatedMarker.createNewFile());
+
+        List<Class<?>> scripts = load(newCache(directory), stepdefs, unrelated,
+                new ScriptResource("/glue/helper.groovy", "class Helper { static int answer() { 43 } }"));
+
+        assertEquals(43, run(scripts.get(0)));
+        assertFalse(stepdefsMarker.exists());
+        assertTrue(unrelatedMarker.exists());
+    }
+
+    private GroovyScriptCache newCache(File directory) {
+        return new GroovyScriptCache(directory, getClass().getClassLoader(), new CompilerConfiguration());
+    }
+
+    private List<Class<?>> load(GroovyScriptCache cache, Resource... resources) {
+        return cache.load(asList(resources));
+    }
+
+    private Object run(Class<?> scriptClass) throws Exception {
+        Script script = (Script) scriptClass.newInstance();
+        script.run();
+        return script.getBinding().getVariable("answer");
+    }
+
+    private File entryOf(File directory, String path) throws IOException {
+        for (File script : new File(directory, GroovySystem.getVersion()).listFiles()) {
+            for (File entry : script.listFiles()) {
+                Reader reader = new InputStreamReader(new FileInputStream(new File(entry, "script")), "UTF-8");
+                try {
+                    char[] buffer = new char[8192];
+                    String content = new String(buffer, 0, reader.read(buffer));
+                    if (content.split("\n")[1].equals(path)) {
+                        return entry;
+                    }
+                } finally {
+                    reader.close();
+                }
+            }
+        }
+        throw new AssertionError("No entry for " + path);
+    }
+
+    private static class ScriptResource implements Resource {
+        private final String path;
+        private final String text;
+
+        ScriptResource(String path, String text) {
+            this.path = path;
+            this.text = text;
+        }
+
+        @Override
+        public String getPath() {
+            return path;
+        }
+
+        @Override
+        public String getAbsolutePath() {
+            return path;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new ByteArrayInputStream(text.getBytes("UTF-8"));
+        }
+
+        @Override
+        public String getClassName(String extension) {
+            return null;
+        }
+    }
+}
@@ -10,4 +10,10 @@ import cucumber.runtime.java.guice.impl.ScenarioModule;
  */
 public class CucumberModules {
     public static final Module SCENARIO = new ScenarioModule(CucumberScopes.SCENARIO);
+
+    /**
+     * Same as {@link #SCENARIO} but bound to {@link CucumberScopes#CONCURRENT_SCENARIO}, so that scenarios may be
+     * run on several threads at the same time.
+     */
+    public static final Module CONCURRENT_SCENARIO = new ScenarioModule(CucumberScopes.CONCURRENT_SCENARIO);
 }
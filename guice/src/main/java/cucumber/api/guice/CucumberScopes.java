@@ -1,6 +1,7 @@
 package cucumber.api.guice;
 
 import cucumber.runtime.java.guice.ScenarioScope;
+import cucumber.runtime.java.guice.impl.ConcurrentScenarioScope;
 import cucumber.runtime.java.guice.impl.SequentialScenarioScope;
 
 /**
@@ -9,4 +10,10 @@ import cucumber.runtime.java.guice.impl.SequentialScenarioScope;
  */
 public class CucumberScopes {
     public static final ScenarioScope SCENARIO = new SequentialScenarioScope();
+
+    /**
+     * A scenario scope that allows one scenario per thread to be in progress at the same time. Use this scope when
+     * scenarios are run by a multi-threaded runner.
+     */
+    public static final ScenarioScope CONCURRENT_SCENARIO = new ConcurrentScenarioScope();
 }
@@ -0,0 +1,63 @@
+package cucumber.runtime.java.guice.impl;
+
+import com.google.inject.Key;
+import com.google.inject.OutOfScopeException;
+import com.google.inject.Provider;
+import cucumber.runtime.java.guice.ScenarioScope;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A scenario scope that keeps one set of scenario values per execution slot (thread). Unlike
+ * {@link SequentialScenarioScope} several scenarios may be in progress at the same time as long as each of them
+ * runs on its own thread, which makes this scope suitable for multi-threaded runners.
+ */
+public class ConcurrentScenarioScope implements ScenarioScope {
+
+    private final ThreadLocal<Map<Key<?>, Object>> scenarioValues = new ThreadLocal<Map<Key<?>, Object>>();
+
+    @Override
+    public <T> Provider<T> scope(final Key<T> key, final Provider<T> unscoped) {
+        return new Provider<T>() {
+            public T get() {
+                Map<Key<?>, Object> values = scenarioValues.get();
+                if (values == null) {
+                    throw new OutOfScopeException("Cannot access " + key + " outside of a scoping block");
+                }
+
+                @SuppressWarnings("unchecked")
+                T current = (T) values.get(key);
+                if (current == null && !values.containsKey(key)) {
+                    current = unscoped.get();
+                    values.put(key, current);
+                }
+                return current;
+            }
+
+            @Override
+            public String toString() {
+                return unscoped.toString();
+            }
+        };
+    }
+
+    @Override
+    public void enterScope() {
+        checkState(scenarioValues.get() == null, "A scoping block is already in progress on this thread");
+        scenarioValues.set(new HashMap<Key<?>, Object>());
+    }
+
+    @Override
+    public void exitScope() {
+        checkState(scenarioValues.get() != null, "No scoping block in progress on this thread");
+        scenarioValues.remove();
+    }
+
+    private void checkState(boolean expression, String errorMessage) {
+        if (!expression) {
+            throw new IllegalStateException(errorMessage);
+        }
+    }
+
+}
@@ -1,16 +1,22 @@
 package cucumber.runtime.java.guice.impl;
 
 import com.google.inject.Injector;
+import com.google.inject.Provider;
 import cucumber.api.java.ObjectFactory;
 import cucumber.runtime.Env;
 import cucumber.runtime.java.guice.ScenarioScope;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * Guice implementation of the <code>cucumber.api.java.ObjectFactory</code>.
  */
 public class GuiceFactory implements ObjectFactory {
 
     private final Injector injector;
+    private final ConcurrentMap<Class<?>, Provider<?>> providers = new ConcurrentHashMap<Class<?>, Provider<?>>();
+    private volatile ScenarioScope scenarioScope;
 
     public GuiceFactory() {
         this(new InjectorSourceFactory(Env.INSTANCE).create().getInjector());
@@ -31,15 +37,39 @@ public class GuiceFactory implements ObjectFactory {
     }
 
     public void start() {
-        injector.getInstance(ScenarioScope.class).enterScope();
+        scenarioScope().enterScope();
     }
 
     public void stop() {
-        injector.getInstance(ScenarioScope.class).exitScope();
+        scenarioScope().exitScope();
     }
 
     public <T> T getInstance(Class<T> clazz) {
-        return injector.getInstance(clazz);
+        return provider(clazz).get();
+    }
+
+    private ScenarioScope scenarioScope() {
+        if (scenarioScope == null) {
+            scenarioScope = injector.getInstance(ScenarioScope.class);
+        }
+        return scenarioScope;
+    }
+
+    /**
+     * Providers are resolved once per class and reused for every scenario, so that a lookup skips
+     * the injector's binding resolution. The scoping itself is still done by the provider.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Provider<T> provider(Class<T> clazz) {
+        Provider<?> provider = providers.get(clazz);
+        if (provider == null) {
+            provider = injector.getProvider(clazz);
+            Provider<?> existing = providers.putIfAbsent(clazz, provider);
+            if (existing != null) {
+                provider = existing;
+            }
+        }
+        return (Provider<T>) provider;
     }
 
 }
@@ -0,0 +1,87 @@
+package cucumber.runtime.java.guice.impl;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.OutOfScopeException;
+import com.google.inject.Stage;
+import com.google.inject.util.Providers;
+import cucumber.api.java.ObjectFactory;
+import cucumber.runtime.java.guice.ScenarioScoped;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class ConcurrentScenarioScopeTest {
+
+    @ScenarioScoped static class AnnotatedScenarioScopedClass {}
+
+    private final ConcurrentScenarioScope scope = new ConcurrentScenarioScope();
+
+    private ObjectFactory factory() {
+        Injector injector = Guice.createInjector(Stage.PRODUCTION, new ScenarioModule(scope), new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(AnnotatedScenarioScopedClass.class);
+            }
+        });
+        return new GuiceFactory(injector);
+    }
+
+    @Test
+    public void allows_one_scenario_per_thread_to_be_in_progress() throws Exception {
+        final ObjectFactory factory = factory();
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        Callable<AnnotatedScenarioScopedClass> scenario = new Callable<AnnotatedScenarioScopedClass>() {
+            @Override
+            public AnnotatedScenarioScopedClass call() throws Exception {
+                factory.start();
+                try {
+                    bothStarted.countDown();
+                    bothStarted.await();
+                    AnnotatedScenarioScopedClass instance = factory.getInstance(AnnotatedScenarioScopedClass.class);
+                    assertSame(instance, factory.getInstance(AnnotatedScenarioScopedClass.class));
+                    return instance;
+                } finally {
+                    factory.stop();
+                }
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<AnnotatedScenarioScopedClass> first = executor.submit(scenario);
+            Future<AnnotatedScenarioScopedClass> second = executor.submit(scenario);
+            assertNotSame(first.get(), second.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void fails_when_entering_the_scope_twice_on_the_same_thread() {
+        scope.enterScope();
+        try {
+            scope.enterScope();
+            fail();
+        } catch (IllegalStateException expected) {
+        } finally {
+            scope.exitScope();
+        }
+    }
+
+    @Test(expected = OutOfScopeException.class)
+    public void fails_when_used_outside_of_a_scoping_block() {
+        scope.scope(Key.get(String.class), Providers.of("value")).get();
+    }
+
+}
@@ -4,47 +4,104 @@ import cucumber.api.java.ObjectFactory;
 import cucumber.runtime.CucumberException;
 
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class has package scope so it doesn't get loaded by reflection,
  * thereby colliding with other DI implementations.
+ * <p>
+ * Every glue class is given an ordinal the first time it is seen, together with its
+ * resolved no-arg constructor. Both are kept for the whole run, so a scenario only pays for
+ * {@link Constructor#newInstance(Object...)}. Instances are stored in an array indexed by
+ * that ordinal, one array per thread, so that several scenarios can run at the same time.
  */
 class DefaultJavaObjectFactory implements ObjectFactory {
-    private final Map<Class<?>, Object> instances = new HashMap<Class<?>, Object>();
+    private final ConcurrentMap<Class<?>, GlueClass> glueClasses = new ConcurrentHashMap<Class<?>, GlueClass>();
+    private final AtomicInteger nextOrdinal = new AtomicInteger();
+    private final ThreadLocal<Object[]> instances = new ThreadLocal<Object[]>() {
+        @Override
+        protected Object[] initialValue() {
+            return new Object[Math.max(nextOrdinal.get(), 8)];
+        }
+    };
 
     public void start() {
         // No-op
     }
 
     public void stop() {
-        instances.clear();
+        Arrays.fill(instances.get(), null);
     }
 
     public boolean addClass(Class<?> clazz) {
+        glueClass(clazz);
         return true;
     }
 
     public <T> T getInstance(Class<T> type) {
-        T instance = type.cast(instances.get(type));
+        GlueClass glueClass = glueClass(type);
+        Object[] scenarioInstances = instances.get();
+        if (glueClass.ordinal >= scenarioInstances.length) {
+            scenarioInstances = Arrays.copyOf(scenarioInstances, Math.max(nextOrdinal.get(), scenarioInstances.length * 2));
+            instances.set(scenarioInstances);
+        }
+        Object instance = scenarioInstances[glueClass.ordinal];
         if (instance == null) {
-            instance = cacheNewInstance(type);
+            instance = glueClass.newInstance();
+            scenarioInstances[glueClass.ordinal] = instance;
+        }
+        return type.cast(instance);
+    }
+
+    private GlueClass glueClass(Class<?> type) {
+        GlueClass glueClass = glueClasses.get(type);
+        if (glueClass == null) {
+            synchronized (glueClasses) {
+                glueClass = glueClasses.get(type);
+                if (glueClass == null) {
+                    glueClass = new GlueClass(type, nextOrdinal.getAndIncrement());
+                    glueClasses.put(type, glueClass);
+                }
+            }
         }
-        return instance;
+        return glueClass;
     }
 
-    private <T> T cacheNewInstance(Class<T> type) {
-        try {
-            Constructor<T> constructor = type.getConstructor();
-            T instance = constructor.newInstance();
-            instances.put(type, instance);
-            return instance;
-        } catch (NoSuchMethodException e) {
-            throw new CucumberException(String.format("%s doesn't have an empty constructor. If you need DI, put cucumber-picocontainer on the classpath", type), e);
-        } catch (Exception e) {
-            throw new CucumberException(String.format("Failed to instantiate %s", type), e);
+    private static class GlueClass {
+        private final Class<?> type;
+        private final int ordinal;
+        private Constructor<?> constructor;
+
+        GlueClass(Class<?> type, int ordinal) {
+            this.type = type;
+            this.ordinal = ordinal;
+        }
+
+        Object newInstance() {
+            try {
+                return constructor().newInstance();
+            } catch (CucumberException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CucumberException(String.format("Failed to instantiate %s", type), e);
+            }
+        }
+
+        private Constructor<?> constructor() {
+            // Racing threads resolve the same constructor, so the unsynchronized write is harmless.
+            Constructor<?> resolved = constructor;
+            if (resolved == null) {
+                try {
+                    resolved = type.getConstructor();
+                } catch (NoSuchMethodException e) {
+                    throw new CucumberException(String.format("%s doesn't have an empty constructor. If you need DI, put cucumber-picocontainer on the classpath", type), e);
+                }
+                constructor = resolved;
+            }
+            return resolved;
         }
     }
 }
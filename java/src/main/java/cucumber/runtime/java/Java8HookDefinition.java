@@ -3,6 +3,7 @@ package cucumber.runtime.java;
 import cucumber.api.Scenario;
 import cucumber.api.java8.HookBody;
 import cucumber.api.java8.HookNoArgsBody;
+import cucumber.runtime.CucumberException;
 import cucumber.runtime.HookDefinition;
 import cucumber.runtime.Timeout;
 import gherkin.TagExpression;
@@ -12,13 +13,19 @@ import java.util.Collection;
 
 import static java.util.Arrays.asList;
 
+/**
+ * A hook registered by lambda glue. Like {@link Java8StepDefinition} it is created once and bound to the body of the
+ * current scenario every time the glue is instantiated again.
+ */
 public class Java8HookDefinition implements HookDefinition {
     private final TagExpression tagExpression;
     private final int order;
     private final long timeoutMillis;
     private final HookNoArgsBody hookNoArgsBody;
     private final HookBody hookBody;
-    private final StackTraceElement location;
+    private final ThreadLocal<Object> boundBody = new ThreadLocal<Object>();
+    private final Exception registration;
+    private StackTraceElement location;
 
     private Java8HookDefinition(String[] tagExpressions, int order, long timeoutMillis, HookBody hookBody, HookNoArgsBody hookNoArgsBody) {
         this.order = order;
@@ -26,7 +33,8 @@ public class Java8HookDefinition implements HookDefinition {
         this.tagExpression = new TagExpression(asList(tagExpressions));
         this.hookBody = hookBody;
         this.hookNoArgsBody = hookNoArgsBody;
-        this.location = new Exception().getStackTrace()[3];
+        // The stack trace is only turned into a location when it's needed
+        this.registration = new Exception();
     }
 
     public Java8HookDefinition(String[] tagExpressions, int order, long timeoutMillis, HookBody hookBody) {
@@ -37,20 +45,53 @@ public class Java8HookDefinition implements HookDefinition {
         this(tagExpressions, order, timeoutMillis, null, hookNoArgsBody);
     }
 
+    /**
+     * Makes the hook run <code>body</code> in the scenarios that run on the current thread.
+     *
+     * @param body the {@link HookBody} or {@link HookNoArgsBody} registered by the glue instance of the current scenario.
+     */
+    void bind(Object body) {
+        Object registered = hookBody != null ? hookBody : hookNoArgsBody;
+        if (body.getClass() != registered.getClass()) {
+            throw new CucumberException(String.format("The hook at %s was registered with a different body (%s) than in the first scenario (%s)",
+                    getLocation(false), body.getClass().getName(), registered.getClass().getName()));
+        }
+        boundBody.set(body);
+    }
+
+    /**
+     * Lets go of the body bound on the current thread, once its scenario is over.
+     */
+    void unbind() {
+        boundBody.remove();
+    }
+
+    private StackTraceElement location() {
+        // Racing threads compute the same element, so the unsynchronized write is harmless.
+        StackTraceElement resolved = location;
+        if (resolved == null) {
+            resolved = registration.getStackTrace()[3];
+            location = resolved;
+        }
+        return resolved;
+    }
+
     @Override
     public String getLocation(boolean detail) {
+        StackTraceElement location = location();
         return location.getFileName() + ":" + location.getLineNumber();
     }
 
     @Override
     public void execute(final Scenario scenario) throws Throwable {
+        final Object bound = boundBody.get();
         Timeout.timeout(new Timeout.Callback<Object>() {
             @Override
             public Object call() throws Throwable {
                 if (hookBody != null) {
-                    hookBody.accept(scenario);
+                    (bound != null ? (HookBody) bound : hookBody).accept(scenario);
                 } else {
-                    hookNoArgsBody.accept();
+                    (bound != null ? (HookNoArgsBody) bound : hookNoArgsBody).accept();
                 }
                 return null;
 
@@ -70,6 +111,6 @@ public class Java8HookDefinition implements HookDefinition {
 
     @Override
     public boolean isScenarioScoped() {
-        return true;
+        return false;
     }
 }
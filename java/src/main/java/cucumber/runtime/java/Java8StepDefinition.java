@@ -3,8 +3,8 @@ package cucumber.runtime.java;
 import cucumber.api.java8.StepdefBody;
 import cucumber.runtime.CucumberException;
 import cucumber.runtime.JdkPatternArgumentMatcher;
+import cucumber.runtime.JdkPatternStepDefinition;
 import cucumber.runtime.ParameterInfo;
-import cucumber.runtime.StepDefinition;
 import cucumber.runtime.Utils;
 import gherkin.I18n;
 import gherkin.formatter.Argument;
@@ -17,14 +17,19 @@ import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
 
-public class Java8StepDefinition implements StepDefinition {
-
+/**
+ * A step definition registered by lambda glue. It is created once, when the glue is first instantiated, and the body
+ * of the current scenario is bound to it every time the glue is instantiated again.
+ */
+public class Java8StepDefinition implements JdkPatternStepDefinition {
     private final Pattern pattern;
     private final long timeoutMillis;
     private final StepdefBody body;
+    private final ThreadLocal<StepdefBody> boundBody = new ThreadLocal<StepdefBody>();
 
     private final JdkPatternArgumentMatcher argumentMatcher;
-    private final StackTraceElement location;
+    private final Exception registration;
+    private StackTraceElement location;
 
     private final List<ParameterInfo> parameterInfos;
     private final Method method;
@@ -35,25 +40,14 @@ public class Java8StepDefinition implements StepDefinition {
         this.body = body;
 
         this.argumentMatcher = new JdkPatternArgumentMatcher(pattern);
-        this.location = new Exception().getStackTrace()[3];
-
-        Class<? extends StepdefBody> bodyClass = body.getClass();
-
-        Type genericInterface = bodyClass.getGenericInterfaces()[0];
-        Type[] argumentTypes;
-        if (genericInterface instanceof ParameterizedType) {
-            argumentTypes = ((ParameterizedType) genericInterface).getActualTypeArguments();
-        } else {
-            argumentTypes = typeIntrospector.getGenericTypes(bodyClass);
-        }
-        verifyNotListOrMap(argumentTypes);
-        this.parameterInfos = ParameterInfo.fromTypes(argumentTypes);
-
-        Class[] parameterTypes = new Class[parameterInfos.size()];
-        for (int i = 0; i < parameterInfos.size(); i++) {
-            parameterTypes[i] = Object.class;
-        }
-        this.method = bodyClass.getDeclaredMethod("accept", parameterTypes);
+        // The stack trace is only turned into a location when it's needed
+        this.registration = new Exception();
+
+        // Only done once per backend, as the bodies of later scenarios are bound to the definition of the first
+        Signature signature = new Signature(body.getClass(), typeIntrospector);
+        verifyNotListOrMap(signature.argumentTypes);
+        this.parameterInfos = signature.parameterInfos;
+        this.method = signature.method;
     }
 
     private void verifyNotListOrMap(Type[] argumentTypes) {
@@ -68,17 +62,53 @@ public class Java8StepDefinition implements StepDefinition {
     }
 
     private CucumberException withLocation(CucumberException exception) {
-        exception.setStackTrace(new StackTraceElement[] {this.location});
+        exception.setStackTrace(new StackTraceElement[] {location()});
         return exception;
     }
 
+    private StackTraceElement location() {
+        // Racing threads compute the same element, so the unsynchronized write is harmless.
+        StackTraceElement resolved = location;
+        if (resolved == null) {
+            resolved = registration.getStackTrace()[3];
+            location = resolved;
+        }
+        return resolved;
+    }
+
+    /**
+     * Makes the step definition run <code>body</code> in the scenarios that run on the current thread.
+     *
+     * @param body the body registered by the glue instance of the current scenario.
+     */
+    void bind(StepdefBody body) {
+        if (body.getClass() != this.body.getClass()) {
+            throw new CucumberException(String.format("The step definition for %s was registered with a different body (%s) than in the first scenario (%s)",
+                    pattern.pattern(), body.getClass().getName(), this.body.getClass().getName()));
+        }
+        boundBody.set(body);
+    }
+
+    /**
+     * Lets go of the body bound on the current thread, once its scenario is over.
+     */
+    void unbind() {
+        boundBody.remove();
+    }
+
     @Override
     public List<Argument> matchedArguments(Step step) {
         return argumentMatcher.argumentsFrom(step.getName());
     }
 
+    @Override
+    public boolean isMatchedByJdkPattern() {
+        return true;
+    }
+
     @Override
     public String getLocation(boolean detail) {
+        StackTraceElement location = location();
         return location.getFileName() + ":" + location.getLineNumber();
     }
 
@@ -94,12 +124,13 @@ public class Java8StepDefinition implements StepDefinition {
 
     @Override
     public void execute(final I18n i18n, final Object[] args) throws Throwable {
-        Utils.invoke(body, method, timeoutMillis, args);
+        StepdefBody bound = boundBody.get();
+        Utils.invoke(bound != null ? bound : body, method, timeoutMillis, args);
     }
 
     @Override
     public boolean isDefinedAt(StackTraceElement stackTraceElement) {
-        return location.getFileName().equals(stackTraceElement.getFileName());
+        return location().getFileName().equals(stackTraceElement.getFileName());
     }
 
     @Override
@@ -109,6 +140,28 @@ public class Java8StepDefinition implements StepDefinition {
 
     @Override
     public boolean isScenarioScoped() {
-        return true;
+        return false;
+    }
+
+    private static class Signature {
+        private final Type[] argumentTypes;
+        private final List<ParameterInfo> parameterInfos;
+        private final Method method;
+
+        Signature(Class<? extends StepdefBody> bodyClass, TypeIntrospector typeIntrospector) throws Exception {
+            Type genericInterface = bodyClass.getGenericInterfaces()[0];
+            if (genericInterface instanceof ParameterizedType) {
+                argumentTypes = ((ParameterizedType) genericInterface).getActualTypeArguments();
+            } else {
+                argumentTypes = typeIntrospector.getGenericTypes(bodyClass);
+            }
+            parameterInfos = ParameterInfo.fromTypes(argumentTypes);
+
+            Class[] parameterTypes = new Class[parameterInfos.size()];
+            for (int i = 0; i < parameterInfos.size(); i++) {
+                parameterTypes[i] = Object.class;
+            }
+            method = bodyClass.getDeclaredMethod("accept", parameterTypes);
+        }
     }
 }
@@ -27,6 +27,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.regex.Pattern;
 
@@ -52,6 +53,8 @@ public class JavaBackend implements Backend {
     private final MethodScanner methodScanner;
     private Glue glue;
     private List<Class<? extends GlueBase>> glueBaseClasses = new ArrayList<Class<? extends GlueBase>>();
+    private final LambdaGlue lambdaGlue = new LambdaGlue();
+    private final ThreadLocal<LambdaGlueBindings> lambdaGlueBindings = new ThreadLocal<LambdaGlueBindings>();
 
     /**
      * The constructor called by reflection by default.
@@ -123,21 +126,54 @@ public class JavaBackend implements Backend {
         objectFactory.start();
 
         // Instantiate all the stepdef classes for java8 - the stepdef will be initialised
-        // in the constructor.
+        // in the constructor. The step definitions and hooks are only created for the first
+        // scenario. After that the bodies registered by the new instances are bound to them.
         try {
             INSTANCE.set(this);
             glue.removeScenarioScopedGlue();
-            for (Class<? extends GlueBase> glueBaseClass : glueBaseClasses) {
-                objectFactory.getInstance(glueBaseClass);
+            synchronized (lambdaGlue) {
+                if (!lambdaGlue.registered) {
+                    lambdaGlue.registered = true;
+                    instantiateGlueBaseClasses();
+                    return;
+                }
             }
+            LambdaGlueBindings bindings = new LambdaGlueBindings(lambdaGlue);
+            lambdaGlueBindings.set(bindings);
+            instantiateGlueBaseClasses();
+            bindings.verifyAllBound();
         } finally {
+            lambdaGlueBindings.remove();
             INSTANCE.remove();
         }
     }
 
+    private void instantiateGlueBaseClasses() {
+        for (Class<? extends GlueBase> glueBaseClass : glueBaseClasses) {
+            objectFactory.getInstance(glueBaseClass);
+        }
+    }
+
     @Override
     public void disposeWorld() {
-        objectFactory.stop();
+        try {
+            objectFactory.stop();
+        } finally {
+            unbindLambdaGlue();
+        }
+    }
+
+    private void unbindLambdaGlue() {
+        // Threads are often pooled, and mustn't keep the glue instance of their last scenario
+        for (Java8StepDefinition stepDefinition : lambdaGlue.stepDefinitions) {
+            stepDefinition.unbind();
+        }
+        for (Java8HookDefinition hookDefinition : lambdaGlue.beforeHooks) {
+            hookDefinition.unbind();
+        }
+        for (Java8HookDefinition hookDefinition : lambdaGlue.afterHooks) {
+            hookDefinition.unbind();
+        }
     }
 
     @Override
@@ -158,8 +194,15 @@ public class JavaBackend implements Backend {
     }
 
     public void addStepDefinition(String regexp, long timeoutMillis, StepdefBody body, TypeIntrospector typeIntrospector) {
+        LambdaGlueBindings bindings = lambdaGlueBindings.get();
+        if (bindings != null) {
+            bindings.nextStepDefinition(regexp).bind(body);
+            return;
+        }
         try {
-            glue.addStepDefinition(new Java8StepDefinition(Pattern.compile(regexp), timeoutMillis, body, typeIntrospector));
+            Java8StepDefinition stepDefinition = new Java8StepDefinition(Pattern.compile(regexp), timeoutMillis, body, typeIntrospector);
+            glue.addStepDefinition(stepDefinition);
+            lambdaGlue.stepDefinitions.add(stepDefinition);
         } catch (CucumberException e) {
             throw e;
         } catch (Exception e) {
@@ -182,19 +225,47 @@ public class JavaBackend implements Backend {
     }
 
     public void addBeforeHookDefinition(String[] tagExpressions, long timeoutMillis, int order, HookBody body) {
-        glue.addBeforeHook(new Java8HookDefinition(tagExpressions, order, timeoutMillis, body));
+        LambdaGlueBindings bindings = lambdaGlueBindings.get();
+        if (bindings != null) {
+            bindings.next(bindings.beforeHooks).bind(body);
+            return;
+        }
+        Java8HookDefinition hookDefinition = new Java8HookDefinition(tagExpressions, order, timeoutMillis, body);
+        glue.addBeforeHook(hookDefinition);
+        lambdaGlue.beforeHooks.add(hookDefinition);
     }
 
     public void addAfterHookDefinition(String[] tagExpressions, long timeoutMillis, int order, HookBody body) {
-        glue.addAfterHook(new Java8HookDefinition(tagExpressions, order, timeoutMillis, body));
+        LambdaGlueBindings bindings = lambdaGlueBindings.get();
+        if (bindings != null) {
+            bindings.next(bindings.afterHooks).bind(body);
+            return;
+        }
+        Java8HookDefinition hookDefinition = new Java8HookDefinition(tagExpressions, order, timeoutMillis, body);
+        glue.addAfterHook(hookDefinition);
+        lambdaGlue.afterHooks.add(hookDefinition);
     }
 
     public void addBeforeHookDefinition(String[] tagExpressions, long timeoutMillis, int order, HookNoArgsBody body) {
-        glue.addBeforeHook(new Java8HookDefinition(tagExpressions, order, timeoutMillis, body));
+        LambdaGlueBindings bindings = lambdaGlueBindings.get();
+        if (bindings != null) {
+            bindings.next(bindings.beforeHooks).bind(body);
+            return;
+        }
+        Java8HookDefinition hookDefinition = new Java8HookDefinition(tagExpressions, order, timeoutMillis, body);
+        glue.addBeforeHook(hookDefinition);
+        lambdaGlue.beforeHooks.add(hookDefinition);
     }
 
     public void addAfterHookDefinition(String[] tagExpressions, long timeoutMillis, int order, HookNoArgsBody body) {
-        glue.addAfterHook(new Java8HookDefinition(tagExpressions, order, timeoutMillis, body));
+        LambdaGlueBindings bindings = lambdaGlueBindings.get();
+        if (bindings != null) {
+            bindings.next(bindings.afterHooks).bind(body);
+            return;
+        }
+        Java8HookDefinition hookDefinition = new Java8HookDefinition(tagExpressions, order, timeoutMillis, body);
+        glue.addAfterHook(hookDefinition);
+        lambdaGlue.afterHooks.add(hookDefinition);
     }
 
     private Pattern pattern(Annotation annotation) throws Throwable {
@@ -208,4 +279,54 @@ public class JavaBackend implements Backend {
         return (Long) Utils.invoke(annotation, regexpMethod, 0);
     }
 
+    /**
+     * The step definitions and hooks registered by lambda glue, in registration order.
+     */
+    private static class LambdaGlue {
+        private final List<Java8StepDefinition> stepDefinitions = new ArrayList<Java8StepDefinition>();
+        private final List<Java8HookDefinition> beforeHooks = new ArrayList<Java8HookDefinition>();
+        private final List<Java8HookDefinition> afterHooks = new ArrayList<Java8HookDefinition>();
+        private boolean registered;
+    }
+
+    /**
+     * Walks the lambda glue while the glue classes are instantiated for a scenario, matching each registration
+     * with the definition that the same registration created in the first scenario.
+     */
+    private static class LambdaGlueBindings {
+        private final Iterator<Java8StepDefinition> stepDefinitions;
+        private final Iterator<Java8HookDefinition> beforeHooks;
+        private final Iterator<Java8HookDefinition> afterHooks;
+
+        LambdaGlueBindings(LambdaGlue lambdaGlue) {
+            stepDefinitions = lambdaGlue.stepDefinitions.iterator();
+            beforeHooks = lambdaGlue.beforeHooks.iterator();
+            afterHooks = lambdaGlue.afterHooks.iterator();
+        }
+
+        Java8StepDefinition nextStepDefinition(String regexp) {
+            Java8StepDefinition stepDefinition = next(stepDefinitions);
+            if (!stepDefinition.getPattern().equals(regexp)) {
+                throw glueChanged();
+            }
+            return stepDefinition;
+        }
+
+        <T> T next(Iterator<T> definitions) {
+            if (!definitions.hasNext()) {
+                throw glueChanged();
+            }
+            return definitions.next();
+        }
+
+        void verifyAllBound() {
+            if (stepDefinitions.hasNext() || beforeHooks.hasNext() || afterHooks.hasNext()) {
+                throw glueChanged();
+            }
+        }
+
+        private static CucumberException glueChanged() {
+            return new CucumberException("Lambda glue must register the same step definitions and hooks, in the same order, in every scenario");
+        }
+    }
 }
@@ -2,9 +2,9 @@ package cucumber.runtime.java;
 
 import cucumber.api.java.ObjectFactory;
 import cucumber.runtime.JdkPatternArgumentMatcher;
+import cucumber.runtime.JdkPatternStepDefinition;
 import cucumber.runtime.MethodFormat;
 import cucumber.runtime.ParameterInfo;
-import cucumber.runtime.StepDefinition;
 import cucumber.runtime.Utils;
 import gherkin.I18n;
 import gherkin.formatter.Argument;
@@ -15,7 +15,7 @@ import java.lang.reflect.Type;
 import java.util.List;
 import java.util.regex.Pattern;
 
-class JavaStepDefinition implements StepDefinition {
+class JavaStepDefinition implements JdkPatternStepDefinition {
     private final Method method;
     private final Pattern pattern;
     private final long timeoutMillis;
@@ -42,6 +42,10 @@ class JavaStepDefinition implements StepDefinition {
         return argumentMatcher.argumentsFrom(step.getName());
     }
 
+    public boolean isMatchedByJdkPattern() {
+        return true;
+    }
+
     public String getLocation(boolean detail) {
         MethodFormat format = detail ? MethodFormat.FULL : MethodFormat.SHORT;
         return format.format(method);
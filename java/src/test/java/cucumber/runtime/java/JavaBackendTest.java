@@ -7,6 +7,7 @@ import cucumber.runtime.Glue;
 import cucumber.runtime.HookDefinition;
 import cucumber.runtime.StepDefinition;
 import cucumber.runtime.StepDefinitionMatch;
+import cucumber.runtime.java.lambdaglue.InstanceRecordingStepdefs;
 import cucumber.runtime.java.stepdefs.Stepdefs;
 import gherkin.I18n;
 import gherkin.formatter.model.Step;
@@ -17,6 +18,7 @@ import java.util.List;
 
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public class JavaBackendTest {
     @Test
@@ -47,8 +49,46 @@ public class JavaBackendTest {
         backend.loadGlue(glue, asList("cucumber.runtime.java.stepdefs", "cucumber.runtime.java.incorrectlysubclassedstepdefs"));
     }
 
+    @Test
+    public void registers_lambda_glue_once_and_binds_it_to_the_instance_of_each_scenario() throws Throwable {
+        ObjectFactory factory = new DefaultJavaObjectFactory();
+        JavaBackend backend = new JavaBackend(factory);
+        GlueStub glue = new GlueStub();
+        backend.loadGlue(glue, asList("cucumber.runtime.java.lambdaglue"));
+
+        backend.buildWorld();
+        backend.disposeWorld();
+        backend.buildWorld();
+        glue.beforeHooks.get(0).execute(null);
+        glue.stepDefinitions.get(0).execute(null, new Object[]{"instance"});
+
+        assertEquals(1, glue.stepDefinitions.size());
+        assertEquals(1, glue.beforeHooks.size());
+        InstanceRecordingStepdefs secondScenarioInstance = factory.getInstance(InstanceRecordingStepdefs.class);
+        assertSame(secondScenarioInstance, InstanceRecordingStepdefs.lastStepInstance);
+        assertSame(secondScenarioInstance, InstanceRecordingStepdefs.lastHookInstance);
+    }
+
+    @Test
+    public void lets_go_of_the_bound_instance_when_the_scenario_is_disposed() throws Throwable {
+        ObjectFactory factory = new DefaultJavaObjectFactory();
+        JavaBackend backend = new JavaBackend(factory);
+        GlueStub glue = new GlueStub();
+        backend.loadGlue(glue, asList("cucumber.runtime.java.lambdaglue"));
+
+        backend.buildWorld();
+        InstanceRecordingStepdefs firstScenarioInstance = factory.getInstance(InstanceRecordingStepdefs.class);
+        backend.disposeWorld();
+        backend.buildWorld();
+        backend.disposeWorld();
+        glue.stepDefinitions.get(0).execute(null, new Object[]{"instance"});
+
+        assertSame(firstScenarioInstance, InstanceRecordingStepdefs.lastStepInstance);
+    }
+
     private class GlueStub implements Glue {
         public final List<StepDefinition> stepDefinitions = new ArrayList<StepDefinition>();
+        public final List<HookDefinition> beforeHooks = new ArrayList<HookDefinition>();
 
         @Override
         public void addStepDefinition(StepDefinition stepDefinition) {
@@ -57,7 +97,7 @@ public class JavaBackendTest {
 
         @Override
         public void addBeforeHook(HookDefinition hookDefinition) {
-            throw new UnsupportedOperationException();
+            beforeHooks.add(hookDefinition);
         }
 
         @Override
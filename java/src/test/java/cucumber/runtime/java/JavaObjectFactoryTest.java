@@ -1,10 +1,20 @@
 package cucumber.runtime.java;
 
 import cucumber.api.java.ObjectFactory;
+import cucumber.runtime.CucumberException;
 import org.junit.Test;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class JavaObjectFactoryTest {
     @Test
@@ -26,7 +36,77 @@ public class JavaObjectFactoryTest {
         assertNotSame(o1, o2);
     }
 
+    @Test
+    public void shouldGiveUsTheSameInstanceWithinAScenario() {
+        ObjectFactory factory = new DefaultJavaObjectFactory();
+        factory.addClass(SteDef.class);
+
+        factory.start();
+        SteDef o1 = factory.getInstance(SteDef.class);
+        SteDef o2 = factory.getInstance(SteDef.class);
+        OtherStepDef o3 = factory.getInstance(OtherStepDef.class);
+        factory.stop();
+
+        assertSame(o1, o2);
+        assertNotNull(o3);
+    }
+
+    @Test
+    public void shouldGiveUsOneInstancePerThreadForConcurrentScenarios() throws Exception {
+        final ObjectFactory factory = new DefaultJavaObjectFactory();
+        factory.addClass(SteDef.class);
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        Callable<SteDef> scenario = new Callable<SteDef>() {
+            @Override
+            public SteDef call() throws Exception {
+                factory.start();
+                try {
+                    bothStarted.countDown();
+                    bothStarted.await();
+                    SteDef instance = factory.getInstance(SteDef.class);
+                    assertSame(instance, factory.getInstance(SteDef.class));
+                    return instance;
+                } finally {
+                    factory.stop();
+                }
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<SteDef> first = executor.submit(scenario);
+            Future<SteDef> second = executor.submit(scenario);
+            assertNotSame(first.get(), second.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldFailForClassesWithoutEmptyConstructor() {
+        ObjectFactory factory = new DefaultJavaObjectFactory();
+        factory.addClass(NoEmptyConstructor.class);
+        factory.start();
+        try {
+            factory.getInstance(NoEmptyConstructor.class);
+            fail();
+        } catch (CucumberException expected) {
+            assertTrue(expected.getMessage().contains("doesn't have an empty constructor"));
+        } finally {
+            factory.stop();
+        }
+    }
+
     public static class SteDef {
         // we just test the instances
     }
+
+    public static class OtherStepDef {
+        // we just test the instances
+    }
+
+    public static class NoEmptyConstructor {
+        public NoEmptyConstructor(String argument) {
+        }
+    }
 }
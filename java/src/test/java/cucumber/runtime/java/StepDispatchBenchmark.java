@@ -0,0 +1,58 @@
+package cucumber.runtime.java;
+
+import cucumber.api.java.en.Given;
+import cucumber.runtime.Glue;
+import cucumber.runtime.RuntimeGlue;
+import cucumber.runtime.UndefinedStepsTracker;
+import cucumber.runtime.xstream.LocalizedXStreams;
+import gherkin.I18n;
+import gherkin.formatter.model.Comment;
+import gherkin.formatter.model.Step;
+
+import java.util.Collections;
+
+/**
+ * Measures the cost of matching and running a Java step definition, including argument conversion.
+ * The Clojure backend has the same benchmark, so that the dispatch overhead of the backends can be compared.
+ * <p>
+ * Not run as part of the build. Run the main method to print the results.
+ */
+public class StepDispatchBenchmark {
+
+    private static final int WARMUP_STEPS = 200000;
+    private static final int MEASURED_STEPS = 1000000;
+    private static final I18n ENGLISH = new I18n("en");
+
+    public static class Steps {
+        private int cukes;
+
+        @Given("^I have (\\d+) cukes in my belly$")
+        public void i_have_cukes_in_my_belly(int cukes) {
+            this.cukes += cukes;
+        }
+    }
+
+    public static void main(String[] args) throws Throwable {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Glue glue = new RuntimeGlue(new UndefinedStepsTracker(), new LocalizedXStreams(classLoader));
+        Steps steps = new Steps();
+        JavaBackend backend = new JavaBackend(new SingletonFactory(steps));
+        backend.loadGlue(glue, Collections.<String>emptyList());
+        backend.addStepDefinition(Steps.class.getMethod("i_have_cukes_in_my_belly", int.class).getAnnotation(Given.class),
+                Steps.class.getMethod("i_have_cukes_in_my_belly", int.class));
+        Step step = new Step(Collections.<Comment>emptyList(), "Given ", "I have 4 cukes in my belly", 1, null, null);
+
+        dispatch(glue, step, WARMUP_STEPS);
+
+        long start = System.nanoTime();
+        dispatch(glue, step, MEASURED_STEPS);
+        long elapsed = System.nanoTime() - start;
+        System.out.println(String.format("%-8s %6d ns/step (%d cukes)", "java", elapsed / MEASURED_STEPS, steps.cukes));
+    }
+
+    private static void dispatch(Glue glue, Step step, int steps) throws Throwable {
+        for (int i = 0; i < steps; i++) {
+            glue.stepDefinitionMatch("benchmark.feature", step, ENGLISH).runStep(ENGLISH);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package cucumber.runtime.java.lambdaglue;
+
+import cucumber.api.java8.GlueBase;
+import cucumber.api.java8.HookNoArgsBody;
+import cucumber.api.java8.StepdefBody;
+import cucumber.runtime.java.JavaBackend;
+
+public class InstanceRecordingStepdefs implements GlueBase {
+    public static InstanceRecordingStepdefs lastStepInstance;
+    public static InstanceRecordingStepdefs lastHookInstance;
+
+    public InstanceRecordingStepdefs() {
+        JavaBackend.INSTANCE.get().addBeforeHookDefinition(new String[0], 0, 0, new HookNoArgsBody() {
+            @Override
+            public void accept() {
+                lastHookInstance = InstanceRecordingStepdefs.this;
+            }
+        });
+        JavaBackend.INSTANCE.get().addStepDefinition("^I record the (.*)$", 0, new StepdefBody.A1<String>() {
+            @Override
+            public void accept(String what) {
+                lastStepInstance = InstanceRecordingStepdefs.this;
+            }
+        }, null);
+    }
+}
@@ -33,19 +33,31 @@ import java.util.List;
 import java.util.Set;
 
 public class JRubyBackend implements Backend {
+    /**
+     * When set to true, the world is prepared once (extended with the World module and all World blocks) and cloned
+     * for every scenario. World blocks then run only once, so they should not create per scenario state.
+     */
+    public static final String WORLD_PROTOTYPE_KEY = "jruby.world.prototype";
     private static final Env ENV = Env.INSTANCE;
     private final SnippetGenerator snippetGenerator = new SnippetGenerator(new JRubySnippet());
     private final ScriptingContainer jruby = new ScriptingContainer();
     private final ResourceLoader resourceLoader;
     private final Set<JRubyWorldDefinition> worldDefinitions = new HashSet<JRubyWorldDefinition>();
     private final RubyModule CucumberRuntimeJRubyWorld;
+    private final boolean worldPrototype;
 
     private Glue glue;
     private UnreportedStepExecutor unreportedStepExecutor;
     private RubyObject currentWorld;
+    private RubyObject prototypeWorld;
 
     public JRubyBackend(ResourceLoader resourceLoader) throws UnsupportedEncodingException {
+        this(resourceLoader, Boolean.parseBoolean(ENV.get(WORLD_PROTOTYPE_KEY, "false")));
+    }
+
+    JRubyBackend(ResourceLoader resourceLoader, boolean worldPrototype) throws UnsupportedEncodingException {
         this.resourceLoader = resourceLoader;
+        this.worldPrototype = worldPrototype;
         jruby.put("$backend", this);
         jruby.setClassLoader(getClass().getClassLoader());
         String gemPath = ENV.get("GEM_PATH");
@@ -105,12 +117,24 @@ public class JRubyBackend implements Backend {
 
     @Override
     public void buildWorld() {
-        currentWorld = (RubyObject) JavaEmbedUtils.javaToRuby(jruby.getProvider().getRuntime(), new World());
-        currentWorld.extend(new IRubyObject[]{CucumberRuntimeJRubyWorld});
+        Ruby runtime = jruby.getProvider().getRuntime();
+        if (worldPrototype) {
+            if (prototypeWorld == null) {
+                prototypeWorld = prepareWorld((RubyObject) runtime.getObject().callMethod("new"));
+            }
+            currentWorld = (RubyObject) prototypeWorld.callMethod("clone");
+        } else {
+            currentWorld = prepareWorld((RubyObject) JavaEmbedUtils.javaToRuby(runtime, new World()));
+        }
+    }
+
+    private RubyObject prepareWorld(RubyObject world) {
+        world.extend(new IRubyObject[]{CucumberRuntimeJRubyWorld});
 
         for (JRubyWorldDefinition definition : worldDefinitions) {
-            currentWorld = definition.execute(currentWorld);
+            world = definition.execute(world);
         }
+        return world;
     }
 
     private void runScript(Resource resource) {
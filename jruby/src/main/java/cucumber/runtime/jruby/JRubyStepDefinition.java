@@ -1,7 +1,8 @@
 package cucumber.runtime.jruby;
 
+import cucumber.runtime.JdkPatternArgumentMatcher;
+import cucumber.runtime.JdkPatternStepDefinition;
 import cucumber.runtime.ParameterInfo;
-import cucumber.runtime.StepDefinition;
 import gherkin.I18n;
 import gherkin.formatter.Argument;
 import gherkin.formatter.model.Step;
@@ -11,26 +12,58 @@ import org.jruby.runtime.builtin.IRubyObject;
 
 import java.lang.reflect.Type;
 import java.util.List;
+import java.util.regex.Pattern;
 
-public class JRubyStepDefinition implements StepDefinition {
+public class JRubyStepDefinition implements JdkPatternStepDefinition {
 
     private final JRubyBackend jRubyBackend;
     private final RubyObject stepdefRunner;
-    private String file;
-    private Long line;
+    private final String file;
+    private final Long line;
+    private final int parameterCount;
+    private final String pattern;
+    private final JdkPatternArgumentMatcher argumentMatcher;
 
     public JRubyStepDefinition(JRubyBackend jRubyBackend, RubyObject stepdefRunner) {
         this.jRubyBackend = jRubyBackend;
         this.stepdefRunner = stepdefRunner;
+
+        // The metadata doesn't change after registration, so we only ask Ruby for it once.
+        List fileAndLine = toJava(stepdefRunner.callMethod("file_and_line"));
+        this.file = (String) fileAndLine.get(0);
+        this.line = (Long) fileAndLine.get(1);
+        IRubyObject paramCountR = stepdefRunner.callMethod("param_count");
+        this.parameterCount = Math.max(0, (Integer) paramCountR.toJava(Integer.class));
+        this.pattern = (String) stepdefRunner.callMethod("pattern").toJava(String.class);
+        this.argumentMatcher = argumentMatcher(stepdefRunner);
+    }
+
+    private static JdkPatternArgumentMatcher argumentMatcher(RubyObject stepdefRunner) {
+        IRubyObject source = stepdefRunner.callMethod("regexp_source");
+        if (source.isNil()) {
+            return null;
+        }
+        int options = (Integer) stepdefRunner.callMethod("regexp_options").toJava(Integer.class);
+        Pattern javaPattern = RubyPattern.compile((String) source.toJava(String.class), options);
+        // Regexp#match searches the whole step name
+        return javaPattern == null ? null : new JdkPatternArgumentMatcher(javaPattern, true);
     }
 
     @Override
     public List<Argument> matchedArguments(Step step) {
+        if (argumentMatcher != null) {
+            return argumentMatcher.argumentsFrom(step.getName());
+        }
         RubyString stepName = stepdefRunner.getRuntime().newString(step.getName());
         IRubyObject arguments = stepdefRunner.callMethod("matched_arguments", stepName);
         return toJava(arguments);
     }
 
+    @Override
+    public boolean isMatchedByJdkPattern() {
+        return argumentMatcher != null;
+    }
+
     @SuppressWarnings("unchecked")
     private List<Argument> toJava(IRubyObject arguments) {
         return (List<Argument>) arguments.toJava(List.class);
@@ -38,18 +71,12 @@ public class JRubyStepDefinition implements StepDefinition {
 
     @Override
     public String getLocation(boolean detail) {
-        if (file == null) {
-            List fileAndLine = toJava(stepdefRunner.callMethod("file_and_line"));
-            file = (String) fileAndLine.get(0);
-            line = (Long) fileAndLine.get(1);
-        }
         return file + ":" + line;
     }
 
     @Override
     public Integer getParameterCount() {
-        IRubyObject paramCountR = stepdefRunner.callMethod("param_count");
-        return Math.max(0, (Integer) paramCountR.toJava(Integer.class));
+        return parameterCount;
     }
 
     @Override
@@ -70,7 +97,7 @@ public class JRubyStepDefinition implements StepDefinition {
 
     @Override
     public String getPattern() {
-        return (String) stepdefRunner.callMethod("pattern").toJava(String.class);
+        return pattern;
     }
 
     @Override
@@ -0,0 +1,102 @@
+package cucumber.runtime.jruby;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Translates Ruby regular expressions to {@link Pattern}s, so that step names can be matched
+ * without calling into Ruby.
+ */
+class RubyPattern {
+    // Regexp#options bits
+    private static final int IGNORECASE = 1;
+    private static final int EXTENDED = 2;
+    private static final int MULTILINE = 4;
+
+    /**
+     * @param source  the Regexp#source of a Ruby regular expression
+     * @param options the Regexp#options of the same expression
+     * @return the equivalent pattern, or null if the expression can't be expressed as a {@link Pattern}.
+     */
+    static Pattern compile(String source, int options) {
+        // ^ and $ always match at line boundaries in Ruby
+        int flags = Pattern.MULTILINE;
+        if ((options & IGNORECASE) != 0) {
+            flags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+        }
+        if ((options & EXTENDED) != 0) {
+            flags |= Pattern.COMMENTS;
+        }
+        if ((options & MULTILINE) != 0) {
+            // Ruby's multiline mode is Java's dotall mode
+            flags |= Pattern.DOTALL;
+        }
+        String java = translate(source);
+        if (java == null) {
+            return null;
+        }
+        try {
+            return Pattern.compile(java, flags);
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Rewrites the <code>\h</code> and <code>\H</code> escapes, which mean hex digit in Ruby and horizontal
+     * whitespace in Java.
+     *
+     * @return the Java source, or null for constructs that Java parses with a different meaning: a negated
+     * <code>\H</code> inside a character class, POSIX bracket classes such as <code>[[:alpha:]]</code> and
+     * inline <code>m</code> options, which turn on dotall in Ruby but multiline in Java.
+     */
+    static String translate(String source) {
+        StringBuilder java = new StringBuilder(source.length());
+        boolean inClass = false;
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '\\' && i + 1 < source.length()) {
+                char escaped = source.charAt(++i);
+                if (escaped == 'h') {
+                    java.append(inClass ? "0-9a-fA-F" : "[0-9a-fA-F]");
+                } else if (escaped == 'H') {
+                    if (inClass) {
+                        return null;
+                    }
+                    java.append("[^0-9a-fA-F]");
+                } else {
+                    java.append(c).append(escaped);
+                }
+            } else {
+                if (c == '[') {
+                    if (inClass && source.startsWith(":", i + 1)) {
+                        return null;
+                    }
+                    inClass = true;
+                } else if (c == ']') {
+                    inClass = false;
+                } else if (c == '(' && !inClass && hasInlineMultiline(source, i)) {
+                    return null;
+                }
+                java.append(c);
+            }
+        }
+        return java.toString();
+    }
+
+    private static boolean hasInlineMultiline(String source, int groupStart) {
+        if (!source.startsWith("(?", groupStart)) {
+            return false;
+        }
+        for (int i = groupStart + 2; i < source.length(); i++) {
+            char option = source.charAt(i);
+            if (option == 'm') {
+                return true;
+            }
+            if (option != 'i' && option != 'x' && option != '-') {
+                return false;
+            }
+        }
+        return false;
+    }
+}
@@ -90,6 +90,15 @@ module Cucumber
         def pattern
           @regexp.inspect
         end
+
+        # Used to match steps on the Java side without calling back into Ruby
+        def regexp_source
+          Regexp === @regexp ? @regexp.source : nil
+        end
+
+        def regexp_options
+          Regexp === @regexp ? @regexp.options : 0
+        end
       end
 
       module Dsl
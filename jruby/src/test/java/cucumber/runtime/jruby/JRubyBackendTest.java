@@ -0,0 +1,94 @@
+package cucumber.runtime.jruby;
+
+import cucumber.runtime.Glue;
+import cucumber.runtime.StepDefinition;
+import cucumber.runtime.io.MultiLoader;
+import gherkin.I18n;
+import gherkin.formatter.Argument;
+import gherkin.formatter.model.Comment;
+import gherkin.formatter.model.Step;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class JRubyBackendTest {
+    private static final I18n ENGLISH = new I18n("en");
+
+    private JRubyBackend backend;
+    private List<StepDefinition> stepDefinitions;
+
+    @Before
+    public void loadGlueWithAWorldPrototype() throws UnsupportedEncodingException {
+        backend = new JRubyBackend(new MultiLoader(getClass().getClassLoader()), true);
+        Glue glue = mock(Glue.class);
+        backend.loadGlue(glue, asList("classpath:cucumber/runtime/jrubyworld"));
+
+        ArgumentCaptor<StepDefinition> captor = ArgumentCaptor.forClass(StepDefinition.class);
+        verify(glue, atLeastOnce()).addStepDefinition(captor.capture());
+        stepDefinitions = captor.getAllValues();
+    }
+
+    @Test
+    public void does_not_leak_instance_variables_into_the_next_scenario() throws Throwable {
+        runScenario("I remember \"cukes\"");
+
+        runScenario("the world remembers nothing");
+    }
+
+    @Test
+    public void keeps_instance_variables_within_a_scenario() throws Throwable {
+        backend.buildWorld();
+        runStep("I remember \"cukes\"");
+        try {
+            runStep("the world remembers nothing");
+            fail();
+        } catch (RuntimeException expected) {
+            // so the scenarios above really looked at a fresh world
+        } finally {
+            backend.disposeWorld();
+        }
+    }
+
+    @Test
+    public void runs_the_world_blocks_once() throws Throwable {
+        runScenario("I remember \"cukes\"");
+        runScenario("I remember \"more cukes\"");
+
+        runScenario("the World block ran 1 time");
+    }
+
+    private void runScenario(String stepName) throws Throwable {
+        backend.buildWorld();
+        try {
+            runStep(stepName);
+        } finally {
+            backend.disposeWorld();
+        }
+    }
+
+    private void runStep(String stepName) throws Throwable {
+        Step step = new Step(Collections.<Comment>emptyList(), "Given ", stepName, 1, null, null);
+        for (StepDefinition stepDefinition : stepDefinitions) {
+            List<Argument> arguments = stepDefinition.matchedArguments(step);
+            if (arguments != null) {
+                Object[] args = new Object[arguments.size()];
+                for (int i = 0; i < args.length; i++) {
+                    args[i] = arguments.get(i).getVal();
+                }
+                stepDefinition.execute(ENGLISH, args);
+                return;
+            }
+        }
+        fail("No step definition matches " + stepName);
+    }
+}
@@ -0,0 +1,60 @@
+package cucumber.runtime.jruby;
+
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RubyPatternTest {
+    @Test
+    public void translates_hex_digit_escapes() {
+        assertEquals("[0-9a-fA-F]+", RubyPattern.translate("\\h+"));
+        assertEquals("[x0-9a-fA-F]", RubyPattern.translate("[x\\h]"));
+        assertEquals("[^0-9a-fA-F]", RubyPattern.translate("\\H"));
+    }
+
+    @Test
+    public void anchors_match_at_line_boundaries() {
+        Pattern pattern = RubyPattern.compile("^I am (\\w+)$", 0);
+        assertTrue(pattern.matcher("a line\nI am happy").find());
+    }
+
+    @Test
+    public void translates_options() {
+        assertTrue(RubyPattern.compile("^i have cukes$", 1).matcher("I HAVE CUKES").find());
+        assertTrue(RubyPattern.compile("^a.b$", 4).matcher("a\nb").find());
+        assertFalse(RubyPattern.compile("^a.b$", 0).matcher("a\nb").find());
+    }
+
+    @Test
+    public void returns_null_when_the_expression_is_not_valid_in_java() {
+        assertNull(RubyPattern.compile("I have (\\d+) \"(.?*)\" in my belly", 0));
+        assertNull(RubyPattern.compile("[a\\H]", 0));
+    }
+
+    @Test
+    public void leaves_posix_bracket_classes_to_ruby() {
+        assertNull(RubyPattern.translate("^I have ([[:alpha:]]+) cukes$"));
+        assertNull(RubyPattern.translate("[a[:digit:]]"));
+        assertEquals("[a\\[:]", RubyPattern.translate("[a\\[:]"));
+    }
+
+    @Test
+    public void leaves_inline_multiline_options_to_ruby() {
+        assertNull(RubyPattern.translate("(?m)^a.b$"));
+        assertNull(RubyPattern.translate("(?mi)^a.b$"));
+        assertNull(RubyPattern.translate("(?i-m:a.b)"));
+        assertNull(RubyPattern.compile("a(?m:.)b", 0));
+    }
+
+    @Test
+    public void keeps_other_inline_options_and_groups() {
+        assertEquals("(?i)cukes", RubyPattern.translate("(?i)cukes"));
+        assertEquals("(?:some) (?<n>more)", RubyPattern.translate("(?:some) (?<n>more)"));
+        assertEquals("[(?m)]", RubyPattern.translate("[(?m)]"));
+    }
+}
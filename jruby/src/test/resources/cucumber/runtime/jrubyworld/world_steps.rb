@@ -0,0 +1,20 @@
+require 'cucumber/api/jruby/en'
+
+$world_blocks = 0
+
+World(proc do
+  $world_blocks += 1
+  self
+end)
+
+Given /^I remember "([^"]*)"$/ do |what|
+  @what = what
+end
+
+Then /^the world remembers nothing$/ do
+  raise "The world remembers #{@what}" if @what
+end
+
+Then /^the World block ran (\d+) times?$/ do |n|
+  raise "The World block ran #{$world_blocks} times" unless $world_blocks == n.to_i
+end
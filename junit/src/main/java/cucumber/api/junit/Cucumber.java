@@ -2,16 +2,24 @@ package cucumber.api.junit;
 
 import cucumber.api.CucumberOptions;
 import cucumber.runtime.ClassFinder;
+import cucumber.runtime.CucumberException;
+import cucumber.runtime.Env;
 import cucumber.runtime.Runtime;
 import cucumber.runtime.RuntimeOptions;
 import cucumber.runtime.RuntimeOptionsFactory;
+import cucumber.runtime.formatter.FeatureEventBuffer;
 import cucumber.runtime.io.MultiLoader;
 import cucumber.runtime.io.ResourceLoader;
 import cucumber.runtime.io.ResourceLoaderClassFinder;
 import cucumber.runtime.junit.Assertions;
 import cucumber.runtime.junit.FeatureRunner;
 import cucumber.runtime.junit.JUnitReporter;
+import cucumber.runtime.junit.JUnitWorker;
+import cucumber.runtime.junit.ParallelFeatureScheduler;
+import cucumber.runtime.junit.SynchronizedRunNotifier;
 import cucumber.runtime.model.CucumberFeature;
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
 import org.junit.runner.Description;
 import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.ParentRunner;
@@ -19,6 +27,7 @@ import org.junit.runners.model.InitializationError;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -31,13 +40,28 @@ import java.util.List;
  * path as the annotated class ({@code .class} substituted by {@code .feature}).
  * </p>
  * Additional hints can be given to Cucumber by annotating the class with {@link CucumberOptions}.
+ * <p>
+ * Features can be run in parallel by setting the {@value #THREADS_KEY} system property or environment variable
+ * to the number of threads. Each thread gets its own runtime, and the scenarios of a feature still run one after
+ * the other. The output of each feature is passed to the formatters when the feature is done.
+ * </p>
+ * <p>
+ * Setting {@value #COMPACT_KEY} to true describes each scenario and example row as a single test, without a test
+ * for each step, and only creates the scenarios of example rows when they run. This makes suites with large
+ * Examples tables start faster and use less memory.
+ * </p>
  *
  * @see CucumberOptions
  */
 public class Cucumber extends ParentRunner<FeatureRunner> {
+    public static final String THREADS_KEY = "cucumber.junit.threads";
+    public static final String COMPACT_KEY = "cucumber.junit.compact";
+
     private final JUnitReporter jUnitReporter;
     private final List<FeatureRunner> children = new ArrayList<FeatureRunner>();
     private final Runtime runtime;
+    private final List<JUnitWorker> workers = Collections.synchronizedList(new ArrayList<JUnitWorker>());
+    private final ThreadLocal<JUnitWorker> worker;
 
     /**
      * Constructor called by JUnit.
@@ -58,8 +82,64 @@ public class Cucumber extends ParentRunner<FeatureRunner> {
         runtime = createRuntime(resourceLoader, classLoader, runtimeOptions);
 
         final List<CucumberFeature> cucumberFeatures = runtimeOptions.cucumberFeatures(resourceLoader);
-        jUnitReporter = new JUnitReporter(runtimeOptions.reporter(classLoader), runtimeOptions.formatter(classLoader), runtimeOptions.isStrict());
+        Reporter reporter = runtimeOptions.reporter(classLoader);
+        Formatter formatter = runtimeOptions.formatter(classLoader);
+        jUnitReporter = new JUnitReporter(reporter, formatter, runtimeOptions.isStrict());
         addChildren(cucumberFeatures);
+
+        int threads = getThreads();
+        if (threads > 1) {
+            setScheduler(new ParallelFeatureScheduler(threads));
+            worker = createWorkers(resourceLoader, classLoader, runtimeOptions, formatter, reporter, cucumberFeatures);
+        } else {
+            runtime.link(cucumberFeatures);
+            worker = null;
+        }
+    }
+
+    /**
+     * @return whether to describe scenarios without their steps. Can be overridden to use compact descriptions
+     * regardless of the {@value #COMPACT_KEY} setting.
+     */
+    protected boolean isCompact() {
+        return Boolean.parseBoolean(Env.INSTANCE.get(COMPACT_KEY, "false").trim());
+    }
+
+    /**
+     * @return the number of threads to run the features on. Can be overridden to run features in parallel
+     * regardless of the {@value #THREADS_KEY} setting.
+     */
+    protected int getThreads() {
+        String threads = Env.INSTANCE.get(THREADS_KEY, "1");
+        try {
+            return Integer.parseInt(threads.trim());
+        } catch (NumberFormatException e) {
+            throw new CucumberException(THREADS_KEY + " must be a number, got " + threads);
+        }
+    }
+
+    private ThreadLocal<JUnitWorker> createWorkers(final ResourceLoader resourceLoader, final ClassLoader classLoader,
+                                                   final RuntimeOptions runtimeOptions, final Formatter formatter,
+                                                   final Reporter reporter, final List<CucumberFeature> cucumberFeatures) {
+        return new ThreadLocal<JUnitWorker>() {
+            @Override
+            protected JUnitWorker initialValue() {
+                Runtime workerRuntime;
+                try {
+                    workerRuntime = createRuntime(resourceLoader, classLoader, runtimeOptions);
+                } catch (InitializationError e) {
+                    throw new CucumberException("Failed to create a runtime", e);
+                } catch (IOException e) {
+                    throw new CucumberException("Failed to create a runtime", e);
+                }
+                // Linked on the worker's own thread, which is the one that runs its steps
+                workerRuntime.link(cucumberFeatures);
+                FeatureEventBuffer buffer = new FeatureEventBuffer(formatter, reporter, jUnitReporter);
+                JUnitWorker jUnitWorker = new JUnitWorker(workerRuntime, new JUnitReporter(buffer, buffer, runtimeOptions.isStrict()));
+                workers.add(jUnitWorker);
+                return jUnitWorker;
+            }
+        };
     }
 
     /**
@@ -90,7 +170,16 @@ public class Cucumber extends ParentRunner<FeatureRunner> {
 
     @Override
     protected void runChild(FeatureRunner child, RunNotifier notifier) {
-        child.run(notifier);
+        if (worker == null) {
+            child.run(notifier);
+            return;
+        }
+        worker.get().bind();
+        try {
+            child.run(new SynchronizedRunNotifier(notifier));
+        } finally {
+            JUnitWorker.unbind();
+        }
     }
 
     @Override
@@ -98,12 +187,16 @@ public class Cucumber extends ParentRunner<FeatureRunner> {
         super.run(notifier);
         jUnitReporter.done();
         jUnitReporter.close();
+        for (JUnitWorker jUnitWorker : workers) {
+            runtime.addResultsOf(jUnitWorker.getRuntime());
+        }
         runtime.printSummary();
     }
 
     private void addChildren(List<CucumberFeature> cucumberFeatures) throws InitializationError {
+        boolean compact = isCompact();
         for (CucumberFeature cucumberFeature : cucumberFeatures) {
-            children.add(new FeatureRunner(cucumberFeature, runtime, jUnitReporter));
+            children.add(new FeatureRunner(cucumberFeature, runtime, jUnitReporter, compact));
         }
     }
 }
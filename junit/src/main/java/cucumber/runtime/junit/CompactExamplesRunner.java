@@ -0,0 +1,85 @@
+package cucumber.runtime.junit;
+
+import cucumber.runtime.CucumberException;
+import cucumber.runtime.Runtime;
+import cucumber.runtime.model.CucumberExamples;
+import gherkin.formatter.model.ExamplesTableRow;
+import org.junit.runner.Description;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.ParentRunner;
+import org.junit.runners.model.InitializationError;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static gherkin.util.FixJava.join;
+
+/**
+ * Runs the rows of an Examples table as one test each. Unlike {@link ExamplesRunner}, the scenario of a row is only
+ * created when the row runs, and its steps don't get descriptions, so large tables are described quickly and
+ * don't hold on to a runner per row.
+ */
+public class CompactExamplesRunner extends ParentRunner<ExamplesTableRow> {
+    private final Runtime runtime;
+    private final CucumberExamples cucumberExamples;
+    private final JUnitReporter jUnitReporter;
+    private final String outlineName;
+    private final Map<ExamplesTableRow, Description> rowDescriptions = new IdentityHashMap<ExamplesTableRow, Description>();
+    private Description description;
+
+    public CompactExamplesRunner(Runtime runtime, CucumberExamples cucumberExamples, JUnitReporter jUnitReporter, String outlineName) throws InitializationError {
+        super(null);
+        this.runtime = runtime;
+        this.cucumberExamples = cucumberExamples;
+        this.jUnitReporter = jUnitReporter;
+        this.outlineName = outlineName;
+    }
+
+    @Override
+    protected String getName() {
+        return cucumberExamples.getExamples().getKeyword() + ": " + cucumberExamples.getExamples().getName();
+    }
+
+    @Override
+    protected List<ExamplesTableRow> getChildren() {
+        List<ExamplesTableRow> rows = cucumberExamples.getExamples().getRows();
+        return rows.subList(rows.isEmpty() ? 0 : 1, rows.size());
+    }
+
+    @Override
+    public Description getDescription() {
+        if (description == null) {
+            description = Description.createSuiteDescription(getName(), cucumberExamples.getExamples());
+            for (ExamplesTableRow row : getChildren()) {
+                description.addChild(describeChild(row));
+            }
+        }
+        return description;
+    }
+
+    @Override
+    protected Description describeChild(ExamplesTableRow row) {
+        Description description = rowDescriptions.get(row);
+        if (description == null) {
+            description = Description.createTestDescription(outlineName, "| " + join(row.getCells(), " | ") + " |", row);
+            rowDescriptions.put(row, description);
+        }
+        return description;
+    }
+
+    @Override
+    protected void runChild(ExamplesTableRow row, RunNotifier notifier) {
+        try {
+            new ExecutionUnitRunner(runtime, cucumberExamples.createExampleScenario(row), jUnitReporter, describeChild(row)).run(notifier);
+        } catch (InitializationError e) {
+            throw new CucumberException("Failed to create scenario runner", e);
+        }
+    }
+
+    @Override
+    public void run(final RunNotifier notifier) {
+        JUnitWorker.reporter(jUnitReporter).examples(cucumberExamples.getExamples());
+        super.run(notifier);
+    }
+}
@@ -25,8 +25,7 @@ public class ExamplesRunner extends Suite {
 
     private static List<Runner> buildRunners(Runtime runtime, CucumberExamples cucumberExamples, JUnitReporter jUnitReporter) {
         List<Runner> runners = new ArrayList<Runner>();
-        List<CucumberScenario> exampleScenarios = cucumberExamples.createExampleScenarios();
-        for (CucumberScenario scenario : exampleScenarios) {
+        for (CucumberScenario scenario : cucumberExamples.exampleScenarios()) {
             try {
                 ExecutionUnitRunner exampleScenarioRunner = new ExecutionUnitRunner(runtime, scenario, jUnitReporter);
                 runners.add(exampleScenarioRunner);
@@ -55,7 +54,7 @@ public class ExamplesRunner extends Suite {
 
     @Override
     public void run(final RunNotifier notifier) {
-        jUnitReporter.examples(cucumberExamples.getExamples());
+        JUnitWorker.reporter(jUnitReporter).examples(cucumberExamples.getExamples());
         super.run(notifier);
     }
 }
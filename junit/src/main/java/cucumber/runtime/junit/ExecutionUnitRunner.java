@@ -9,7 +9,7 @@ import org.junit.runners.ParentRunner;
 import org.junit.runners.model.InitializationError;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -21,16 +21,29 @@ public class ExecutionUnitRunner extends ParentRunner<Step> {
     private final CucumberScenario cucumberScenario;
     private final JUnitReporter jUnitReporter;
     private Description description;
-    private final Map<Step, Description> stepDescriptions = new HashMap<Step, Description>();
+    private final Map<Step, Description> stepDescriptions = new IdentityHashMap<Step, Description>();
     private final List<Step> runnerSteps = new ArrayList<Step>();
 
     public ExecutionUnitRunner(Runtime runtime, CucumberScenario cucumberScenario, JUnitReporter jUnitReporter) throws InitializationError {
+        this(runtime, cucumberScenario, jUnitReporter, null);
+    }
+
+    /**
+     * @param description the description of the scenario, or null to describe it with a child for each step. A test
+     *                    description makes the scenario a single test, and its steps aren't reported to JUnit.
+     */
+    ExecutionUnitRunner(Runtime runtime, CucumberScenario cucumberScenario, JUnitReporter jUnitReporter, Description description) throws InitializationError {
         super(ExecutionUnitRunner.class);
         this.runtime = runtime;
         this.cucumberScenario = cucumberScenario;
         this.jUnitReporter = jUnitReporter;
+        this.description = description;
     }
 
+    /**
+     * @return the steps of the description, background steps first, in the order they run. The list isn't changed
+     * by running the scenario.
+     */
     public List<Step> getRunnerSteps() {
     	return runnerSteps;
     }
@@ -86,9 +99,10 @@ public class ExecutionUnitRunner extends ParentRunner<Step> {
 
     @Override
     public void run(final RunNotifier notifier) {
+        JUnitReporter jUnitReporter = JUnitWorker.reporter(this.jUnitReporter);
         jUnitReporter.startExecutionUnit(this, notifier);
         // This causes runChild to never be called, which seems OK.
-        cucumberScenario.run(jUnitReporter, jUnitReporter, runtime);
+        cucumberScenario.run(jUnitReporter, jUnitReporter, JUnitWorker.runtime(runtime));
         jUnitReporter.finishExecutionUnit();
     }
 
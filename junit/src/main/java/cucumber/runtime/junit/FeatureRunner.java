@@ -21,13 +21,23 @@ public class FeatureRunner extends ParentRunner<ParentRunner> {
     private final CucumberFeature cucumberFeature;
     private final Runtime runtime;
     private final JUnitReporter jUnitReporter;
+    private final boolean compact;
     private Description description;
 
     public FeatureRunner(CucumberFeature cucumberFeature, Runtime runtime, JUnitReporter jUnitReporter) throws InitializationError {
+        this(cucumberFeature, runtime, jUnitReporter, false);
+    }
+
+    /**
+     * @param compact whether to run each scenario and example row as a single test, without a test for each step.
+     *                The runners of example rows are created when the rows run.
+     */
+    public FeatureRunner(CucumberFeature cucumberFeature, Runtime runtime, JUnitReporter jUnitReporter, boolean compact) throws InitializationError {
         super(null);
         this.cucumberFeature = cucumberFeature;
         this.runtime = runtime;
         this.jUnitReporter = jUnitReporter;
+        this.compact = compact;
         buildFeatureElementRunners();
     }
 
@@ -65,6 +75,7 @@ public class FeatureRunner extends ParentRunner<ParentRunner> {
 
     @Override
     public void run(RunNotifier notifier) {
+        JUnitReporter jUnitReporter = JUnitWorker.reporter(this.jUnitReporter);
         jUnitReporter.uri(cucumberFeature.getPath());
         jUnitReporter.feature(cucumberFeature.getGherkinFeature());
         super.run(notifier);
@@ -76,9 +87,10 @@ public class FeatureRunner extends ParentRunner<ParentRunner> {
             try {
                 ParentRunner featureElementRunner;
                 if (cucumberTagStatement instanceof CucumberScenario) {
-                    featureElementRunner = new ExecutionUnitRunner(runtime, (CucumberScenario) cucumberTagStatement, jUnitReporter);
+                    Description scenarioDescription = compact ? Description.createTestDescription(getName(), cucumberTagStatement.getVisualName(), cucumberTagStatement.getGherkinModel()) : null;
+                    featureElementRunner = new ExecutionUnitRunner(runtime, (CucumberScenario) cucumberTagStatement, jUnitReporter, scenarioDescription);
                 } else {
-                    featureElementRunner = new ScenarioOutlineRunner(runtime, (CucumberScenarioOutline) cucumberTagStatement, jUnitReporter);
+                    featureElementRunner = new ScenarioOutlineRunner(runtime, (CucumberScenarioOutline) cucumberTagStatement, jUnitReporter, compact);
                 }
                 children.add(featureElementRunner);
             } catch (InitializationError e) {
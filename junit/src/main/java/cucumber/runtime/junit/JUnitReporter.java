@@ -15,13 +15,14 @@ import org.junit.internal.runners.model.EachTestNotifier;
 import org.junit.runner.Description;
 import org.junit.runner.notification.RunNotifier;
 
-import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 
 import static cucumber.runtime.Runtime.isPending;
 
 public class JUnitReporter implements Reporter, Formatter {
-    private final List<Step> steps = new ArrayList<Step>();
+    private final Deque<Step> steps = new ArrayDeque<Step>();
 
     private final Reporter reporter;
     private final Formatter formatter;
@@ -29,8 +30,10 @@ public class JUnitReporter implements Reporter, Formatter {
 
     EachTestNotifier stepNotifier;
     private ExecutionUnitRunner executionUnitRunner;
+    private int runnerStepIndex;
     private RunNotifier runNotifier;
     EachTestNotifier executionUnitNotifier;
+    private boolean reportSteps;
     private boolean failedStep;
     private boolean ignoredStep;
     private boolean inScenarioLifeCycle;
@@ -43,12 +46,15 @@ public class JUnitReporter implements Reporter, Formatter {
 
     public void startExecutionUnit(ExecutionUnitRunner executionUnitRunner, RunNotifier runNotifier) {
         this.executionUnitRunner = executionUnitRunner;
+        this.runnerStepIndex = 0;
         this.runNotifier = runNotifier;
         this.stepNotifier = null;
         this.failedStep = false;
         this.ignoredStep = false;
 
-        executionUnitNotifier = new EachTestNotifier(runNotifier, executionUnitRunner.getDescription());
+        Description description = executionUnitRunner.getDescription();
+        this.reportSteps = !description.isTest();
+        executionUnitNotifier = new EachTestNotifier(runNotifier, description);
         executionUnitNotifier.fireTestStarted();
     }
 
@@ -60,15 +66,19 @@ public class JUnitReporter implements Reporter, Formatter {
     }
 
     public void match(Match match) {
-        Step runnerStep = fetchAndCheckRunnerStep();
-        Description description = executionUnitRunner.describeChild(runnerStep);
-        stepNotifier = new EachTestNotifier(runNotifier, description);
+        if (reportSteps) {
+            Step runnerStep = fetchAndCheckRunnerStep();
+            Description description = executionUnitRunner.describeChild(runnerStep);
+            stepNotifier = new EachTestNotifier(runNotifier, description);
+        } else {
+            steps.removeFirst();
+        }
         reporter.match(match);
     }
 
     private Step fetchAndCheckRunnerStep() {
-        Step scenarioStep = steps.remove(0);
-        Step runnerStep = executionUnitRunner.getRunnerSteps().remove(0);
+        Step scenarioStep = steps.removeFirst();
+        Step runnerStep = executionUnitRunner.getRunnerSteps().get(runnerStepIndex++);
         if (!scenarioStep.getName().equals(runnerStep.getName())) {
             throw new CucumberException("Expected step: \"" + scenarioStep.getName() + "\" got step: \"" + runnerStep.getName() + "\"");
         }
@@ -88,7 +98,9 @@ public class JUnitReporter implements Reporter, Formatter {
     public void result(Result result) {
         Throwable error = result.getError();
         if (Result.SKIPPED == result) {
-            stepNotifier.fireTestIgnored();
+            if (stepNotifier != null) {
+                stepNotifier.fireTestIgnored();
+            }
         } else if (isPendingOrUndefined(result)) {
             addFailureOrIgnoreStep(result);
         } else {
@@ -121,12 +133,18 @@ public class JUnitReporter implements Reporter, Formatter {
 
     private void addFailureOrIgnoreStep(Result result) {
         if (strict) {
-            stepNotifier.fireTestStarted();
+            if (stepNotifier != null) {
+                stepNotifier.fireTestStarted();
+            }
             addFailure(result);
-            stepNotifier.fireTestFinished();
+            if (stepNotifier != null) {
+                stepNotifier.fireTestFinished();
+            }
         } else {
             ignoredStep = true;
-            stepNotifier.fireTestIgnored();
+            if (stepNotifier != null) {
+                stepNotifier.fireTestIgnored();
+            }
         }
     }
 
@@ -137,7 +155,9 @@ public class JUnitReporter implements Reporter, Formatter {
             error = new PendingException();
         }
         failedStep = true;
-        stepNotifier.addFailure(error);
+        if (stepNotifier != null) {
+            stepNotifier.addFailure(error);
+        }
         executionUnitNotifier.addFailure(error);
     }
 
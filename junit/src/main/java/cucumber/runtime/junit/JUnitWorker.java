@@ -0,0 +1,45 @@
+package cucumber.runtime.junit;
+
+import cucumber.runtime.Runtime;
+
+/**
+ * The runtime and reporter that the runners on a thread use instead of the ones they were created with. The
+ * parallel mode of the Cucumber runner gives every worker thread its own, because neither can be shared by
+ * scenarios that run at the same time.
+ */
+public class JUnitWorker {
+    private static final ThreadLocal<JUnitWorker> CURRENT = new ThreadLocal<JUnitWorker>();
+
+    private final Runtime runtime;
+    private final JUnitReporter jUnitReporter;
+
+    public JUnitWorker(Runtime runtime, JUnitReporter jUnitReporter) {
+        this.runtime = runtime;
+        this.jUnitReporter = jUnitReporter;
+    }
+
+    public Runtime getRuntime() {
+        return runtime;
+    }
+
+    /**
+     * Makes the runners on the current thread use this worker until {@link #unbind()} is called.
+     */
+    public void bind() {
+        CURRENT.set(this);
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    static Runtime runtime(Runtime runtime) {
+        JUnitWorker worker = CURRENT.get();
+        return worker != null ? worker.runtime : runtime;
+    }
+
+    static JUnitReporter reporter(JUnitReporter jUnitReporter) {
+        JUnitWorker worker = CURRENT.get();
+        return worker != null ? worker.jUnitReporter : jUnitReporter;
+    }
+}
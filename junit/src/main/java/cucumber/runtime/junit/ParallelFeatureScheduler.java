@@ -0,0 +1,60 @@
+package cucumber.runtime.junit;
+
+import cucumber.runtime.CucumberException;
+import org.junit.runners.model.RunnerScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the features of a Cucumber runner on a fixed number of threads, in the order JUnit schedules them.
+ */
+public class ParallelFeatureScheduler implements RunnerScheduler {
+    private final ExecutorService executor;
+    private final List<Future<?>> features = new ArrayList<Future<?>>();
+
+    public ParallelFeatureScheduler(int threads) {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "cucumber-junit-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    @Override
+    public void schedule(Runnable childStatement) {
+        features.add(executor.submit(childStatement));
+    }
+
+    @Override
+    public void finished() {
+        try {
+            for (Future<?> feature : features) {
+                feature.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CucumberException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new CucumberException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
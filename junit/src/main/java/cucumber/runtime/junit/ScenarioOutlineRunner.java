@@ -18,15 +18,26 @@ public class ScenarioOutlineRunner extends Suite {
     private Description description;
 
     public ScenarioOutlineRunner(Runtime runtime, CucumberScenarioOutline cucumberScenarioOutline, JUnitReporter jUnitReporter) throws InitializationError {
-        super(null, buildRunners(runtime, cucumberScenarioOutline, jUnitReporter));
+        this(runtime, cucumberScenarioOutline, jUnitReporter, false);
+    }
+
+    /**
+     * @param compact whether to run each example row as a single test, created when it runs.
+     */
+    public ScenarioOutlineRunner(Runtime runtime, CucumberScenarioOutline cucumberScenarioOutline, JUnitReporter jUnitReporter, boolean compact) throws InitializationError {
+        super(null, buildRunners(runtime, cucumberScenarioOutline, jUnitReporter, compact));
         this.cucumberScenarioOutline = cucumberScenarioOutline;
         this.jUnitReporter = jUnitReporter;
     }
 
-    private static List<Runner> buildRunners(Runtime runtime, CucumberScenarioOutline cucumberScenarioOutline, JUnitReporter jUnitReporter) throws InitializationError {
+    private static List<Runner> buildRunners(Runtime runtime, CucumberScenarioOutline cucumberScenarioOutline, JUnitReporter jUnitReporter, boolean compact) throws InitializationError {
         List<Runner> runners = new ArrayList<Runner>();
         for (CucumberExamples cucumberExamples : cucumberScenarioOutline.getCucumberExamplesList()) {
-            runners.add(new ExamplesRunner(runtime, cucumberExamples, jUnitReporter));
+            if (compact) {
+                runners.add(new CompactExamplesRunner(runtime, cucumberExamples, jUnitReporter, cucumberScenarioOutline.getVisualName()));
+            } else {
+                runners.add(new ExamplesRunner(runtime, cucumberExamples, jUnitReporter));
+            }
         }
         return runners;
     }
@@ -49,7 +60,7 @@ public class ScenarioOutlineRunner extends Suite {
 
     @Override
     public void run(final RunNotifier notifier) {
-        cucumberScenarioOutline.formatOutlineScenario(jUnitReporter);
+        cucumberScenarioOutline.formatOutlineScenario(JUnitWorker.reporter(jUnitReporter));
         super.run(notifier);
     }
 }
@@ -0,0 +1,95 @@
+package cucumber.runtime.junit;
+
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+
+/**
+ * Passes the notifications of concurrently running tests on to another notifier one at a time, so that listeners
+ * that aren't thread safe, such as those of IDEs and build tools, see them in a consistent order.
+ */
+public class SynchronizedRunNotifier extends RunNotifier {
+    private final RunNotifier notifier;
+
+    public SynchronizedRunNotifier(RunNotifier notifier) {
+        this.notifier = notifier;
+    }
+
+    @Override
+    public void addListener(RunListener listener) {
+        synchronized (notifier) {
+            notifier.addListener(listener);
+        }
+    }
+
+    @Override
+    public void removeListener(RunListener listener) {
+        synchronized (notifier) {
+            notifier.removeListener(listener);
+        }
+    }
+
+    @Override
+    public void addFirstListener(RunListener listener) {
+        synchronized (notifier) {
+            notifier.addFirstListener(listener);
+        }
+    }
+
+    @Override
+    public void fireTestRunStarted(Description description) {
+        synchronized (notifier) {
+            notifier.fireTestRunStarted(description);
+        }
+    }
+
+    @Override
+    public void fireTestRunFinished(Result result) {
+        synchronized (notifier) {
+            notifier.fireTestRunFinished(result);
+        }
+    }
+
+    @Override
+    public void fireTestStarted(Description description) throws StoppedByUserException {
+        synchronized (notifier) {
+            notifier.fireTestStarted(description);
+        }
+    }
+
+    @Override
+    public void fireTestFailure(Failure failure) {
+        synchronized (notifier) {
+            notifier.fireTestFailure(failure);
+        }
+    }
+
+    @Override
+    public void fireTestAssumptionFailed(Failure failure) {
+        synchronized (notifier) {
+            notifier.fireTestAssumptionFailed(failure);
+        }
+    }
+
+    @Override
+    public void fireTestIgnored(Description description) {
+        synchronized (notifier) {
+            notifier.fireTestIgnored(description);
+        }
+    }
+
+    @Override
+    public void fireTestFinished(Description description) {
+        synchronized (notifier) {
+            notifier.fireTestFinished(description);
+        }
+    }
+
+    @Override
+    public void pleaseStop() {
+        notifier.pleaseStop();
+    }
+}
@@ -7,11 +7,17 @@ import cucumber.runtime.CucumberException;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.Description;
 import org.junit.runner.RunWith;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.model.InitializationError;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static java.util.Collections.emptyList;
@@ -78,6 +84,55 @@ public class CucumberTest {
         assertEquals(emptyList(), children);
     }
 
+    @Test
+    public void runs_features_in_parallel_with_the_same_results() throws IOException, InitializationError {
+        Cucumber sequential = new Cucumber(ExplicitFeaturePath.class);
+        Cucumber parallel = new Cucumber(ExplicitFeaturePath.class) {
+            @Override
+            protected int getThreads() {
+                return 3;
+            }
+        };
+
+        assertEquals(sequential.getDescription(), parallel.getDescription());
+        assertEquals(sequential.getDescription().testCount(), parallel.getDescription().testCount());
+        assertEquals(events(sequential), events(parallel));
+    }
+
+    private List<String> events(Cucumber cucumber) {
+        final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+        RunNotifier notifier = new RunNotifier();
+        notifier.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) {
+                events.add("started " + description);
+            }
+
+            @Override
+            public void testFinished(Description description) {
+                events.add("finished " + description);
+            }
+
+            @Override
+            public void testIgnored(Description description) {
+                events.add("ignored " + description);
+            }
+
+            @Override
+            public void testFailure(Failure failure) {
+                events.add("failed " + failure.getDescription());
+            }
+
+            @Override
+            public void testAssumptionFailure(Failure failure) {
+                events.add("assumption failed " + failure.getDescription());
+            }
+        });
+        cucumber.run(notifier);
+        Collections.sort(events);
+        return events;
+    }
+
     @RunWith(Cucumber.class)
     private class RunCukesTestValidEmpty {
     }
@@ -8,12 +8,22 @@ import cucumber.runtime.StopWatch;
 import cucumber.runtime.io.ClasspathResourceLoader;
 import cucumber.runtime.model.CucumberFeature;
 import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.model.InitializationError;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
 
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class FeatureRunnerTest {
 
@@ -129,6 +139,68 @@ public class FeatureRunnerTest {
                 "eof\n", formatterOutput);
     }
 
+    @Test
+    public void describes_scenarios_and_example_rows_as_tests_in_compact_mode() throws Throwable {
+        CucumberFeature cucumberFeature = TestFeatureBuilder.feature("path/test.feature", "" +
+                "Feature: feature name\n" +
+                "  Scenario: scenario name\n" +
+                "    Given first step\n" +
+                "    Then second step\n" +
+                "  Scenario Outline: outline name\n" +
+                "    When <x> step\n" +
+                "    Examples: examples name\n" +
+                "      |   x    |\n" +
+                "      | first  |\n" +
+                "      | second |\n");
+
+        FeatureRunner runner = new FeatureRunner(cucumberFeature, runtime(), new JUnitReporter(new FormatterSpy(), new FormatterSpy(), false), true);
+
+        Description scenario = runner.getDescription().getChildren().get(0);
+        assertTrue(scenario.isTest());
+        assertEquals("Scenario: scenario name(Feature: feature name)", scenario.getDisplayName());
+        List<Description> rows = runner.getDescription().getChildren().get(1).getChildren().get(0).getChildren();
+        assertEquals(2, rows.size());
+        assertEquals("| first |(Scenario Outline: outline name)", rows.get(0).getDisplayName());
+        assertTrue(rows.get(1).isTest());
+        assertEquals(3, runner.getDescription().testCount());
+    }
+
+    @Test
+    public void reports_scenarios_and_example_rows_but_not_steps_in_compact_mode() throws Throwable {
+        CucumberFeature cucumberFeature = TestFeatureBuilder.feature("path/test.feature", "" +
+                "Feature: feature name\n" +
+                "  Scenario: scenario name\n" +
+                "    Given first step\n" +
+                "  Scenario Outline: outline name\n" +
+                "    When <x> step\n" +
+                "    Examples: examples name\n" +
+                "      |   x    |\n" +
+                "      | first  |\n" +
+                "      | second |\n");
+        FormatterSpy formatterSpy = new FormatterSpy();
+        FeatureRunner runner = new FeatureRunner(cucumberFeature, runtime(), new JUnitReporter(formatterSpy, formatterSpy, false), true);
+        RunNotifier notifier = mock(RunNotifier.class);
+
+        runner.run(notifier);
+
+        ArgumentCaptor<Description> started = ArgumentCaptor.forClass(Description.class);
+        verify(notifier, times(3)).fireTestStarted(started.capture());
+        for (Description description : started.getAllValues()) {
+            assertTrue(description.isTest());
+        }
+        // The steps are undefined, so the scenarios are ignored
+        verify(notifier, times(3)).fireTestIgnored(any(Description.class));
+        verify(notifier, never()).fireTestFailure(any(Failure.class));
+        assertEquals(3, formatterSpy.toString().split("endOfScenarioLifeCycle").length - 1);
+    }
+
+    private Runtime runtime() {
+        final RuntimeOptions runtimeOptions = new RuntimeOptions("");
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        final ClasspathResourceLoader resourceLoader = new ClasspathResourceLoader(classLoader);
+        return new Runtime(resourceLoader, classLoader, asList(mock(Backend.class)), runtimeOptions, new StopWatch.Stub(0l), mock(RuntimeGlue.class));
+    }
+
     private String runFeatureWithFormatterSpy(CucumberFeature cucumberFeature) throws InitializationError {
         final RuntimeOptions runtimeOptions = new RuntimeOptions("");
         final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
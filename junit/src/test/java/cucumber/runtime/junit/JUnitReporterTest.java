@@ -23,6 +23,7 @@ import org.mockito.Matchers;
 import java.util.ArrayList;
 import java.util.List;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -308,6 +309,29 @@ public class JUnitReporterTest {
         verify(notifier).fireTestFinished(runnerStepDescription);
     }
 
+    @Test
+    public void leaves_the_runner_steps_of_the_execution_unit_runner_unchanged() throws Exception {
+        Step runnerStep = mockStep("Step Name");
+        List<Step> runnerSteps = runnerSteps(runnerStep);
+        ExecutionUnitRunner executionUnitRunner = mockExecutionUnitRunner(runnerSteps);
+        when(executionUnitRunner.describeChild(runnerStep)).thenReturn(stepDescription(runnerStep));
+        RunNotifier notifier = mock(RunNotifier.class);
+        jUnitReporter = new JUnitReporter(mock(Reporter.class), mock(Formatter.class), false);
+
+        for (int run = 0; run < 2; run++) {
+            jUnitReporter.startExecutionUnit(executionUnitRunner, notifier);
+            jUnitReporter.startOfScenarioLifeCycle(mock(Scenario.class));
+            jUnitReporter.step(mockStep("Step Name"));
+            jUnitReporter.match(mock(Match.class));
+            jUnitReporter.result(mockResult());
+            jUnitReporter.endOfScenarioLifeCycle(mock(Scenario.class));
+            jUnitReporter.finishExecutionUnit();
+        }
+
+        assertEquals(asList(runnerStep), runnerSteps);
+        verify(notifier, times(2)).fireTestFinished(stepDescription(runnerStep));
+    }
+
     @Test
     public void throws_exception_when_runner_step_name_do_no_match_scenario_step_name() throws Exception {
         Step runnerStep = mockStep("Runner Step Name");
@@ -0,0 +1,71 @@
+package cucumber.runtime.junit;
+
+import cucumber.runtime.Backend;
+import cucumber.runtime.Runtime;
+import cucumber.runtime.RuntimeGlue;
+import cucumber.runtime.RuntimeOptions;
+import cucumber.runtime.StopWatch;
+import cucumber.runtime.io.ClasspathResourceLoader;
+import cucumber.runtime.model.CucumberFeature;
+import org.junit.runner.notification.RunNotifier;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures building the descriptions of, and running, a synthetic feature with 50000 steps through the JUnit
+ * runners: long scenarios with a background, and a scenario outline with many rows. The steps are undefined, so
+ * the time is spent in the runners and the reporter rather than in step definitions.
+ * <p>
+ * Not run as part of the build. Run the main method to print the results.
+ */
+public class JUnitRunnerBenchmark {
+
+    private static final int SCENARIOS = 4;
+    private static final int STEPS_PER_SCENARIO = 10000;
+    private static final int EXAMPLE_ROWS = 3333;
+
+    public static void main(String[] args) throws Throwable {
+        CucumberFeature cucumberFeature = TestFeatureBuilder.feature("benchmark.feature", source());
+        int steps = SCENARIOS * (STEPS_PER_SCENARIO + 1) + EXAMPLE_ROWS * 3;
+
+        // The first rounds warm up the JVM
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            FeatureRunner runner = new FeatureRunner(cucumberFeature, runtime(), new JUnitReporter(new FormatterSpy(), new FormatterSpy(), false));
+            runner.getDescription();
+            long described = System.nanoTime();
+            runner.run(new RunNotifier());
+            long ran = System.nanoTime();
+            System.out.println(String.format("%d steps: described in %d ms, ran in %d ms (%d ns/step)",
+                    steps, (described - start) / 1000000, (ran - described) / 1000000, (ran - described) / steps));
+        }
+    }
+
+    private static Runtime runtime() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return new Runtime(new ClasspathResourceLoader(classLoader), classLoader, asList(mock(Backend.class)),
+                new RuntimeOptions(""), new StopWatch.Stub(0l), mock(RuntimeGlue.class));
+    }
+
+    private static String source() {
+        StringBuilder source = new StringBuilder("Feature: benchmark\n" +
+                "  Background:\n" +
+                "    Given a background step\n");
+        for (int scenario = 0; scenario < SCENARIOS; scenario++) {
+            source.append("  Scenario: scenario ").append(scenario).append('\n');
+            for (int step = 0; step < STEPS_PER_SCENARIO; step++) {
+                source.append("    When step ").append(step).append('\n');
+            }
+        }
+        source.append("  Scenario Outline: outline\n" +
+                "    When step <a>\n" +
+                "    Then step <b>\n" +
+                "    Examples:\n" +
+                "      | a | b |\n");
+        for (int row = 0; row < EXAMPLE_ROWS; row++) {
+            source.append("      | ").append(row).append(" | ").append(row).append(" |\n");
+        }
+        return source.toString();
+    }
+}
@@ -4,6 +4,7 @@ import cucumber.api.DataTable;
 import cucumber.api.Scenario;
 import cucumber.runtime.Backend;
 import cucumber.runtime.CucumberException;
+import cucumber.runtime.Env;
 import cucumber.runtime.Glue;
 import cucumber.runtime.UnreportedStepExecutor;
 import cucumber.runtime.io.Resource;
@@ -13,6 +14,7 @@ import cucumber.runtime.snippets.SnippetGenerator;
 import gherkin.formatter.model.Step;
 import org.python.core.Py;
 import org.python.core.PyException;
+import org.python.core.PyCode;
 import org.python.core.PyInstance;
 import org.python.core.PyList;
 import org.python.core.PyObject;
@@ -20,20 +22,50 @@ import org.python.core.PyString;
 import org.python.util.PythonInterpreter;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.io.Reader;
 import java.io.StringWriter;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class JythonBackend implements Backend {
+    /**
+     * When true, glue is loaded once and every thread runs scenarios against its own snapshot of the glue's globals.
+     */
+    public static final String SHARED_SCOPE_KEY = "jython.shared.scope";
+    private static final Env ENV = Env.INSTANCE;
+    // Compiled code doesn't depend on the interpreter it was compiled by, so it is shared by all backends.
+    // Only the latest version of each script is kept.
+    private static final ConcurrentMap<String, CompiledScript> COMPILED_SCRIPTS = new ConcurrentHashMap<String, CompiledScript>();
+
     private final SnippetGenerator snippetGenerator = new SnippetGenerator(new JythonSnippet());
     private final ResourceLoader resourceLoader;
     private final PythonInterpreter jython;
+    private final boolean sharedScope;
+    private final ThreadLocal<Worker> workers = new ThreadLocal<Worker>() {
+        @Override
+        protected Worker initialValue() {
+            return new Worker(jython.getLocals().invoke("copy"));
+        }
+    };
     private PyObject pyWorld;
     private Glue glue;
 
     public JythonBackend(ResourceLoader resourceLoader, PythonInterpreter jython) {
+        this(resourceLoader, jython, Boolean.parseBoolean(ENV.get(SHARED_SCOPE_KEY, "false")));
+    }
+
+    JythonBackend(ResourceLoader resourceLoader, PythonInterpreter jython, boolean sharedScope) {
         this.resourceLoader = resourceLoader;
         this.jython = jython;
+        this.sharedScope = sharedScope;
         jython.set("backend", this);
 
         for (Resource resource : resourceLoader.resources("classpath:cucumber/runtime/jython", "dsl.py")) {
@@ -63,17 +95,56 @@ public class JythonBackend implements Backend {
 
     @Override
     public void buildWorld() {
-        this.pyWorld = jython.eval("World()");
+        if (sharedScope) {
+            Worker worker = workers.get();
+            worker.world = worker.globals.__finditem__("World").__call__();
+        } else {
+            this.pyWorld = jython.eval("World()");
+        }
+    }
+
+    private PyObject world() {
+        return sharedScope ? workers.get().world : pyWorld;
     }
 
     private void runScript(Resource resource) {
         try {
-            jython.execfile(resource.getInputStream(), resource.getAbsolutePath());
+            String source = read(resource.getInputStream());
+            byte[] digest = digest(source);
+            CompiledScript compiled = COMPILED_SCRIPTS.get(resource.getAbsolutePath());
+            if (compiled == null || !MessageDigest.isEqual(compiled.digest, digest)) {
+                compiled = new CompiledScript(digest, jython.compile(source, resource.getAbsolutePath()));
+                COMPILED_SCRIPTS.put(resource.getAbsolutePath(), compiled);
+            }
+            jython.exec(compiled.code);
         } catch (IOException e) {
             throw new CucumberException(e);
         }
     }
 
+    private static String read(InputStream inputStream) throws IOException {
+        Reader reader = new InputStreamReader(inputStream, "UTF-8");
+        try {
+            StringWriter source = new StringWriter();
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                source.write(buffer, 0, read);
+            }
+            return source.toString();
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static byte[] digest(String source) throws IOException {
+        try {
+            return MessageDigest.getInstance("SHA-1").digest(source.getBytes("UTF-8"));
+        } catch (NoSuchAlgorithmException e) {
+            throw new CucumberException(e);
+        }
+    }
+
     @Override
     public void disposeWorld() {
     }
@@ -98,11 +169,11 @@ public class JythonBackend implements Backend {
     public void executeHook(PyInstance hookDefinition, Scenario scenario) {
         try {
             // Try to pass the scenario
-            hookDefinition.invoke("execute", pyWorld, Py.java2py(scenario));
+            invoke(hookDefinition, world(), Py.java2py(scenario));
         } catch (PyException e) {
             if (getStacktrace(e).contains("takes exactly 1 argument (2 given)")) {
                 // The stepdef doesn't want the scenario
-                hookDefinition.invoke("execute", pyWorld);
+                invoke(hookDefinition, world());
             } else {
                 // Some other error. Just rethrow.
                 throw e;
@@ -139,12 +210,12 @@ public class JythonBackend implements Backend {
     public void execute(PyInstance stepdef, Object[] args) throws Throwable {
 
         PyObject[] pyArgs = new PyObject[args.length + 1];
-        pyArgs[0] = pyWorld;
+        pyArgs[0] = world();
         for (int i = 0; i < args.length; i++) {
             pyArgs[i + 1] = argToPyObject(args[i]);
         }
         try {
-            stepdef.invoke("execute", pyArgs);
+            invoke(stepdef, pyArgs);
         } catch (PyException t) {
             Object unwrapped = t.value.__tojava__(Object.class);
             if (unwrapped instanceof Throwable) {
@@ -154,4 +225,45 @@ public class JythonBackend implements Backend {
             }
         }
     }
+
+    private void invoke(PyInstance definition, PyObject... args) {
+        if (sharedScope) {
+            workers.get().function(definition).__call__(args);
+        } else {
+            definition.invoke("execute", args);
+        }
+    }
+
+    private static class CompiledScript {
+        private final byte[] digest;
+        private final PyCode code;
+
+        CompiledScript(byte[] digest, PyCode code) {
+            this.digest = digest;
+            this.code = code;
+        }
+    }
+
+    /**
+     * The state of the scenarios running on one thread. The glue functions are rebound to a copy of the globals
+     * the glue left behind, so assignments to globals stay on the thread and the loaded glue is never changed.
+     */
+    private class Worker {
+        private final PyObject globals;
+        private final Map<PyInstance, PyObject> functions = new IdentityHashMap<PyInstance, PyObject>();
+        private PyObject world;
+
+        Worker(PyObject globals) {
+            this.globals = globals;
+        }
+
+        PyObject function(PyInstance definition) {
+            PyObject function = functions.get(definition);
+            if (function == null) {
+                function = jython.get("_rebind").__call__(definition.__getattr__("func"), globals);
+                functions.put(definition, function);
+            }
+            return function;
+        }
+    }
 }
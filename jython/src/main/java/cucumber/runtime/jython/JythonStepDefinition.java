@@ -1,7 +1,8 @@
 package cucumber.runtime.jython;
 
+import cucumber.runtime.JdkPatternArgumentMatcher;
+import cucumber.runtime.JdkPatternStepDefinition;
 import cucumber.runtime.ParameterInfo;
-import cucumber.runtime.StepDefinition;
 import gherkin.I18n;
 import gherkin.formatter.Argument;
 import gherkin.formatter.model.Step;
@@ -12,20 +13,36 @@ import org.python.core.PyString;
 
 import java.lang.reflect.Type;
 import java.util.List;
+import java.util.regex.Pattern;
 
-public class JythonStepDefinition implements StepDefinition {
+public class JythonStepDefinition implements JdkPatternStepDefinition {
     private final JythonBackend jythonBackend;
     private final PyInstance stepdef;
     private final int arity;
+    private final JdkPatternArgumentMatcher argumentMatcher;
 
     public JythonStepDefinition(JythonBackend jythonBackend, PyInstance stepdef, int arity) {
         this.jythonBackend = jythonBackend;
         this.stepdef = stepdef;
         this.arity = arity;
+        this.argumentMatcher = argumentMatcher(stepdef.__getattr__("regexp"));
+    }
+
+    private static JdkPatternArgumentMatcher argumentMatcher(PyObject regexp) {
+        // Compiled Python patterns are left to Python, they may carry flags we can't see.
+        if (!(regexp instanceof PyString)) {
+            return null;
+        }
+        Pattern pattern = PythonPattern.compile(((PyString) regexp).getString());
+        // re.match only matches at the beginning of the step name
+        return pattern == null ? null : new JdkPatternArgumentMatcher(pattern);
     }
 
     @Override
     public List<Argument> matchedArguments(Step step) {
+        if (argumentMatcher != null) {
+            return argumentMatcher.argumentsFrom(step.getName());
+        }
         PyObject stepName = new PyString(step.getName());
         PyObject matched_arguments = stepdef.invoke("matched_arguments", stepName);
         if (matched_arguments instanceof PyList) {
@@ -35,6 +52,11 @@ public class JythonStepDefinition implements StepDefinition {
         }
     }
 
+    @Override
+    public boolean isMatchedByJdkPattern() {
+        return argumentMatcher != null;
+    }
+
     @Override
     public String getLocation(boolean detail) {
         return null;
@@ -0,0 +1,55 @@
+package cucumber.runtime.jython;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Translates Python regular expressions to {@link Pattern}s, so that step names can be matched
+ * without calling into Python.
+ */
+class PythonPattern {
+
+    /**
+     * @param source a Python regular expression
+     * @return the equivalent pattern, or null if the expression can't be expressed as a {@link Pattern}.
+     */
+    static Pattern compile(String source) {
+        try {
+            return Pattern.compile(translate(source));
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Rewrites named groups and back references (<code>(?P&lt;name&gt;...)</code>, <code>(?P=name)</code>) and the
+     * <code>\Z</code> anchor, which only matches at the very end of the input in Python.
+     */
+    static String translate(String source) {
+        StringBuilder java = new StringBuilder(source.length());
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '\\' && i + 1 < source.length()) {
+                char escaped = source.charAt(++i);
+                if (escaped == 'Z') {
+                    java.append("\\z");
+                } else {
+                    java.append(c).append(escaped);
+                }
+            } else if (source.startsWith("(?P<", i)) {
+                java.append("(?<");
+                i += 3;
+            } else if (source.startsWith("(?P=", i)) {
+                int end = source.indexOf(')', i);
+                if (end == -1) {
+                    throw new PatternSyntaxException("Unclosed back reference", source, i);
+                }
+                java.append("\\k<").append(source, i + 4, end).append('>');
+                i = end;
+            } else {
+                java.append(c);
+            }
+        }
+        return java.toString();
+    }
+}
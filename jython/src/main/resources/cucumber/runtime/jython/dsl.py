@@ -1,4 +1,5 @@
 import re
+import types
 from gherkin.formatter import Argument
 from cucumber.api import PendingException
 
@@ -63,3 +64,7 @@ class After():
 
   def __call__(self, func):
     backend.addAfterHook(HookDefinition(self.tags, func))
+
+def _rebind(func, namespace):
+  """Returns a copy of func that looks up its globals in namespace"""
+  return types.FunctionType(func.func_code, namespace, func.func_name, func.func_defaults, func.func_closure)
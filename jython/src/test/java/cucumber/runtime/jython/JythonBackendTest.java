@@ -0,0 +1,101 @@
+package cucumber.runtime.jython;
+
+import cucumber.runtime.Glue;
+import cucumber.runtime.StepDefinition;
+import cucumber.runtime.io.MultiLoader;
+import gherkin.I18n;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.python.core.PyException;
+import org.python.core.PyList;
+import org.python.util.PythonInterpreter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class JythonBackendTest {
+    private static final I18n ENGLISH = new I18n("en");
+
+    private final PythonInterpreter jython = new PythonInterpreter();
+    private final Map<String, StepDefinition> stepDefinitions = new HashMap<String, StepDefinition>();
+    private JythonBackend backend;
+
+    @Before
+    public void loadGlueInASharedScope() {
+        backend = new JythonBackend(new MultiLoader(getClass().getClassLoader()), jython, true);
+        Glue glue = mock(Glue.class);
+        backend.loadGlue(glue, asList("classpath:cucumber/runtime/jython/shared_scope"));
+
+        ArgumentCaptor<StepDefinition> captor = ArgumentCaptor.forClass(StepDefinition.class);
+        verify(glue, atLeastOnce()).addStepDefinition(captor.capture());
+        for (StepDefinition stepDefinition : captor.getAllValues()) {
+            stepDefinitions.put(stepDefinition.getPattern(), stepDefinition);
+        }
+    }
+
+    @Test
+    public void does_not_leak_the_world_into_the_next_scenario() throws Throwable {
+        runScenario("^I see \"([^\"]*)\"$", "cukes");
+
+        runScenario("^the world has seen nothing$");
+    }
+
+    @Test
+    public void sees_the_state_of_the_world_within_a_scenario() throws Throwable {
+        backend.buildWorld();
+        execute("^I see \"([^\"]*)\"$", "cukes");
+        try {
+            execute("^the world has seen nothing$");
+            fail();
+        } catch (PyException expected) {
+            // so the scenario above really looked at a fresh world
+        } finally {
+            backend.disposeWorld();
+        }
+    }
+
+    @Test
+    public void keeps_assigned_globals_on_the_thread_that_assigned_them() throws Throwable {
+        final Throwable[] failure = new Throwable[1];
+        Thread other = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    runScenario("^I see \"([^\"]*)\"$", "cukes");
+                    runScenario("^I have seen (\\d+) things$", "1");
+                } catch (Throwable t) {
+                    failure[0] = t;
+                }
+            }
+        });
+        other.start();
+        other.join();
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+
+        runScenario("^I have seen (\\d+) things$", "0");
+        assertEquals(0, ((PyList) jython.get("seen")).size());
+    }
+
+    private void runScenario(String pattern, Object... args) throws Throwable {
+        backend.buildWorld();
+        try {
+            execute(pattern, args);
+        } finally {
+            backend.disposeWorld();
+        }
+    }
+
+    private void execute(String pattern, Object... args) throws Throwable {
+        stepDefinitions.get(pattern).execute(ENGLISH, args);
+    }
+}
@@ -0,0 +1,33 @@
+package cucumber.runtime.jython;
+
+import org.junit.Test;
+
+import java.util.regex.Matcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PythonPatternTest {
+    @Test
+    public void translates_named_groups_and_back_references() {
+        assertEquals("(?<n>\\d+) and \\k<n>", PythonPattern.translate("(?P<n>\\d+) and (?P=n)"));
+    }
+
+    @Test
+    public void translates_end_of_string_anchor() {
+        assertEquals("cukes\\z", PythonPattern.translate("cukes\\Z"));
+    }
+
+    @Test
+    public void compiles_named_groups() {
+        Matcher matcher = PythonPattern.compile("I have (?P<count>\\d+) cukes").matcher("I have 4 cukes");
+        assertTrue(matcher.lookingAt());
+        assertEquals("4", matcher.group("count"));
+    }
+
+    @Test
+    public void returns_null_when_the_expression_is_not_valid_in_java() {
+        assertNull(PythonPattern.compile("a{"));
+    }
+}
@@ -0,0 +1,17 @@
+seen = []
+
+@Given('^I see "([^"]*)"$')
+def i_see(self, what):
+  global seen
+  seen = seen + [what]
+  self.what = what
+
+@Then('^the world has seen nothing$')
+def the_world_has_seen_nothing(self):
+  if hasattr(self, 'what'):
+    raise(Exception("The world has seen %s" % self.what))
+
+@Then('^I have seen (\d+) things$')
+def i_have_seen(self, n):
+  if len(seen) != int(n):
+    raise(Exception("I have seen %s" % seen))
@@ -1,9 +1,8 @@
 package cucumber.runtime.java.needle;
 
 import cucumber.api.java.ObjectFactory;
-import cucumber.runtime.java.needle.config.CollectInjectionProvidersFromStepsInstance;
-import cucumber.runtime.java.needle.config.CreateInstanceByDefaultConstructor;
 import cucumber.runtime.java.needle.config.CucumberNeedleConfiguration;
+import cucumber.runtime.java.needle.config.StepsInstancePlan;
 import de.akquinet.jbosscc.needle.NeedleTestcase;
 import de.akquinet.jbosscc.needle.injection.InjectionProvider;
 import org.slf4j.Logger;
@@ -21,9 +20,8 @@ import static java.lang.String.format;
 public class NeedleFactory extends NeedleTestcase implements ObjectFactory {
 
     private final Map<Class<?>, Object> cachedStepsInstances = new LinkedHashMap<Class<?>, Object>();
+    private final Map<Class<?>, StepsInstancePlan<?>> stepsInstancePlans = new LinkedHashMap<Class<?>, StepsInstancePlan<?>>();
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
-    private final CreateInstanceByDefaultConstructor createInstanceByDefaultConstructor = CreateInstanceByDefaultConstructor.INSTANCE;
-    private final CollectInjectionProvidersFromStepsInstance collectInjectionProvidersFromStepsInstance = CollectInjectionProvidersFromStepsInstance.INSTANCE;
 
     public NeedleFactory() {
         super(setUpInjectionProviders(RESOURCE_CUCUMBER_NEEDLE));
@@ -39,8 +37,8 @@ public class NeedleFactory extends NeedleTestcase implements ObjectFactory {
     @Override
     public void start() {
         logger.trace("start()");
-        for (final Class<?> stepDefinitionType : cachedStepsInstances.keySet()) {
-            cachedStepsInstances.put(stepDefinitionType, createStepsInstance(stepDefinitionType));
+        for (final StepsInstancePlan<?> plan : stepsInstancePlans.values()) {
+            cachedStepsInstances.put(plan.getType(), createStepsInstance(plan));
         }
     }
 
@@ -59,6 +57,7 @@ public class NeedleFactory extends NeedleTestcase implements ObjectFactory {
         // build up cache keys ...
         if (!cachedStepsInstances.containsKey(type)) {
             cachedStepsInstances.put(type, null);
+            stepsInstancePlans.put(type, StepsInstancePlan.forType(type));
         }
         return true;
     }
@@ -79,11 +78,11 @@ public class NeedleFactory extends NeedleTestcase implements ObjectFactory {
         return (T) instance;
     }
 
-    private <T> T createStepsInstance(final Class<T> type) {
-        logger.trace("createInstance(): " + type.getCanonicalName());
+    private <T> T createStepsInstance(final StepsInstancePlan<T> plan) {
+        logger.trace("createInstance(): " + plan.getType().getCanonicalName());
         try {
-            final T stepsInstance = createInstanceByDefaultConstructor.apply(type);
-            addInjectionProvider(collectInjectionProvidersFromStepsInstance.apply(stepsInstance));
+            final T stepsInstance = plan.newInstance();
+            addInjectionProvider(plan.collectInjectionProviders(stepsInstance));
             initTestcase(stepsInstance);
             return stepsInstance;
         } catch (final Exception e) {
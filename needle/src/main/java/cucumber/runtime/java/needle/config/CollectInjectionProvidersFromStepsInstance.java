@@ -38,17 +38,7 @@ public enum CollectInjectionProvidersFromStepsInstance {
         for (final Field field : ReflectionUtil.getAllFieldsWithAnnotation(instance, NeedleInjectionProvider.class)) {
             field.setAccessible(true);
             try {
-                final Object value = field.get(instance);
-                if (value instanceof InjectionProvider<?>[]) {
-                    providers.addAll(Arrays.asList((InjectionProvider<?>[]) value));
-                } else if (value instanceof InjectionProvider) {
-                    providers.add((InjectionProvider<?>) value);
-                } else if (value instanceof InjectionProviderInstancesSupplier) {
-                    providers.addAll(((InjectionProviderInstancesSupplier) value).get());
-                } else {
-                    throw new IllegalStateException("Fields annotated with NeedleInjectionProviders must be of type "
-                            + "InjectionProviderInstancesSupplier, InjectionProvider " + "or InjectionProvider[]");
-                }
+                addInjectionProviders(providers, field.get(instance));
             } catch (final Exception e) {
                 throw new IllegalStateException(e);
             }
@@ -60,4 +50,17 @@ public enum CollectInjectionProvidersFromStepsInstance {
         return providers.toArray(new InjectionProvider<?>[providers.size()]);
     }
 
+    static void addInjectionProviders(final Set<InjectionProvider<?>> providers, final Object value) {
+        if (value instanceof InjectionProvider<?>[]) {
+            providers.addAll(Arrays.asList((InjectionProvider<?>[]) value));
+        } else if (value instanceof InjectionProvider) {
+            providers.add((InjectionProvider<?>) value);
+        } else if (value instanceof InjectionProviderInstancesSupplier) {
+            providers.addAll(((InjectionProviderInstancesSupplier) value).get());
+        } else {
+            throw new IllegalStateException("Fields annotated with NeedleInjectionProviders must be of type "
+                    + "InjectionProviderInstancesSupplier, InjectionProvider " + "or InjectionProvider[]");
+        }
+    }
+
 }
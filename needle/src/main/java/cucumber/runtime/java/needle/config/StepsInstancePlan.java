@@ -0,0 +1,102 @@
+package cucumber.runtime.java.needle.config;
+
+import cucumber.api.needle.NeedleInjectionProvider;
+import de.akquinet.jbosscc.needle.injection.InjectionProvider;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Precomputed instantiation and injection provider lookup for one step definition type.
+ * <p>
+ * The default constructor and the fields annotated with {@link NeedleInjectionProvider} are resolved once, so that
+ * scenario setup only has to create the instance and read the fields.
+ *
+ * @param <T> the step definition type
+ */
+public final class StepsInstancePlan<T> {
+
+    private final Class<T> type;
+    private final Constructor<T> constructor;
+    private final Field[] injectionProviderFields;
+
+    private StepsInstancePlan(final Class<T> type, final Constructor<T> constructor, final Field[] injectionProviderFields) {
+        this.type = type;
+        this.constructor = constructor;
+        this.injectionProviderFields = injectionProviderFields;
+    }
+
+    /**
+     * Resolves the plan for the given type.
+     *
+     * @param type step definition type
+     * @return the plan for the type
+     */
+    public static <T> StepsInstancePlan<T> forType(final Class<T> type) {
+        return new StepsInstancePlan<T>(type, defaultConstructor(type), injectionProviderFields(type));
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Instantiates new object by the precomputed default constructor.
+     *
+     * @return new instance
+     */
+    public T newInstance() {
+        if (constructor == null) {
+            throw new IllegalStateException("Can not instantiate Instance by Default Constructor.",
+                    new NoSuchMethodException(type.getName() + ".<init>()"));
+        }
+        try {
+            return constructor.newInstance();
+        } catch (final Exception e) {
+            throw new IllegalStateException("Can not instantiate Instance by Default Constructor.", e);
+        }
+    }
+
+    /**
+     * Collect providers from the precomputed fields of the step definition.
+     *
+     * @param instance step definition instance
+     * @return collected injection providers.
+     */
+    public InjectionProvider<?>[] collectInjectionProviders(final T instance) {
+        final Set<InjectionProvider<?>> providers = new LinkedHashSet<InjectionProvider<?>>();
+        for (final Field field : injectionProviderFields) {
+            try {
+                CollectInjectionProvidersFromStepsInstance.addInjectionProviders(providers, field.get(instance));
+            } catch (final Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return providers.toArray(new InjectionProvider<?>[providers.size()]);
+    }
+
+    private static <T> Constructor<T> defaultConstructor(final Class<T> type) {
+        try {
+            return type.getConstructor();
+        } catch (final NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Field[] injectionProviderFields(final Class<?> type) {
+        final List<Field> result = new ArrayList<Field>();
+        for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (final Field field : clazz.getDeclaredFields()) {
+                if (field.isAnnotationPresent(NeedleInjectionProvider.class)) {
+                    field.setAccessible(true);
+                    result.add(field);
+                }
+            }
+        }
+        return result.toArray(new Field[result.size()]);
+    }
+}
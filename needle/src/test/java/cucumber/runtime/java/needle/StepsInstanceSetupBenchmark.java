@@ -0,0 +1,72 @@
+package cucumber.runtime.java.needle;
+
+import cucumber.api.needle.NeedleInjectionProvider;
+import cucumber.runtime.java.needle.config.CollectInjectionProvidersFromStepsInstance;
+import cucumber.runtime.java.needle.config.CreateInstanceByDefaultConstructor;
+import cucumber.runtime.java.needle.config.StepsInstancePlan;
+import cucumber.runtime.java.needle.injection.NamedInjectionProvider;
+import de.akquinet.jbosscc.needle.injection.InjectionProvider;
+
+/**
+ * Compares the per scenario cost of creating a step definition instance and collecting its injection providers
+ * by reflection on every scenario with using a precomputed {@link StepsInstancePlan}.
+ * <p>
+ * Not run as part of the build. Run the main method to print the results.
+ */
+public class StepsInstanceSetupBenchmark {
+
+    private static final int WARMUP_SCENARIOS = 200000;
+    private static final int MEASURED_SCENARIOS = 1000000;
+
+    public static class BaseSteps {
+        @NeedleInjectionProvider
+        private final InjectionProvider<?> baseProvider = NamedInjectionProvider.forNamedValue("base", "value");
+        private String unrelated;
+    }
+
+    public static class Steps extends BaseSteps {
+        @NeedleInjectionProvider
+        private final InjectionProvider<?> provider = NamedInjectionProvider.forNamedValue("foo", "bar");
+        private String first;
+        private String second;
+        private String third;
+    }
+
+    public static void main(final String[] args) {
+        final StepsInstancePlan<Steps> plan = StepsInstancePlan.forType(Steps.class);
+
+        reflective(WARMUP_SCENARIOS);
+        planned(plan, WARMUP_SCENARIOS);
+
+        long start = System.nanoTime();
+        int providers = reflective(MEASURED_SCENARIOS);
+        report("reflective", start, providers);
+
+        start = System.nanoTime();
+        providers = planned(plan, MEASURED_SCENARIOS);
+        report("planned", start, providers);
+    }
+
+    private static int reflective(final int scenarios) {
+        int providers = 0;
+        for (int i = 0; i < scenarios; i++) {
+            final Steps steps = CreateInstanceByDefaultConstructor.INSTANCE.apply(Steps.class);
+            providers += CollectInjectionProvidersFromStepsInstance.INSTANCE.apply(steps).length;
+        }
+        return providers;
+    }
+
+    private static int planned(final StepsInstancePlan<Steps> plan, final int scenarios) {
+        int providers = 0;
+        for (int i = 0; i < scenarios; i++) {
+            final Steps steps = plan.newInstance();
+            providers += plan.collectInjectionProviders(steps).length;
+        }
+        return providers;
+    }
+
+    private static void report(final String name, final long start, final int providers) {
+        final long elapsed = System.nanoTime() - start;
+        System.out.println(String.format("%-10s %6d ns/scenario (%d providers)", name, elapsed / MEASURED_SCENARIOS, providers));
+    }
+}
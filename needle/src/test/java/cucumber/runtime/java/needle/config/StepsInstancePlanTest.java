@@ -0,0 +1,54 @@
+package cucumber.runtime.java.needle.config;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import cucumber.api.needle.NeedleInjectionProvider;
+import cucumber.runtime.java.needle.injection.NamedInjectionProvider;
+import de.akquinet.jbosscc.needle.injection.InjectionProvider;
+
+public class StepsInstancePlanTest {
+
+    public static class BaseSteps {
+        @NeedleInjectionProvider
+        private final InjectionProvider<?> baseProvider = NamedInjectionProvider.forNamedValue("base", "value");
+    }
+
+    public static class Steps extends BaseSteps {
+        @NeedleInjectionProvider
+        private final InjectionProvider<?>[] providers = new InjectionProvider<?>[] {
+                NamedInjectionProvider.forNamedValue("foo", "bar"), NamedInjectionProvider.forNamedValue("bar", "foo") };
+
+        private final InjectionProvider<?> notAnnotated = NamedInjectionProvider.forNamedValue("baz", "baz");
+    }
+
+    public static class DoesNotHaveDefaultConstructor {
+        public DoesNotHaveDefaultConstructor(final String name) {
+            // empty
+        }
+    }
+
+    @Test
+    public void shouldCreateNewInstanceForEachCall() {
+        final StepsInstancePlan<Steps> plan = StepsInstancePlan.forType(Steps.class);
+        final Steps first = plan.newInstance();
+        assertNotNull(first);
+        assertNotSame(first, plan.newInstance());
+    }
+
+    @Test
+    public void shouldCollectInjectionProvidersFromAnnotatedFieldsIncludingSuperclasses() {
+        final StepsInstancePlan<Steps> plan = StepsInstancePlan.forType(Steps.class);
+        assertThat(plan.collectInjectionProviders(plan.newInstance()).length, is(3));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotCreateNewInstanceWhenConstructorIsMissing() {
+        StepsInstancePlan.forType(DoesNotHaveDefaultConstructor.class).newInstance();
+    }
+
+}
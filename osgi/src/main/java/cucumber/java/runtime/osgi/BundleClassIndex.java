@@ -0,0 +1,91 @@
+package cucumber.java.runtime.osgi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.SynchronousBundleListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the classes contained in each bundle. A bundle is indexed the first time it is needed, by reading the
+ * class file headers of its entries, and the index is kept until the bundle is updated, unresolved or uninstalled.
+ */
+class BundleClassIndex implements SynchronousBundleListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BundleClassIndex.class);
+
+    private final ConcurrentMap<Long, BundleClasses> bundles = new ConcurrentHashMap<Long, BundleClasses>();
+
+    @Override
+    public void bundleChanged(BundleEvent event) {
+        switch (event.getType()) {
+            case BundleEvent.UPDATED:
+            case BundleEvent.UNRESOLVED:
+            case BundleEvent.UNINSTALLED:
+                bundles.remove(event.getBundle().getBundleId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * @param bundle the bundle
+     * @return the class headers of the classes contained in the bundle, keyed by class name.
+     */
+    Map<String, ClassFileHeader> getClasses(Bundle bundle) {
+        BundleClasses classes = bundles.get(bundle.getBundleId());
+        // The last modified time changes with every install or update, so it identifies the bundle revision.
+        if (classes == null || classes.lastModified != bundle.getLastModified()) {
+            classes = new BundleClasses(bundle.getLastModified(), index(bundle));
+            bundles.put(bundle.getBundleId(), classes);
+        }
+        return classes.headers;
+    }
+
+    private static Map<String, ClassFileHeader> index(Bundle bundle) {
+        final Enumeration<URL> resources = bundle.findEntries("/", "*.class", true);
+        if (resources == null)
+            return Collections.emptyMap();
+
+        final Map<String, ClassFileHeader> headers = new LinkedHashMap<String, ClassFileHeader>();
+        for (URL url : Collections.list(resources)) {
+            try {
+                final ClassFileHeader header = readHeader(url);
+                headers.put(header.getClassName(), header);
+            } catch (IOException e) {
+                LOGGER.error("Failed to read class file " + url, e);
+            }
+        }
+        return headers;
+    }
+
+    private static ClassFileHeader readHeader(URL url) throws IOException {
+        final InputStream inputStream = url.openStream();
+        try {
+            return ClassFileHeader.read(inputStream);
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    private static class BundleClasses {
+        private final long lastModified;
+        private final Map<String, ClassFileHeader> headers;
+
+        BundleClasses(long lastModified, Map<String, ClassFileHeader> headers) {
+            this.lastModified = lastModified;
+            this.headers = headers;
+        }
+    }
+}
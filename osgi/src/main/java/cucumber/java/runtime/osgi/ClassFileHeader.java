@@ -0,0 +1,121 @@
+package cucumber.java.runtime.osgi;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The type hierarchy part of a class file header: the class name, its super class and the interfaces it
+ * implements. Reading it only requires parsing the constant pool, so classes can be inspected without
+ * being loaded (and without triggering bundle resolution).
+ */
+class ClassFileHeader {
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private final String className;
+    private final String superClassName;
+    private final String[] interfaceNames;
+
+    ClassFileHeader(String className, String superClassName, String[] interfaceNames) {
+        this.className = className;
+        this.superClassName = superClassName;
+        this.interfaceNames = interfaceNames;
+    }
+
+    static ClassFileHeader read(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(inputStream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        in.readUnsignedShort(); // minor version
+        in.readUnsignedShort(); // major version
+
+        byte[] skipBuffer = new byte[8];
+        int constantPoolCount = in.readUnsignedShort();
+        String[] utf8 = new String[constantPoolCount];
+        int[] classNameIndex = new int[constantPoolCount];
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case CONSTANT_UTF8:
+                    utf8[i] = in.readUTF();
+                    break;
+                case CONSTANT_CLASS:
+                    classNameIndex[i] = in.readUnsignedShort();
+                    break;
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    in.readFully(skipBuffer, 0, 2);
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    in.readFully(skipBuffer, 0, 3);
+                    break;
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELDREF:
+                case CONSTANT_METHODREF:
+                case CONSTANT_INTERFACE_METHODREF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    in.readFully(skipBuffer, 0, 4);
+                    break;
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    in.readFully(skipBuffer, 0, 8);
+                    i++; // takes two constant pool slots
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        in.readUnsignedShort(); // access flags
+        String className = className(utf8, classNameIndex, in.readUnsignedShort());
+        String superClassName = className(utf8, classNameIndex, in.readUnsignedShort());
+        String[] interfaceNames = new String[in.readUnsignedShort()];
+        for (int i = 0; i < interfaceNames.length; i++) {
+            interfaceNames[i] = className(utf8, classNameIndex, in.readUnsignedShort());
+        }
+        return new ClassFileHeader(className, superClassName, interfaceNames);
+    }
+
+    private static String className(String[] utf8, int[] classNameIndex, int classIndex) {
+        if (classIndex == 0) {
+            return null;
+        }
+        return utf8[classNameIndex[classIndex]].replace('/', '.');
+    }
+
+    String getClassName() {
+        return className;
+    }
+
+    String getSuperClassName() {
+        return superClassName;
+    }
+
+    String[] getInterfaceNames() {
+        return interfaceNames;
+    }
+}
@@ -1,10 +1,10 @@
 package cucumber.java.runtime.osgi;
 
-import java.net.URL;
+import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
@@ -13,14 +13,30 @@ import org.slf4j.LoggerFactory;
 
 import cucumber.runtime.ClassFinder;
 
-public class OsgiClassFinder implements ClassFinder {
+/**
+ * Finds glue classes in the installed bundles. Candidate classes are selected from a {@link BundleClassIndex}, built
+ * from class file headers, so that only the classes that actually extend the requested type are loaded.
+ * <p>
+ * The index listens for bundle changes until the finder is closed.
+ */
+public class OsgiClassFinder implements ClassFinder, Closeable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OsgiClassFinder.class);
 
     private final BundleContext bundleContext;
+    private final BundleClassIndex index = new BundleClassIndex();
 
     public OsgiClassFinder(BundleContext bundleContext) {
         this.bundleContext = bundleContext;
+        bundleContext.addBundleListener(index);
+    }
+
+    /**
+     * Stops tracking bundle changes. The finder must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        bundleContext.removeBundleListener(index);
     }
 
     @Override
@@ -28,12 +44,28 @@ public class OsgiClassFinder implements ClassFinder {
         if (LOGGER.isDebugEnabled())
             LOGGER.debug("Looking for sub classes of " + parentType.getName() + " in '" + packageName + "' package");
 
-        final String searchPath = packageName.replace('.', '/');
+        final String packagePrefix = packageName.isEmpty() ? "" : packageName + ".";
+        final Bundle[] bundles = bundleContext.getBundles();
+        final Map<String, Boolean> descendants = new HashMap<String, Boolean>();
+        descendants.put(parentType.getName(), Boolean.TRUE);
 
-        final ArrayList<Class<? extends T>> result = new ArrayList<Class<? extends T>>();;
-        for (Bundle bundle : bundleContext.getBundles()) {
+        final ArrayList<Class<? extends T>> result = new ArrayList<Class<? extends T>>();
+        for (Bundle bundle : bundles) {
             try {
-                result.addAll(findClassesInBundle(bundle, searchPath, parentType));
+                for (ClassFileHeader header : index.getClasses(bundle).values()) {
+                    final String className = header.getClassName();
+                    if (className.startsWith(packagePrefix)
+                            && !className.equals(parentType.getName())
+                            && isDescendant(className, parentType, bundle, bundles, descendants)) {
+                        try {
+                            final Class<? extends T> castClass = loadClassFromBundle(parentType, bundle, className);
+                            if (castClass != null)
+                                result.add(castClass);
+                        } catch (Exception e) {
+                            LOGGER.error("Failed to load class " + className, e);
+                        }
+                    }
+                }
             } catch (Exception e) {
                 LOGGER.error("Failed to inspect bundle " + bundle.getSymbolicName() + ": " + e.getMessage(), e);
             }
@@ -43,29 +75,79 @@ public class OsgiClassFinder implements ClassFinder {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T> Class<? extends T> loadClass(String className) throws ClassNotFoundException {
-        for (Bundle bundle : bundleContext.getBundles()) {
-            return (Class<? extends T>) bundle.loadClass(className);
+        final Bundle[] bundles = bundleContext.getBundles();
+        // Load through the bundle that contains (and thus exports) the class, if there is one.
+        final Bundle owner = findOwner(className, bundles);
+        if (owner != null) {
+            try {
+                return (Class<? extends T>) owner.loadClass(className);
+            } catch (ClassNotFoundException ignore) {
+                // The class may not be loadable from its own bundle (e.g. a fragment), try the others
+            }
+        }
+        for (Bundle bundle : bundles) {
+            try {
+                return (Class<? extends T>) bundle.loadClass(className);
+            } catch (ClassNotFoundException ignore) {
+                // try the next bundle
+            }
         }
         throw new ClassNotFoundException("Couldn't load class from bundles: " + className);
     }
 
-    private <T> Collection<Class<? extends T>> findClassesInBundle(Bundle bundle, String searchPath, Class<T> parentType) {
-        final Collection<Class<? extends T>> result = new ArrayList<Class<? extends T>>();
-        final Enumeration<URL> resources = bundle.findEntries(searchPath, "*.class", true);
-        if (resources == null)
-            return Collections.emptyList();
-        for (URL url : Collections.list(resources)) {
-            final String className = pathToClassName(url.getPath());
-            try {
-                final Class<? extends T> castClass = loadClassFromBundle(parentType, bundle, className);
-                if (castClass != null)
-                    result.add(castClass);
-            } catch (Exception e) {
-                LOGGER.error("Failed to load class " + className, e);
+    /**
+     * Walks the super classes and interfaces of a class by name using the index. Types that are not in the index
+     * (e.g. JDK classes) are loaded through the bundle of the class being inspected.
+     */
+    private boolean isDescendant(String className, Class<?> parentType, Bundle bundle, Bundle[] bundles, Map<String, Boolean> descendants) {
+        final Boolean known = descendants.get(className);
+        if (known != null)
+            return known;
+        // Guards against cycles while the answer is being computed
+        descendants.put(className, Boolean.FALSE);
+
+        boolean descendant;
+        final ClassFileHeader header = findHeader(className, bundles);
+        if (header == null) {
+            descendant = isLoadableDescendant(className, parentType, bundle);
+        } else {
+            descendant = header.getSuperClassName() != null
+                    && isDescendant(header.getSuperClassName(), parentType, bundle, bundles, descendants);
+            for (String interfaceName : header.getInterfaceNames()) {
+                descendant = descendant || isDescendant(interfaceName, parentType, bundle, bundles, descendants);
             }
         }
-        return result;
+        descendants.put(className, descendant);
+        return descendant;
+    }
+
+    private boolean isLoadableDescendant(String className, Class<?> parentType, Bundle bundle) {
+        if (className.startsWith("java."))
+            return false;
+        try {
+            return parentType.isAssignableFrom(bundle.loadClass(className));
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private ClassFileHeader findHeader(String className, Bundle[] bundles) {
+        for (Bundle bundle : bundles) {
+            final ClassFileHeader header = index.getClasses(bundle).get(className);
+            if (header != null)
+                return header;
+        }
+        return null;
+    }
+
+    private Bundle findOwner(String className, Bundle[] bundles) {
+        for (Bundle bundle : bundles) {
+            if (index.getClasses(bundle).containsKey(className))
+                return bundle;
+        }
+        return null;
     }
 
     private <T> Class<? extends T> loadClassFromBundle(Class<T> parentType, Bundle bundle, String className) throws ClassNotFoundException {
@@ -75,8 +157,4 @@ public class OsgiClassFinder implements ClassFinder {
         }
         return null;
     }
-
-    private static String pathToClassName(final String path) {
-        return path.substring(1, path.length() - 6).replace('/', '.');
-    }
 }
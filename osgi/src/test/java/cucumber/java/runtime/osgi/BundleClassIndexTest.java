@@ -0,0 +1,76 @@
+package cucumber.java.runtime.osgi;
+
+import org.junit.Test;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleEvent;
+
+import static cucumber.java.runtime.osgi.OsgiClassFinderTest.bundle;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BundleClassIndexTest {
+    private final BundleClassIndex index = new BundleClassIndex();
+
+    @Test
+    public void indexes_the_classes_of_a_bundle_once() throws ClassNotFoundException {
+        Bundle bundle = bundle(1, OsgiClassFinderTest.Leaf.class, OsgiClassFinderTest.Middle.class);
+
+        assertEquals(asList(OsgiClassFinderTest.Leaf.class.getName(), OsgiClassFinderTest.Middle.class.getName()),
+                asList(index.getClasses(bundle).keySet().toArray()));
+        index.getClasses(bundle);
+
+        verify(bundle, times(1)).findEntries(anyString(), anyString(), anyBoolean());
+    }
+
+    @Test
+    public void indexes_a_bundle_again_after_it_is_uninstalled() throws ClassNotFoundException {
+        assertIndexedAgainAfter(BundleEvent.UNINSTALLED);
+    }
+
+    @Test
+    public void indexes_a_bundle_again_after_it_is_updated() throws ClassNotFoundException {
+        assertIndexedAgainAfter(BundleEvent.UPDATED);
+    }
+
+    @Test
+    public void indexes_a_bundle_again_after_it_is_unresolved() throws ClassNotFoundException {
+        assertIndexedAgainAfter(BundleEvent.UNRESOLVED);
+    }
+
+    @Test
+    public void keeps_the_index_of_a_bundle_that_is_started() throws ClassNotFoundException {
+        Bundle bundle = bundle(1, OsgiClassFinderTest.Leaf.class);
+        index.getClasses(bundle);
+
+        index.bundleChanged(new BundleEvent(BundleEvent.STARTED, bundle));
+        index.getClasses(bundle);
+
+        verify(bundle, times(1)).findEntries(anyString(), anyString(), anyBoolean());
+    }
+
+    @Test
+    public void indexes_a_bundle_again_when_its_last_modified_time_changes() throws ClassNotFoundException {
+        Bundle bundle = bundle(1, OsgiClassFinderTest.Leaf.class);
+        index.getClasses(bundle);
+
+        when(bundle.getLastModified()).thenReturn(42L);
+        index.getClasses(bundle);
+
+        verify(bundle, times(2)).findEntries(anyString(), anyString(), anyBoolean());
+    }
+
+    private void assertIndexedAgainAfter(int eventType) throws ClassNotFoundException {
+        Bundle bundle = bundle(1, OsgiClassFinderTest.Leaf.class);
+        index.getClasses(bundle);
+
+        index.bundleChanged(new BundleEvent(eventType, bundle));
+        index.getClasses(bundle);
+
+        verify(bundle, times(2)).findEntries(anyString(), anyString(), anyBoolean());
+    }
+}
@@ -0,0 +1,174 @@
+package cucumber.java.runtime.osgi;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.RandomAccess;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class ClassFileHeaderTest {
+
+    @Test
+    public void reads_the_type_hierarchy_of_a_compiled_class() throws IOException {
+        ClassFileHeader header = read(Compiled.class);
+
+        assertEquals(Compiled.class.getName(), header.getClassName());
+        assertEquals(Number.class.getName(), header.getSuperClassName());
+        assertEquals(asList(RandomAccess.class.getName(), Runnable.class.getName()), asList(header.getInterfaceNames()));
+    }
+
+    @Test
+    public void reads_java_lang_object_without_a_super_class() throws IOException {
+        ClassFileHeader header = ClassFileHeader.read(new ClassFile()
+                .utf8(1, "java/lang/Object")
+                .classInfo(2, 1)
+                .header(2, 0)
+                .toStream(3));
+
+        assertEquals("java.lang.Object", header.getClassName());
+        assertNull(header.getSuperClassName());
+        assertArrayEquals(new String[0], header.getInterfaceNames());
+    }
+
+    @Test
+    public void skips_longs_and_doubles_which_take_two_constant_pool_slots() throws IOException {
+        ClassFileHeader header = ClassFileHeader.read(new ClassFile()
+                .constant(1, 5, 8)        // long, takes slots 1 and 2
+                .constant(3, 6, 8)        // double, takes slots 3 and 4
+                .utf8(5, "cukes/Belly")
+                .classInfo(6, 5)
+                .utf8(7, "java/lang/Object")
+                .classInfo(8, 7)
+                .header(6, 8)
+                .toStream(9));
+
+        assertEquals("cukes.Belly", header.getClassName());
+        assertEquals("java.lang.Object", header.getSuperClassName());
+    }
+
+    @Test
+    public void skips_method_handles_method_types_and_invokedynamic_entries() throws IOException {
+        ClassFileHeader header = ClassFileHeader.read(new ClassFile()
+                .constant(1, 15, 3)       // method handle: reference kind and index
+                .constant(2, 16, 2)       // method type: descriptor index
+                .constant(3, 18, 4)       // invokedynamic: bootstrap method and name and type indexes
+                .constant(4, 17, 4)       // dynamic constant
+                .utf8(5, "cukes/Belly")
+                .classInfo(6, 5)
+                .utf8(7, "java/lang/Object")
+                .classInfo(8, 7)
+                .utf8(9, "java/lang/Runnable")
+                .classInfo(10, 9)
+                .header(6, 8, 10)
+                .toStream(11));
+
+        assertEquals("cukes.Belly", header.getClassName());
+        assertEquals("java.lang.Object", header.getSuperClassName());
+        assertEquals(asList("java.lang.Runnable"), asList(header.getInterfaceNames()));
+    }
+
+    @Test
+    public void refuses_files_that_are_not_class_files() {
+        try {
+            ClassFileHeader.read(new ByteArrayInputStream(new byte[]{'P', 'K', 3, 4, 0, 0, 0, 0}));
+            fail();
+        } catch (IOException expected) {
+            assertEquals("Not a class file", expected.getMessage());
+        }
+    }
+
+    @Test
+    public void refuses_unknown_constant_pool_tags() {
+        try {
+            ClassFileHeader.read(new ClassFile().constant(1, 99, 0).toStream(2));
+            fail();
+        } catch (IOException expected) {
+            assertEquals("Unknown constant pool tag 99", expected.getMessage());
+        }
+    }
+
+    private static ClassFileHeader read(Class<?> type) throws IOException {
+        String classFile = type.getName().substring(type.getName().lastIndexOf('.') + 1) + ".class";
+        InputStream inputStream = type.getResourceAsStream(classFile);
+        try {
+            return ClassFileHeader.read(inputStream);
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static abstract class Compiled extends Number implements RandomAccess, Runnable {
+        static final long LONG = 1L << 40;
+        static final double DOUBLE = 0.5;
+    }
+
+    /**
+     * Writes the start of a class file. Constant pool entries must be added in index order.
+     */
+    private static class ClassFile {
+        private final ByteArrayOutputStream constants = new ByteArrayOutputStream();
+        private final DataOutputStream constantPool = new DataOutputStream(constants);
+        private final ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        private final DataOutputStream header = new DataOutputStream(headerBytes);
+        private int next = 1;
+
+        ClassFile utf8(int index, String value) throws IOException {
+            slots(index, 1);
+            constantPool.writeByte(1);
+            constantPool.writeUTF(value);
+            return this;
+        }
+
+        ClassFile classInfo(int index, int nameIndex) throws IOException {
+            slots(index, 1);
+            constantPool.writeByte(7);
+            constantPool.writeShort(nameIndex);
+            return this;
+        }
+
+        ClassFile constant(int index, int tag, int length) throws IOException {
+            slots(index, tag == 5 || tag == 6 ? 2 : 1);
+            constantPool.writeByte(tag);
+            constantPool.write(new byte[length]);
+            return this;
+        }
+
+        private void slots(int index, int count) {
+            assertEquals("constant pool index", next, index);
+            next += count;
+        }
+
+        ClassFile header(int thisClass, int superClass, int... interfaces) throws IOException {
+            header.writeShort(0x21); // public super
+            header.writeShort(thisClass);
+            header.writeShort(superClass);
+            header.writeShort(interfaces.length);
+            for (int anInterface : interfaces) {
+                header.writeShort(anInterface);
+            }
+            return this;
+        }
+
+        InputStream toStream(int constantPoolCount) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(52);
+            out.writeShort(constantPoolCount);
+            out.write(constants.toByteArray());
+            out.write(headerBytes.toByteArray());
+            return new ByteArrayInputStream(bytes.toByteArray());
+        }
+    }
+}
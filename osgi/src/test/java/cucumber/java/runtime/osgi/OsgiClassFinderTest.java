@@ -0,0 +1,189 @@
+package cucumber.java.runtime.osgi;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.BundleListener;
+
+import java.net.URL;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OsgiClassFinderTest {
+    private static final String PACKAGE = OsgiClassFinderTest.class.getPackage().getName();
+
+    private final BundleContext bundleContext = mock(BundleContext.class);
+    private Bundle api;
+    private Bundle steps;
+    private OsgiClassFinder classFinder;
+
+    @Before
+    public void createFinder() throws ClassNotFoundException {
+        api = bundle(1, Glue.class, SpecialGlue.class, Middle.class);
+        steps = bundle(2, Leaf.class, Special.class, Unrelated.class, Cukes.class);
+        when(bundleContext.getBundles()).thenReturn(new Bundle[]{api, steps});
+        classFinder = new OsgiClassFinder(bundleContext);
+    }
+
+    @Test
+    public void follows_super_classes_into_other_bundles() throws ClassNotFoundException {
+        Collection<Class<? extends Glue>> descendants = classFinder.getDescendants(Glue.class, PACKAGE);
+
+        assertTrue(descendants.toString(), descendants.contains(Leaf.class));
+        // Middle is only visible to the api bundle, so the steps bundle must not have to load it
+        verify(steps, never()).loadClass(Middle.class.getName());
+    }
+
+    @Test
+    public void follows_interfaces_into_other_bundles() throws ClassNotFoundException {
+        Collection<Class<? extends Glue>> descendants = classFinder.getDescendants(Glue.class, PACKAGE);
+
+        assertEquals(asList(SpecialGlue.class, Middle.class, Leaf.class, Special.class), descendants);
+        verify(steps, never()).loadClass(SpecialGlue.class.getName());
+    }
+
+    @Test
+    public void only_loads_the_descendants() throws ClassNotFoundException {
+        classFinder.getDescendants(Glue.class, PACKAGE);
+
+        verify(steps, never()).loadClass(Unrelated.class.getName());
+        verify(steps, never()).loadClass(Cukes.class.getName());
+    }
+
+    @Test
+    public void finds_classes_that_extend_a_jdk_type_directly() {
+        Collection<Class<? extends AbstractList>> descendants = classFinder.getDescendants(AbstractList.class, PACKAGE);
+
+        assertEquals(asList(Cukes.class), descendants);
+    }
+
+    @Test
+    public void does_not_look_through_the_super_types_of_jdk_types() {
+        // java.* classes are not loaded to inspect them, so Cukes is not found through AbstractList
+        Collection<Class<? extends Collection>> descendants = classFinder.getDescendants(Collection.class, PACKAGE);
+
+        assertEquals(Collections.emptyList(), descendants);
+    }
+
+    @Test
+    public void only_finds_classes_in_the_package() {
+        assertEquals(Collections.emptyList(), classFinder.getDescendants(Glue.class, "cucumber.other"));
+    }
+
+    @Test
+    public void loads_classes_through_the_bundle_that_contains_them() throws ClassNotFoundException {
+        assertEquals(Middle.class, classFinder.loadClass(Middle.class.getName()));
+
+        verify(steps, never()).loadClass(Middle.class.getName());
+    }
+
+    @Test
+    public void indexes_a_bundle_again_after_it_is_updated() throws ClassNotFoundException {
+        assertTrue(classFinder.getDescendants(Glue.class, PACKAGE).contains(Leaf.class));
+
+        Bundle updated = bundle(2, Unrelated.class);
+        when(bundleContext.getBundles()).thenReturn(new Bundle[]{api, updated});
+        bundleListener().bundleChanged(new BundleEvent(BundleEvent.UPDATED, updated));
+
+        assertEquals(asList(SpecialGlue.class, Middle.class), classFinder.getDescendants(Glue.class, PACKAGE));
+    }
+
+    @Test
+    public void stops_listening_for_bundle_changes_when_closed() {
+        BundleListener listener = bundleListener();
+
+        classFinder.close();
+
+        verify(bundleContext).removeBundleListener(listener);
+    }
+
+    private BundleListener bundleListener() {
+        ArgumentCaptor<BundleListener> listener = ArgumentCaptor.forClass(BundleListener.class);
+        verify(bundleContext).addBundleListener(listener.capture());
+        return listener.getValue();
+    }
+
+    /**
+     * A bundle that contains the class files of the given classes and can only load those classes (and
+     * the JDK ones).
+     */
+    static Bundle bundle(long id, final Class<?>... classes) throws ClassNotFoundException {
+        Bundle bundle = mock(Bundle.class);
+        when(bundle.getBundleId()).thenReturn(id);
+        when(bundle.getSymbolicName()).thenReturn("bundle-" + id);
+        when(bundle.findEntries(anyString(), anyString(), anyBoolean())).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                List<URL> entries = new ArrayList<URL>();
+                for (Class<?> type : classes) {
+                    entries.add(type.getResource(type.getName().substring(PACKAGE.length() + 1) + ".class"));
+                }
+                return Collections.enumeration(entries);
+            }
+        });
+        when(bundle.loadClass(anyString())).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws ClassNotFoundException {
+                String className = (String) invocation.getArguments()[0];
+                for (Class<?> type : classes) {
+                    if (type.getName().equals(className)) {
+                        return type;
+                    }
+                }
+                if (className.startsWith("java.")) {
+                    return Class.forName(className);
+                }
+                throw new ClassNotFoundException(className);
+            }
+        });
+        return bundle;
+    }
+
+    public interface Glue {
+    }
+
+    public interface SpecialGlue extends Glue {
+    }
+
+    public static abstract class Middle implements Glue {
+    }
+
+    public static class Leaf extends Middle {
+    }
+
+    public static class Special implements SpecialGlue {
+    }
+
+    public static class Unrelated {
+    }
+
+    public static class Cukes extends AbstractList<String> {
+        @Override
+        public String get(int index) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package cucumber.runtime.rhino;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.ScriptableObject;
+import org.mozilla.javascript.regexp.NativeRegExp;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Translates JavaScript regular expressions to {@link Pattern}s, so that step names can be matched
+ * without calling into JavaScript.
+ */
+class JavaScriptPattern {
+
+    /**
+     * @param regexp a JavaScript regular expression
+     * @return the equivalent pattern, or null if the expression can't be expressed as a {@link Pattern}.
+     */
+    static Pattern compile(NativeRegExp regexp) {
+        String source = Context.toString(ScriptableObject.getProperty(regexp, "source"));
+        int flags = 0;
+        if (Context.toBoolean(ScriptableObject.getProperty(regexp, "ignoreCase"))) {
+            flags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+        }
+        if (Context.toBoolean(ScriptableObject.getProperty(regexp, "multiline"))) {
+            flags |= Pattern.MULTILINE;
+        }
+        try {
+            return Pattern.compile(translate(source), flags);
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Rewrites the constructs that have a different meaning in JavaScript and Java: empty and negated empty
+     * character classes, <code>[</code> and <code>&amp;</code> inside character classes and the <code>\v</code>
+     * escape.
+     */
+    static String translate(String source) {
+        StringBuilder java = new StringBuilder(source.length() + 8);
+        boolean inClass = false;
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '\\' && i + 1 < source.length()) {
+                char escaped = source.charAt(++i);
+                if (escaped == 'v') {
+                    java.append("\\x0B");
+                } else {
+                    java.append(c).append(escaped);
+                }
+            } else if (inClass) {
+                if (c == ']') {
+                    inClass = false;
+                    java.append(c);
+                } else if (c == '[' || c == '&') {
+                    java.append('\\').append(c);
+                } else {
+                    java.append(c);
+                }
+            } else if (c == '[') {
+                if (source.startsWith("[]", i)) {
+                    java.append("(?!)");
+                    i += 1;
+                } else if (source.startsWith("[^]", i)) {
+                    java.append("[\\s\\S]");
+                    i += 2;
+                } else {
+                    inClass = true;
+                    java.append(c);
+                    if (i + 1 < source.length() && source.charAt(i + 1) == '^') {
+                        java.append(source.charAt(++i));
+                    }
+                }
+            } else {
+                java.append(c);
+            }
+        }
+        return java.toString();
+    }
+}
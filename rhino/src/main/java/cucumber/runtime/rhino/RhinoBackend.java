@@ -2,6 +2,7 @@ package cucumber.runtime.rhino;
 
 import cucumber.runtime.Backend;
 import cucumber.runtime.CucumberException;
+import cucumber.runtime.Env;
 import cucumber.runtime.Glue;
 import cucumber.runtime.UnreportedStepExecutor;
 import cucumber.runtime.io.Resource;
@@ -10,38 +11,76 @@ import cucumber.runtime.snippets.FunctionNameGenerator;
 import cucumber.runtime.snippets.SnippetGenerator;
 import gherkin.formatter.model.Step;
 import org.mozilla.javascript.Context;
+import org.mozilla.javascript.ContextFactory;
 import org.mozilla.javascript.Function;
 import org.mozilla.javascript.NativeFunction;
+import org.mozilla.javascript.Script;
 import org.mozilla.javascript.Scriptable;
 import org.mozilla.javascript.regexp.NativeRegExp;
 import org.mozilla.javascript.tools.shell.Global;
 
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class RhinoBackend implements Backend {
+    /**
+     * When true, glue is loaded once into a sealed base scope and every thread runs scenarios in its own child scope.
+     */
+    public static final String SHARED_SCOPE_KEY = "rhino.shared.scope";
+    /**
+     * Rhino optimization level used to compile scripts to Java classes, from 0 to 9. Scripts can't be interpreted
+     * (level -1), because step definition locations are taken from the Java stack.
+     */
+    public static final String OPTIMIZATION_LEVEL_KEY = "rhino.optimization.level";
+    private static final Env ENV = Env.INSTANCE;
     private static final String JS_DSL = "/cucumber/runtime/rhino/dsl.js";
+    // Compiled scripts don't depend on the context or scope they were compiled in, so they are shared by all backends.
+    // Only the latest version of each script is kept.
+    private static final ConcurrentMap<String, CompiledScript> COMPILED_SCRIPTS = new ConcurrentHashMap<String, CompiledScript>();
     private final SnippetGenerator snippetGenerator = new SnippetGenerator(new JavaScriptSnippet());
     private final ResourceLoader resourceLoader;
     private final Context cx;
     private final Scriptable scope;
+    private final RhinoScope rhinoScope;
     private List<String> gluePaths;
     private Glue glue;
     private Function buildWorldFn;
     private Function disposeWorldFn;
 
     public RhinoBackend(ResourceLoader resourceLoader) throws IOException {
+        this(resourceLoader, Boolean.parseBoolean(ENV.get(SHARED_SCOPE_KEY, "false")), optimizationLevel());
+    }
+
+    RhinoBackend(ResourceLoader resourceLoader, boolean sharedScope, Integer optimizationLevel) throws IOException {
         this.resourceLoader = resourceLoader;
-        cx = Context.enter();
-        scope = new Global(cx); // This gives us access to global functions like load()
+        ContextFactory contextFactory = new CucumberContextFactory(sharedScope, optimizationLevel);
+        cx = contextFactory.enterContext();
+        if (sharedScope && cx.getFactory() != contextFactory) {
+            // Rhino keeps using a context that was entered earlier, which wouldn't resolve names dynamically
+            throw new CucumberException("A shared Rhino scope must be created on a thread that hasn't entered a Rhino context");
+        }
+        Global global = new Global(cx); // This gives us access to global functions like load()
+        scope = global;
         scope.put("jsBackend", scope, this);
+        rhinoScope = sharedScope ? RhinoScope.shared(contextFactory, global) : RhinoScope.fixed(cx, scope);
 
         for (Resource resource : resourceLoader.resources("classpath:cucumber/runtime/rhino", ".js")) {
             runScript(resource);
         }
     }
 
+    private static Integer optimizationLevel() {
+        String optimizationLevel = ENV.get(OPTIMIZATION_LEVEL_KEY);
+        return optimizationLevel == null ? null : Integer.valueOf(optimizationLevel);
+    }
+
     @Override
     public void loadGlue(Glue glue, List<String> gluePaths) {
         this.glue = glue;
@@ -51,16 +90,50 @@ public class RhinoBackend implements Backend {
                 runScript(resource);
             }
         }
+        if (rhinoScope instanceof RhinoScope.Shared) {
+            ((RhinoScope.Shared) rhinoScope).seal();
+        }
     }
 
     private void runScript(Resource resource) {
         try {
-            cx.evaluateReader(scope, new InputStreamReader(resource.getInputStream(), "UTF-8"), resource.getAbsolutePath(), 1, null);
+            String source = read(resource);
+            String key = cx.getOptimizationLevel() + ":" + resource.getAbsolutePath();
+            byte[] digest = digest(source);
+            CompiledScript compiled = COMPILED_SCRIPTS.get(key);
+            if (compiled == null || !MessageDigest.isEqual(compiled.digest, digest)) {
+                compiled = new CompiledScript(digest, cx.compileString(source, resource.getAbsolutePath(), 1, null));
+                COMPILED_SCRIPTS.put(key, compiled);
+            }
+            compiled.script.exec(cx, scope);
         } catch (IOException e) {
             throw new CucumberException("Failed to evaluate JavaScript in " + resource.getAbsolutePath(), e);
         }
     }
 
+    private static String read(Resource resource) throws IOException {
+        Reader reader = new InputStreamReader(resource.getInputStream(), "UTF-8");
+        try {
+            StringWriter source = new StringWriter();
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                source.write(buffer, 0, read);
+            }
+            return source.toString();
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static byte[] digest(String source) throws IOException {
+        try {
+            return MessageDigest.getInstance("SHA-1").digest(source.getBytes("UTF-8"));
+        } catch (NoSuchAlgorithmException e) {
+            throw new CucumberException(e);
+        }
+    }
+
     @Override
     public void setUnreportedStepExecutor(UnreportedStepExecutor executor) {
         // Not used yet
@@ -68,16 +141,21 @@ public class RhinoBackend implements Backend {
 
     @Override
     public void buildWorld() {
-        if (buildWorldFn != null) buildWorldFn.call(cx, scope, scope, new Object[0]);
+        Scriptable scope = rhinoScope.scope();
+        if (buildWorldFn != null) buildWorldFn.call(rhinoScope.context(), scope, scope, new Object[0]);
     }
 
     @Override
     public void disposeWorld() {
+        Scriptable scope = rhinoScope.scope();
         try {
-            if (disposeWorldFn != null) disposeWorldFn.call(cx, scope, scope, new Object[0]);
+            if (disposeWorldFn != null) disposeWorldFn.call(rhinoScope.context(), scope, scope, new Object[0]);
         } finally {
-            buildWorldFn = null;
-            disposeWorldFn = null;
+            // The glue of a shared scope is only loaded once, so its world has to outlive the scenario
+            if (!(rhinoScope instanceof RhinoScope.Shared)) {
+                buildWorldFn = null;
+                disposeWorldFn = null;
+            }
         }
     }
 
@@ -120,19 +198,55 @@ public class RhinoBackend implements Backend {
 
     public void addStepDefinition(Global jsStepDefinition, NativeRegExp regexp, NativeFunction bodyFunc, NativeFunction argumentsFromFunc) throws Throwable {
         StackTraceElement stepDefLocation = jsLocation();
-        RhinoStepDefinition stepDefinition = new RhinoStepDefinition(cx, scope, jsStepDefinition, regexp, bodyFunc, stepDefLocation, argumentsFromFunc);
+        RhinoStepDefinition stepDefinition = new RhinoStepDefinition(rhinoScope, jsStepDefinition, regexp, bodyFunc, stepDefLocation, argumentsFromFunc);
         glue.addStepDefinition(stepDefinition);
     }
 
     public void addBeforeHook(Function fn, String[] tags, int order, long timeoutMillis) {
         StackTraceElement stepDefLocation = jsLocation();
-        RhinoHookDefinition hookDefinition = new RhinoHookDefinition(cx, scope, fn, tags, order, timeoutMillis, stepDefLocation);
+        RhinoHookDefinition hookDefinition = new RhinoHookDefinition(rhinoScope, fn, tags, order, timeoutMillis, stepDefLocation);
         glue.addBeforeHook(hookDefinition);
     }
 
     public void addAfterHook(Function fn, String[] tags, int order, long timeoutMillis) {
         StackTraceElement stepDefLocation = jsLocation();
-        RhinoHookDefinition hookDefinition = new RhinoHookDefinition(cx, scope, fn, tags, order, timeoutMillis, stepDefLocation);
+        RhinoHookDefinition hookDefinition = new RhinoHookDefinition(rhinoScope, fn, tags, order, timeoutMillis, stepDefLocation);
         glue.addAfterHook(hookDefinition);
     }
+
+    private static class CompiledScript {
+        private final byte[] digest;
+        private final Script script;
+
+        CompiledScript(byte[] digest, Script script) {
+            this.digest = digest;
+            this.script = script;
+        }
+    }
+
+    private static class CucumberContextFactory extends ContextFactory {
+        private final boolean dynamicScope;
+        private final Integer optimizationLevel;
+
+        CucumberContextFactory(boolean dynamicScope, Integer optimizationLevel) {
+            this.dynamicScope = dynamicScope;
+            this.optimizationLevel = optimizationLevel;
+        }
+
+        @Override
+        protected boolean hasFeature(Context cx, int featureIndex) {
+            if (featureIndex == Context.FEATURE_DYNAMIC_SCOPE) {
+                return dynamicScope;
+            }
+            return super.hasFeature(cx, featureIndex);
+        }
+
+        @Override
+        protected void onContextCreated(Context cx) {
+            super.onContextCreated(cx);
+            if (optimizationLevel != null) {
+                cx.setOptimizationLevel(optimizationLevel);
+            }
+        }
+    }
 }
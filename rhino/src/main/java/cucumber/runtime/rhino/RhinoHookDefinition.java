@@ -16,8 +16,7 @@ import cucumber.runtime.Timeout;
 
 public class RhinoHookDefinition implements HookDefinition {
 
-    private Context cx;
-    private Scriptable scope;
+    private final RhinoScope rhinoScope;
     private Function fn;
     private final TagExpression tagExpression;
     private final int order;
@@ -25,8 +24,11 @@ public class RhinoHookDefinition implements HookDefinition {
     private StackTraceElement location;
 
     public RhinoHookDefinition(Context cx, Scriptable scope, Function fn, String[] tagExpressions, int order, long timeoutMillis, StackTraceElement location) {
-        this.cx = cx;
-        this.scope = scope;
+        this(RhinoScope.fixed(cx, scope), fn, tagExpressions, order, timeoutMillis, location);
+    }
+
+    RhinoHookDefinition(RhinoScope rhinoScope, Function fn, String[] tagExpressions, int order, long timeoutMillis, StackTraceElement location) {
+        this.rhinoScope = rhinoScope;
         this.fn = fn;
         tagExpression = new TagExpression(asList(tagExpressions));
         this.order = order;
@@ -45,7 +47,8 @@ public class RhinoHookDefinition implements HookDefinition {
         Timeout.timeout(new Timeout.Callback<Object>() {
             @Override
             public Object call() throws Throwable {
-                return fn.call(cx, scope, scope, args);
+                Scriptable scope = rhinoScope.scope();
+                return fn.call(rhinoScope.context(), scope, scope, args);
             }
         }, timeoutMillis);
     }
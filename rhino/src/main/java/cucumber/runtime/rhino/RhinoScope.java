@@ -0,0 +1,97 @@
+package cucumber.runtime.rhino;
+
+import cucumber.runtime.CucumberException;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.ContextFactory;
+import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
+
+/**
+ * The context and scope JavaScript glue runs in.
+ */
+abstract class RhinoScope {
+
+    /**
+     * @return the context of the current thread.
+     */
+    abstract Context context();
+
+    /**
+     * @return the scope scenarios on the current thread run in.
+     */
+    abstract Scriptable scope();
+
+    /**
+     * A scope bound to the thread that loaded the glue.
+     */
+    static RhinoScope fixed(final Context cx, final Scriptable scope) {
+        return new RhinoScope() {
+            @Override
+            Context context() {
+                return cx;
+            }
+
+            @Override
+            Scriptable scope() {
+                return scope;
+            }
+        };
+    }
+
+    /**
+     * A scope that can be used from any number of threads. The glue is loaded once into a base scope which is then
+     * sealed, and each thread gets its own child scope that has the base scope as its prototype. Assignments to
+     * global variables and to <code>this</code> land in the child scope, so scenarios on different threads don't
+     * see each other's state. Objects reachable from the base scope are still shared.
+     * <p>
+     * The contexts must be created by a factory with {@link Context#FEATURE_DYNAMIC_SCOPE} enabled, so that
+     * functions defined in the base scope resolve names in the child scope they are called with.
+     */
+    static Shared shared(ContextFactory contextFactory, ScriptableObject base) {
+        return new Shared(contextFactory, base);
+    }
+
+    static class Shared extends RhinoScope {
+        private final ContextFactory contextFactory;
+        private final ScriptableObject base;
+        private final ThreadLocal<Scriptable> childScope = new ThreadLocal<Scriptable>() {
+            @Override
+            protected Scriptable initialValue() {
+                Scriptable child = context().newObject(base);
+                child.setPrototype(base);
+                child.setParentScope(null);
+                return child;
+            }
+        };
+
+        private Shared(ContextFactory contextFactory, ScriptableObject base) {
+            this.contextFactory = contextFactory;
+            this.base = base;
+        }
+
+        /**
+         * Seals the base scope. Called once all the glue has been loaded.
+         */
+        void seal() {
+            base.sealObject();
+        }
+
+        @Override
+        Context context() {
+            Context cx = Context.getCurrentContext();
+            if (cx == null) {
+                // Threads stay in their context, like the thread that created the backend.
+                return contextFactory.enterContext();
+            }
+            if (cx.getFactory() != contextFactory) {
+                throw new CucumberException("Scenarios in a shared Rhino scope can't run on a thread that entered another Rhino context");
+            }
+            return cx;
+        }
+
+        @Override
+        Scriptable scope() {
+            return base.isSealed() ? childScope.get() : base;
+        }
+    }
+}
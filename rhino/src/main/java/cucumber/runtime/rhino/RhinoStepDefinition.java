@@ -1,7 +1,8 @@
 package cucumber.runtime.rhino;
 
+import cucumber.runtime.JdkPatternArgumentMatcher;
+import cucumber.runtime.JdkPatternStepDefinition;
 import cucumber.runtime.ParameterInfo;
-import cucumber.runtime.StepDefinition;
 import gherkin.I18n;
 import gherkin.formatter.Argument;
 import gherkin.formatter.model.Step;
@@ -15,31 +16,44 @@ import org.mozilla.javascript.tools.shell.Global;
 
 import java.lang.reflect.Type;
 import java.util.List;
+import java.util.regex.Pattern;
 
-public class RhinoStepDefinition implements StepDefinition {
-    private final Context cx;
-    private final Scriptable scope;
+public class RhinoStepDefinition implements JdkPatternStepDefinition {
+    private final RhinoScope rhinoScope;
     private final Global jsStepDefinition;
     private final NativeRegExp regexp;
     private final NativeFunction bodyFunc;
     private final StackTraceElement location;
     private final NativeFunction argumentsFromFunc;
+    private final JdkPatternArgumentMatcher argumentMatcher;
 
     public RhinoStepDefinition(Context cx, Scriptable scope, Global jsStepDefinition, NativeRegExp regexp, NativeFunction bodyFunc, StackTraceElement location, NativeFunction argumentsFromFunc) {
-        this.cx = cx;
-        this.scope = scope;
+        this(RhinoScope.fixed(cx, scope), jsStepDefinition, regexp, bodyFunc, location, argumentsFromFunc);
+    }
+
+    RhinoStepDefinition(RhinoScope rhinoScope, Global jsStepDefinition, NativeRegExp regexp, NativeFunction bodyFunc, StackTraceElement location, NativeFunction argumentsFromFunc) {
+        this.rhinoScope = rhinoScope;
         this.jsStepDefinition = jsStepDefinition;
         this.regexp = regexp;
         this.bodyFunc = bodyFunc;
         this.location = location;
         this.argumentsFromFunc = argumentsFromFunc;
+        Pattern pattern = JavaScriptPattern.compile(regexp);
+        this.argumentMatcher = pattern == null ? null : new JdkPatternArgumentMatcher(pattern, true);
     }
 
     public List<Argument> matchedArguments(Step step) {
-        NativeJavaObject args = (NativeJavaObject) argumentsFromFunc.call(cx, scope, jsStepDefinition, new Object[]{step.getName(), this});
+        if (argumentMatcher != null) {
+            return argumentMatcher.argumentsFrom(step.getName());
+        }
+        NativeJavaObject args = (NativeJavaObject) argumentsFromFunc.call(rhinoScope.context(), rhinoScope.scope(), jsStepDefinition, new Object[]{step.getName(), this});
         return args == null ? null : unwrap(args);
     }
 
+    public boolean isMatchedByJdkPattern() {
+        return argumentMatcher != null;
+    }
+
     @SuppressWarnings("unchecked")
     private List<Argument> unwrap(NativeJavaObject args) {
         return (List<Argument>) args.unwrap();
@@ -61,7 +75,8 @@ public class RhinoStepDefinition implements StepDefinition {
 
     public void execute(I18n i18n, Object[] args) throws Throwable {
         try {
-            bodyFunc.call(cx, scope, scope, args);
+            Scriptable scope = rhinoScope.scope();
+            bodyFunc.call(rhinoScope.context(), scope, scope, args);
         } catch (JavaScriptException e) {
             Object value = e.getValue();
             if (value instanceof NativeJavaObject) {
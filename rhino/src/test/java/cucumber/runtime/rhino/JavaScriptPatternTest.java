@@ -0,0 +1,61 @@
+package cucumber.runtime.rhino;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.regexp.NativeRegExp;
+
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class JavaScriptPatternTest {
+    private Context cx;
+    private Scriptable scope;
+
+    @Before
+    public void enterContext() {
+        cx = Context.enter();
+        scope = cx.initStandardObjects();
+    }
+
+    @After
+    public void exitContext() {
+        Context.exit();
+    }
+
+    @Test
+    public void translates_javascript_only_character_classes() {
+        assertEquals("a(?!)b", JavaScriptPattern.translate("a[]b"));
+        assertEquals("a[\\s\\S]b", JavaScriptPattern.translate("a[^]b"));
+        assertEquals("[^\\[\\&]", JavaScriptPattern.translate("[^[&]"));
+        assertEquals("\\[\\x0B", JavaScriptPattern.translate("\\[\\v"));
+    }
+
+    @Test
+    public void keeps_the_ignore_case_flag() {
+        Pattern pattern = JavaScriptPattern.compile(regexp("/^I have (\\d+) cukes$/i"));
+        assertTrue(pattern.matcher("i HAVE 4 CUKES").matches());
+    }
+
+    @Test
+    public void matches_like_javascript() {
+        Pattern pattern = JavaScriptPattern.compile(regexp("/have (\\d+) cukes/"));
+        assertTrue(pattern.matcher("I have 4 cukes").find());
+        assertFalse(pattern.matcher("I have four cukes").find());
+    }
+
+    @Test
+    public void returns_null_when_the_expression_is_not_valid_in_java() {
+        assertNull(JavaScriptPattern.compile(regexp("/a{/")));
+    }
+
+    private NativeRegExp regexp(String literal) {
+        return (NativeRegExp) cx.evaluateString(scope, literal, "test", 1, null);
+    }
+}
@@ -0,0 +1,132 @@
+package cucumber.runtime.rhino;
+
+import cucumber.runtime.RuntimeGlue;
+import cucumber.runtime.StepDefinition;
+import cucumber.runtime.io.MultiLoader;
+import cucumber.runtime.io.ResourceLoader;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mozilla.javascript.JavaScriptException;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.doNothing;
+
+/**
+ * Every test runs on new threads, because Rhino keeps the context other tests may have entered on the main thread.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RhinoSharedScopeTest {
+    private final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    private final ResourceLoader resourceLoader = new MultiLoader(classLoader);
+    private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+    @Mock
+    private RuntimeGlue glue;
+
+    private StepDefinition have;
+    private StepDefinition eaten;
+
+    @Before
+    public void loadGlueIntoSharedScope() throws Throwable {
+        final ArgumentCaptor<StepDefinition> stepDefinitionCaptor = ArgumentCaptor.forClass(StepDefinition.class);
+        doNothing().when(glue).addStepDefinition(stepDefinitionCaptor.capture());
+
+        assertNull(runOnNewThread(new Step() {
+            @Override
+            public void run() throws Throwable {
+                RhinoBackend backend = new RhinoBackend(resourceLoader, true, null);
+                backend.loadGlue(glue, Collections.singletonList("classpath:cucumber/runtime/rhino_shared_scope"));
+                have = stepDefinitionCaptor.getAllValues().get(0);
+                eaten = stepDefinitionCaptor.getAllValues().get(1);
+            }
+        }));
+    }
+
+    @Test
+    public void threads_do_not_see_each_others_globals() throws Throwable {
+        final CountDownLatch bothAssigned = new CountDownLatch(2);
+        Thread first = start(eatCukes("1", bothAssigned));
+        Thread second = start(eatCukes("2", bothAssigned));
+        first.join();
+        second.join();
+
+        assertNull(failure.get());
+    }
+
+    @Test
+    public void base_scope_is_not_changed_by_scenarios() throws Throwable {
+        assertNull(runOnNewThread(new Step() {
+            @Override
+            public void run() throws Throwable {
+                have.execute(null, new Object[]{"3"});
+                eaten.execute(null, new Object[]{"3"});
+            }
+        }));
+        assertNull(runOnNewThread(new Step() {
+            @Override
+            public void run() throws Throwable {
+                eaten.execute(null, new Object[]{"0"});
+            }
+        }));
+    }
+
+    @Test
+    public void step_sees_the_state_of_its_own_thread() throws Throwable {
+        Throwable failure = runOnNewThread(new Step() {
+            @Override
+            public void run() throws Throwable {
+                have.execute(null, new Object[]{"3"});
+                eaten.execute(null, new Object[]{"4"});
+            }
+        });
+
+        assertThat(failure, instanceOf(JavaScriptException.class));
+    }
+
+    private Step eatCukes(final String cukes, final CountDownLatch bothAssigned) {
+        return new Step() {
+            @Override
+            public void run() throws Throwable {
+                have.execute(null, new Object[]{cukes});
+                bothAssigned.countDown();
+                bothAssigned.await(5, TimeUnit.SECONDS);
+                eaten.execute(null, new Object[]{cukes});
+            }
+        };
+    }
+
+    private Throwable runOnNewThread(Step step) throws InterruptedException {
+        start(step).join();
+        return failure.getAndSet(null);
+    }
+
+    private Thread start(final Step step) {
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    step.run();
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private interface Step {
+        void run() throws Throwable;
+    }
+}
@@ -0,0 +1,11 @@
+var cukes = 0;
+
+Given(/^I have (\d+) cukes$/, function(n) {
+    cukes = parseInt(n);
+});
+
+Then(/^I have eaten (\d+) cukes$/, function(n) {
+    if (cukes != parseInt(n)) {
+        throw "Expected " + n + " cukes, but got " + cukes;
+    }
+});
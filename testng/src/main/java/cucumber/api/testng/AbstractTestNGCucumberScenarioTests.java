@@ -0,0 +1,40 @@
+package cucumber.api.testng;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Runs every detected scenario, and every row of every scenario outline, as a separate test.
+ * <p>
+ * The scenarios can run in parallel. Override {@link #scenarios()} and annotate it with
+ * {@code @DataProvider(parallel = true)}, and TestNG runs them on its data provider thread pool.
+ * Each thread gets its own runtime, and the output of each scenario is passed to the formatters when it is done.
+ */
+public abstract class AbstractTestNGCucumberScenarioTests {
+    private TestNGCucumberRunner testNGCucumberRunner;
+
+    @BeforeClass(alwaysRun = true)
+    public void setUpClass() throws Exception {
+        testNGCucumberRunner = new TestNGCucumberRunner(this.getClass());
+    }
+
+    @Test(groups = "cucumber", description = "Runs Cucumber Scenario", dataProvider = "scenarios")
+    public void scenario(CucumberScenarioWrapper cucumberScenario) {
+        testNGCucumberRunner.runScenario(cucumberScenario);
+    }
+
+    /**
+     * @return returns two dimensional array of {@link CucumberScenarioWrapper} objects.
+     */
+    @DataProvider
+    public Object[][] scenarios() {
+        return testNGCucumberRunner.provideScenarios();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDownClass() throws Exception {
+        testNGCucumberRunner.finish();
+    }
+}
@@ -2,8 +2,9 @@ package cucumber.api.testng;
 
 import cucumber.runtime.CucumberException;
 import cucumber.runtime.model.CucumberFeature;
+import cucumber.runtime.model.CucumberScenario;
 
-public class CucumberExceptionWrapper implements CucumberFeatureWrapper {
+public class CucumberExceptionWrapper implements CucumberFeatureWrapper, CucumberScenarioWrapper {
     private CucumberException exception;
 
     public CucumberExceptionWrapper(CucumberException e) {
@@ -15,4 +16,9 @@ public class CucumberExceptionWrapper implements CucumberFeatureWrapper {
         throw this.exception;
     }
 
+    @Override
+    public CucumberScenario getCucumberScenario() {
+        throw this.exception;
+    }
+
 }
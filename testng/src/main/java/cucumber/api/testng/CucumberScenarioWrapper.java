@@ -0,0 +1,16 @@
+package cucumber.api.testng;
+
+import cucumber.runtime.model.CucumberFeature;
+import cucumber.runtime.model.CucumberScenario;
+
+/**
+ * A scenario, or a row of a scenario outline, with the feature it belongs to. The only other purpose of this
+ * interface is to be able to provide a custom {@linkplain #toString()}, making TestNG reports look more descriptive.
+ *
+ * @see CucumberScenarioWrapperImpl
+ */
+public interface CucumberScenarioWrapper {
+    public CucumberFeature getCucumberFeature();
+
+    public CucumberScenario getCucumberScenario();
+}
@@ -0,0 +1,36 @@
+package cucumber.api.testng;
+
+import cucumber.runtime.model.CucumberFeature;
+import cucumber.runtime.model.CucumberScenario;
+
+/**
+ * The only purpose of this class is to provide custom {@linkplain #toString()},
+ * making TestNG reports look more descriptive.
+ *
+ * @see AbstractTestNGCucumberScenarioTests#scenario(cucumber.api.testng.CucumberScenarioWrapper)
+ */
+public class CucumberScenarioWrapperImpl implements CucumberScenarioWrapper {
+    private final CucumberFeature cucumberFeature;
+    private final CucumberScenario cucumberScenario;
+
+    public CucumberScenarioWrapperImpl(CucumberFeature cucumberFeature, CucumberScenario cucumberScenario) {
+        this.cucumberFeature = cucumberFeature;
+        this.cucumberScenario = cucumberScenario;
+    }
+
+    @Override
+    public CucumberFeature getCucumberFeature() {
+        return cucumberFeature;
+    }
+
+    @Override
+    public CucumberScenario getCucumberScenario() {
+        return cucumberScenario;
+    }
+
+    @Override
+    public String toString() {
+        return cucumberFeature.getGherkinFeature().getName() + ": " + cucumberScenario.getGherkinModel().getName() +
+                " (line " + cucumberScenario.getGherkinModel().getLine() + ")";
+    }
+}
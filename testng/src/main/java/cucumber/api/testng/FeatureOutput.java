@@ -0,0 +1,117 @@
+package cucumber.api.testng;
+
+import cucumber.runtime.formatter.FeatureEventBuffer;
+import cucumber.runtime.model.CucumberExamples;
+import cucumber.runtime.model.CucumberFeature;
+import cucumber.runtime.model.CucumberScenario;
+import cucumber.runtime.model.CucumberScenarioOutline;
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Puts the output of a feature back together when its scenarios run as separate tests, possibly on several threads
+ * at once. The events of each scenario are held back until the scenarios before it have been passed on, so the
+ * formatters see the feature once, in its own order, with the outline and examples of each outline row.
+ */
+class FeatureOutput {
+    private final CucumberFeature cucumberFeature;
+    private final FeatureEventBuffer featureBuffer;
+    private final List<Element> elements = new ArrayList<Element>();
+    private final Map<CucumberScenario, FeatureEventBuffer> finished = new IdentityHashMap<CucumberScenario, FeatureEventBuffer>();
+    private int next;
+    private boolean started;
+    private CucumberScenarioOutline currentOutline;
+    private CucumberExamples currentExamples;
+
+    /**
+     * @param cucumberFeature the feature.
+     * @param formatter       the formatter to pass the feature on to.
+     * @param reporter        the reporter to pass the feature on to.
+     * @param outputLock      held while the feature is passed on.
+     */
+    FeatureOutput(CucumberFeature cucumberFeature, Formatter formatter, Reporter reporter, Object outputLock) {
+        this.cucumberFeature = cucumberFeature;
+        this.featureBuffer = new FeatureEventBuffer(formatter, reporter, outputLock);
+    }
+
+    void addScenario(CucumberScenario cucumberScenario) {
+        elements.add(new Element(cucumberScenario, null, null));
+    }
+
+    void addExampleScenario(CucumberScenario exampleScenario, CucumberScenarioOutline outline, CucumberExamples examples) {
+        elements.add(new Element(exampleScenario, outline, examples));
+    }
+
+    /**
+     * @return a buffer for the events of one scenario, to be handed to {@link #finished} once the scenario has run.
+     */
+    FeatureEventBuffer createScenarioBuffer() {
+        return new FeatureEventBuffer(featureBuffer, featureBuffer, this);
+    }
+
+    /**
+     * Passes on the scenario, and the scenarios after it that have already finished. The feature ends with the
+     * last scenario.
+     */
+    synchronized void finished(CucumberScenario cucumberScenario, FeatureEventBuffer scenarioBuffer) {
+        finished.put(cucumberScenario, scenarioBuffer);
+        while (next < elements.size() && finished.containsKey(elements.get(next).cucumberScenario)) {
+            passOn(elements.get(next++));
+            if (next == elements.size()) {
+                featureBuffer.eof();
+            }
+        }
+    }
+
+    /**
+     * Ends the feature with the scenarios that have run, if some of its scenarios never ran.
+     */
+    synchronized void finish() {
+        if (next == elements.size()) {
+            return;
+        }
+        while (next < elements.size()) {
+            Element element = elements.get(next++);
+            if (finished.containsKey(element.cucumberScenario)) {
+                passOn(element);
+            }
+        }
+        if (started) {
+            featureBuffer.eof();
+        }
+    }
+
+    private void passOn(Element element) {
+        if (!started) {
+            featureBuffer.uri(cucumberFeature.getPath());
+            featureBuffer.feature(cucumberFeature.getGherkinFeature());
+            started = true;
+        }
+        if (element.examples != null && element.examples != currentExamples) {
+            if (element.outline != currentOutline) {
+                element.outline.formatOutlineScenario(featureBuffer);
+                currentOutline = element.outline;
+            }
+            element.examples.format(featureBuffer);
+            currentExamples = element.examples;
+        }
+        finished.remove(element.cucumberScenario).flush();
+    }
+
+    private static class Element {
+        private final CucumberScenario cucumberScenario;
+        private final CucumberScenarioOutline outline;
+        private final CucumberExamples examples;
+
+        Element(CucumberScenario cucumberScenario, CucumberScenarioOutline outline, CucumberExamples examples) {
+            this.cucumberScenario = cucumberScenario;
+            this.outline = outline;
+            this.examples = examples;
+        }
+    }
+}
@@ -5,17 +5,32 @@ import cucumber.runtime.CucumberException;
 import cucumber.runtime.Runtime;
 import cucumber.runtime.RuntimeOptions;
 import cucumber.runtime.RuntimeOptionsFactory;
+import cucumber.runtime.formatter.FeatureEventBuffer;
 import cucumber.runtime.io.MultiLoader;
 import cucumber.runtime.io.ResourceLoader;
 import cucumber.runtime.io.ResourceLoaderClassFinder;
+import cucumber.runtime.model.CucumberExamples;
 import cucumber.runtime.model.CucumberFeature;
+import cucumber.runtime.model.CucumberScenario;
+import cucumber.runtime.model.CucumberScenarioOutline;
+import cucumber.runtime.model.CucumberTagStatement;
 import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Glue code for running Cucumber via TestNG.
+ * <p>
+ * {@link #runCucumber(CucumberFeature)} and {@link #runScenario(CucumberScenarioWrapper)} may be called from
+ * several threads at once. Each thread gets its own runtime, and the results of the threads are added to the
+ * summary in {@link #finish()}.
  */
 public class TestNGCucumberRunner {
     private Runtime runtime;
@@ -23,6 +38,27 @@ public class TestNGCucumberRunner {
     private ResourceLoader resourceLoader;
     private FeatureResultListener resultListener;
     private ClassLoader classLoader;
+    private final Formatter formatter;
+    private final Reporter reporter;
+    private final ClassFinder classFinder;
+    private final Object outputLock = new Object();
+    private final AtomicBoolean runtimeInUse = new AtomicBoolean();
+    private final List<Runtime> threadRuntimes = Collections.synchronizedList(new ArrayList<Runtime>());
+    private volatile List<CucumberFeature> providedFeatures = Collections.emptyList();
+    private volatile Map<CucumberScenario, FeatureOutput> featureOutputs = Collections.emptyMap();
+    private final ThreadLocal<Runtime> threadRuntime = new ThreadLocal<Runtime>() {
+        @Override
+        protected Runtime initialValue() {
+            // The first thread uses the runtime that reports the summary, so a sequential run only loads the glue once
+            if (runtimeInUse.compareAndSet(false, true)) {
+                return runtime;
+            }
+            Runtime threadRuntime = new Runtime(resourceLoader, classFinder, classLoader, runtimeOptions);
+            threadRuntime.link(providedFeatures);
+            threadRuntimes.add(threadRuntime);
+            return threadRuntime;
+        }
+    };
 
     /**
      * Bootstrap the cucumber runtime
@@ -36,9 +72,10 @@ public class TestNGCucumberRunner {
         RuntimeOptionsFactory runtimeOptionsFactory = new RuntimeOptionsFactory(clazz);
         runtimeOptions = runtimeOptionsFactory.create();
 
-        TestNgReporter reporter = new TestNgReporter(System.out);
-        ClassFinder classFinder = new ResourceLoaderClassFinder(resourceLoader, classLoader);
-        resultListener = new FeatureResultListener(runtimeOptions.reporter(classLoader), runtimeOptions.isStrict());
+        classFinder = new ResourceLoaderClassFinder(resourceLoader, classLoader);
+        this.formatter = runtimeOptions.formatter(classLoader);
+        this.reporter = runtimeOptions.reporter(classLoader);
+        resultListener = new FeatureResultListener(this.reporter, runtimeOptions.isStrict());
         runtime = new Runtime(resourceLoader, classFinder, classLoader, runtimeOptions);
     }
 
@@ -46,9 +83,11 @@ public class TestNGCucumberRunner {
      * Run the Cucumber features
      */
     public void runCukes() {
-        for (CucumberFeature cucumberFeature : getFeatures()) {
+        List<CucumberFeature> features = getFeatures();
+        runtime.link(features);
+        for (CucumberFeature cucumberFeature : features) {
             cucumberFeature.run(
-                    runtimeOptions.formatter(classLoader),
+                    formatter,
                     resultListener,
                     runtime);
         }
@@ -59,22 +98,51 @@ public class TestNGCucumberRunner {
     }
 
     public void runCucumber(CucumberFeature cucumberFeature) {
-        resultListener.startFeature();
-        cucumberFeature.run(
-                runtimeOptions.formatter(classLoader),
-                resultListener,
-                runtime);
+        FeatureEventBuffer buffer = new FeatureEventBuffer(formatter, reporter, outputLock);
+        FeatureResultListener resultListener = new FeatureResultListener(buffer, runtimeOptions.isStrict());
+        cucumberFeature.run(buffer, resultListener, threadRuntime.get());
 
         if (!resultListener.isPassed()) {
             throw new CucumberException(resultListener.getFirstError());
         }
     }
 
-    public void finish() {
-        Formatter formatter = runtimeOptions.formatter(classLoader);
+    /**
+     * Runs a scenario, or a row of a scenario outline. The output of the scenarios provided by
+     * {@link #provideScenarios()} is passed on per feature, once all the scenarios of the feature have run (or
+     * in {@link #finish()}). Other scenarios are reported as if they were the only one in their feature.
+     *
+     * @param cucumberScenario the scenario, as provided by {@link #provideScenarios()}.
+     */
+    public void runScenario(CucumberScenarioWrapper cucumberScenario) {
+        CucumberScenario scenario = cucumberScenario.getCucumberScenario();
+        FeatureOutput featureOutput = featureOutputs.get(scenario);
+        if (featureOutput == null) {
+            featureOutput = new FeatureOutput(cucumberScenario.getCucumberFeature(), formatter, reporter, outputLock);
+            featureOutput.addScenario(scenario);
+        }
+        FeatureEventBuffer buffer = featureOutput.createScenarioBuffer();
+        FeatureResultListener resultListener = new FeatureResultListener(buffer, runtimeOptions.isStrict());
+        try {
+            scenario.run(buffer, resultListener, threadRuntime.get());
+        } finally {
+            featureOutput.finished(scenario, buffer);
+        }
 
+        if (!resultListener.isPassed()) {
+            throw new CucumberException(resultListener.getFirstError());
+        }
+    }
+
+    public void finish() {
+        for (FeatureOutput featureOutput : new LinkedHashSet<FeatureOutput>(featureOutputs.values())) {
+            featureOutput.finish();
+        }
         formatter.done();
         formatter.close();
+        for (Runtime threadRuntime : threadRuntimes) {
+            runtime.addResultsOf(threadRuntime);
+        }
         runtime.printSummary();
     }
 
@@ -91,7 +159,7 @@ public class TestNGCucumberRunner {
      */
     public Object[][] provideFeatures() {
         try {
-            List<CucumberFeature> features = getFeatures();
+            List<CucumberFeature> features = provide(getFeatures());
             List<Object[]> featuresList = new ArrayList<Object[]>(features.size());
             for (CucumberFeature feature : features) {
                 featuresList.add(new Object[]{new CucumberFeatureWrapperImpl(feature)});
@@ -102,4 +170,47 @@ public class TestNGCucumberRunner {
         }
     }
 
+    /**
+     * @return returns the scenarios, and the rows of scenario outlines, of the cucumber features as a two
+     * dimensional array of {@link CucumberScenarioWrapper} objects.
+     */
+    public Object[][] provideScenarios() {
+        try {
+            List<Object[]> scenarios = new ArrayList<Object[]>();
+            Map<CucumberScenario, FeatureOutput> outputs = new LinkedHashMap<CucumberScenario, FeatureOutput>();
+            for (CucumberFeature feature : provide(getFeatures())) {
+                FeatureOutput featureOutput = new FeatureOutput(feature, formatter, reporter, outputLock);
+                for (CucumberTagStatement statement : feature.getFeatureElements()) {
+                    if (statement instanceof CucumberScenarioOutline) {
+                        CucumberScenarioOutline outline = (CucumberScenarioOutline) statement;
+                        for (CucumberExamples cucumberExamples : outline.getCucumberExamplesList()) {
+                            for (CucumberScenario exampleScenario : cucumberExamples.exampleScenarios()) {
+                                featureOutput.addExampleScenario(exampleScenario, outline, cucumberExamples);
+                                outputs.put(exampleScenario, featureOutput);
+                                scenarios.add(new Object[]{new CucumberScenarioWrapperImpl(feature, exampleScenario)});
+                            }
+                        }
+                    } else {
+                        CucumberScenario scenario = (CucumberScenario) statement;
+                        featureOutput.addScenario(scenario);
+                        outputs.put(scenario, featureOutput);
+                        scenarios.add(new Object[]{new CucumberScenarioWrapperImpl(feature, scenario)});
+                    }
+                }
+            }
+            featureOutputs = outputs;
+            return scenarios.toArray(new Object[][]{});
+        } catch (CucumberException e) {
+            return new Object[][]{new Object[]{new CucumberExceptionWrapper(e)}};
+        }
+    }
+
+    /**
+     * Links the features that are provided to the tests to the glue of the runtimes that will run them.
+     */
+    private List<CucumberFeature> provide(List<CucumberFeature> features) {
+        providedFeatures = features;
+        runtime.link(features);
+        return features;
+    }
 }
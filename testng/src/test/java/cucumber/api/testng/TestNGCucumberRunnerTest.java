@@ -1,9 +1,17 @@
 package cucumber.api.testng;
 
+import cucumber.api.CucumberOptions;
 import cucumber.runtime.CucumberException;
 import cucumber.runtime.model.CucumberFeature;
 import cucumber.runtime.testng.RunCukesStrict;
 import cucumber.runtime.testng.RunCukesTest;
+import gherkin.formatter.Formatter;
+import gherkin.formatter.model.Background;
+import gherkin.formatter.model.Examples;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Scenario;
+import gherkin.formatter.model.ScenarioOutline;
+import gherkin.formatter.model.Step;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -11,7 +19,14 @@ import org.testng.annotations.Test;
 import java.io.File;
 import java.io.FilenameFilter;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class TestNGCucumberRunnerTest {
     private TestNGCucumberRunner testNGCucumberRunner;
@@ -50,6 +65,174 @@ public class TestNGCucumberRunnerTest {
         Assert.assertTrue(features.size() > 0, "Feature files need to exist in the cucumber/runtime/testng/ folder for this test");
     }
 
+    @Test
+    public void provides_one_invocation_per_scenario() throws Exception {
+        Object[][] scenarios = testNGCucumberRunner.provideScenarios();
+
+        Assert.assertEquals(scenarios.length, 4);
+        Assert.assertEquals(scenarios[0][0].toString(), "FA: SA (line 3)");
+    }
+
+    @Test
+    public void runs_scenarios_in_parallel() throws Exception {
+        List<Future<Object>> invocations = runScenariosInParallel(testNGCucumberRunner);
+
+        for (Future<Object> invocation : invocations) {
+            invocation.get();
+        }
+        testNGCucumberRunner.finish();
+    }
+
+    @Test
+    public void fails_each_strict_scenario_invocation_on_its_own() throws Exception {
+        testNGCucumberRunner = new TestNGCucumberRunner(RunCukesStrict.class);
+        List<Future<Object>> invocations = runScenariosInParallel(testNGCucumberRunner);
+
+        for (Future<Object> invocation : invocations) {
+            try {
+                invocation.get();
+                Assert.fail("CucumberException not thrown");
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof CucumberException);
+                Assert.assertEquals(e.getCause().getCause().getMessage(), FeatureResultListener.UNDEFINED_MESSAGE);
+            }
+        }
+    }
+
+    @Test
+    public void reports_the_scenarios_of_a_feature_as_the_feature() throws Exception {
+        RecordingFormatter.events.clear();
+        new TestNGCucumberRunner(RunOutline.class).runCukes();
+        List<String> featureEvents = new ArrayList<String>(RecordingFormatter.events);
+
+        RecordingFormatter.events.clear();
+        testNGCucumberRunner = new TestNGCucumberRunner(RunOutline.class);
+        Object[][] scenarios = testNGCucumberRunner.provideScenarios();
+        for (int i = scenarios.length - 1; i >= 0; i--) {
+            testNGCucumberRunner.runScenario((CucumberScenarioWrapper) scenarios[i][0]);
+        }
+        testNGCucumberRunner.finish();
+
+        Assert.assertEquals(RecordingFormatter.events, featureEvents);
+        Assert.assertEquals(Collections.frequency(featureEvents, "uri"), 1);
+        Assert.assertEquals(Collections.frequency(featureEvents, "scenarioOutline Eat <count>"), 1);
+        Assert.assertEquals(Collections.frequency(featureEvents, "examples Few"), 1);
+    }
+
+    @Test
+    public void ends_features_whose_scenarios_did_not_all_run_when_finished() throws Exception {
+        RecordingFormatter.events.clear();
+        testNGCucumberRunner = new TestNGCucumberRunner(RunOutline.class);
+        Object[][] scenarios = testNGCucumberRunner.provideScenarios();
+        testNGCucumberRunner.runScenario((CucumberScenarioWrapper) scenarios[0][0]);
+
+        Assert.assertTrue(RecordingFormatter.events.isEmpty());
+        testNGCucumberRunner.finish();
+
+        Assert.assertEquals(RecordingFormatter.events.get(0), "uri");
+        Assert.assertEquals(RecordingFormatter.events.get(1), "feature Outline");
+        Assert.assertTrue(RecordingFormatter.events.contains("scenario Before the outline"));
+        Assert.assertFalse(RecordingFormatter.events.contains("scenarioOutline Eat <count>"));
+        Assert.assertTrue(RecordingFormatter.events.contains("eof"));
+    }
+
+    private List<Future<Object>> runScenariosInParallel(final TestNGCucumberRunner runner) {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object>> invocations = new ArrayList<Future<Object>>();
+            for (Object[] scenario : runner.provideScenarios()) {
+                final CucumberScenarioWrapper cucumberScenario = (CucumberScenarioWrapper) scenario[0];
+                invocations.add(executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() {
+                        runner.runScenario(cucumberScenario);
+                        return null;
+                    }
+                }));
+            }
+            return invocations;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @CucumberOptions(features = "classpath:cucumber/api/testng/outline.feature",
+            plugin = "cucumber.api.testng.TestNGCucumberRunnerTest$RecordingFormatter")
+    static class RunOutline {
+    }
+
+    /**
+     * Records the formatter events of the features, for comparing the output of different ways of running them.
+     */
+    public static class RecordingFormatter implements Formatter {
+        static final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+
+        @Override
+        public void syntaxError(String state, String event, List<String> legalEvents, String uri, Integer line) {
+            events.add("syntaxError");
+        }
+
+        @Override
+        public void uri(String uri) {
+            events.add("uri");
+        }
+
+        @Override
+        public void feature(Feature feature) {
+            events.add("feature " + feature.getName());
+        }
+
+        @Override
+        public void scenarioOutline(ScenarioOutline scenarioOutline) {
+            events.add("scenarioOutline " + scenarioOutline.getName());
+        }
+
+        @Override
+        public void examples(Examples examples) {
+            events.add("examples " + examples.getName());
+        }
+
+        @Override
+        public void startOfScenarioLifeCycle(Scenario scenario) {
+            events.add("startOfScenarioLifeCycle " + scenario.getName());
+        }
+
+        @Override
+        public void background(Background background) {
+            events.add("background " + background.getName());
+        }
+
+        @Override
+        public void scenario(Scenario scenario) {
+            events.add("scenario " + scenario.getName());
+        }
+
+        @Override
+        public void step(Step step) {
+            events.add("step " + step.getName());
+        }
+
+        @Override
+        public void endOfScenarioLifeCycle(Scenario scenario) {
+            events.add("endOfScenarioLifeCycle " + scenario.getName());
+        }
+
+        @Override
+        public void done() {
+            events.add("done");
+        }
+
+        @Override
+        public void close() {
+            events.add("close");
+        }
+
+        @Override
+        public void eof() {
+            events.add("eof");
+        }
+    }
+
     /**
      * @return number of feature files in "cucumber/runtime/testng/" folder
      */
@@ -0,0 +1,15 @@
+Feature: Outline
+  Scenario: Before the outline
+    Given I have 4 cukes
+
+  Scenario Outline: Eat <count>
+    Given I have <count> cukes
+
+    Examples: Few
+      | count |
+      | 1     |
+      | 2     |
+
+    Examples: Many
+      | count |
+      | 10    |